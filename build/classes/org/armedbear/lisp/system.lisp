@@ -0,0 +1,6 @@
+
+(SETF (LOGICAL-PATHNAME-TRANSLATIONS "sys")
+      '(("SYS:SRC;**;*.*"
+         "/root/project/src/org/armedbear/lisp/**/*.*")
+        ("SYS:JAVA;**;*.*"
+         "/root/project/src/org/armedbear/lisp/../../../**/*.*")))
\ No newline at end of file
@@ -112,6 +112,20 @@ public class ArgumentListProcessor {
   public ArgumentListProcessor(Operator fun, int requiredCount,
           OptionalParam[] optional, KeywordParam[] keyword,
           boolean key, boolean moreKeys, Symbol rest) {
+      this(fun, requiredCount, optional, keyword, key, moreKeys, rest, false);
+  }
+
+  /** Constructor to be used from compiled code
+   *
+   * Same as the constructor above, but allows the compiler to indicate
+   * that the &rest variable is never referenced by the function body, in
+   * which case no list is consed up for it.
+   *
+   * @param restUnused Indicates the &rest variable isn't referenced
+   */
+  public ArgumentListProcessor(Operator fun, int requiredCount,
+          OptionalParam[] optional, KeywordParam[] keyword,
+          boolean key, boolean moreKeys, Symbol rest, boolean restUnused) {
 
       function = fun;
       
@@ -133,7 +147,7 @@ public class ArgumentListProcessor {
       restVar = rest;
       if (restVar != null)
         positionalParameters[requiredCount + optional.length] =
-                restParam = new RestParam(rest, false);
+                restParam = new RestParam(rest, false, restUnused);
 
       andKey = key;
       allowOtherKeys = moreKeys;
@@ -154,6 +168,8 @@ public class ArgumentListProcessor {
       
       if (keyword.length == 0)
           matcher = new FastMatcher();
+      else if (keywordsUnique())
+          matcher = new KeywordMatcher();
       else
           matcher = new SlowMatcher();
   }
@@ -448,6 +464,8 @@ public class ArgumentListProcessor {
     
     if (keywordParameters.length == 0) {
       matcher = new FastMatcher();
+    } else if (! matcherNeedsEnv && envParam == null && keywordsUnique()) {
+      matcher = new KeywordMatcher();
     } else {
       matcher = new SlowMatcher();
     }
@@ -558,8 +576,20 @@ public class ArgumentListProcessor {
     return array;
   }
 
+  /** Returns 'true' if no keyword is named by more than one &key parameter.
+   *
+   * The KeywordMatcher stores each keyword argument in exactly one slot,
+   * so lambda lists which name the same keyword twice use the SlowMatcher. */
+  private boolean keywordsUnique() {
+      for (int i = 0; i < keywordParameters.length; i++)
+          for (int j = i + 1; j < keywordParameters.length; j++)
+              if (keywordParameters[i].keyword == keywordParameters[j].keyword)
+                  return false;
+      return true;
+  }
+
   /** Internal class implementing the argument list to lambda list matcher.
-   * Because we have two implementations - a fast one and a slower one - we
+   * Because we have several implementations - fast ones and a slower one - we
    * need this abstract super class */
   private static abstract class ArgumentMatcher {
       abstract LispObject[] match(LispObject[] args, Environment _environment,
@@ -653,6 +683,142 @@ public class ArgumentListProcessor {
       }
   }
   
+  /** ArgumentMatcher for lambda lists with &key parameters whose initforms
+   * don't need an evaluation environment.
+   *
+   * The keyword arguments are matched in a single pass over the argument
+   * array, using a keyword-to-parameter mapping computed when the matcher
+   * is created: a linear scan for up to LINEAR_KEYWORDS_LIMIT keywords,
+   * an open addressed identity table for more. Values are stored straight
+   * into the result array; no ArgList is allocated and no special bindings
+   * need to be unwound. */
+  private class KeywordMatcher extends ArgumentMatcher {
+      /** The keywords, in the order of 'keywordParameters' */
+      final Symbol[] keywords;
+      /** Offsets of each keyword's value slot, relative to the first
+       * keyword slot in the result array */
+      final int[] offsets;
+
+      /** Open addressed keyword table, or 'null' for a linear scan */
+      final Symbol[] table;
+      final int[] tableIndices;
+      final int mask;
+
+      KeywordMatcher() {
+          final int count = keywordParameters.length;
+          keywords = new Symbol[count];
+          offsets = new int[count];
+          int offset = 0;
+          for (int i = 0; i < count; i++) {
+              keywords[i] = keywordParameters[i].keyword;
+              offsets[i] = offset;
+              offset += (keywordParameters[i].suppliedVar == null) ? 1 : 2;
+          }
+
+          if (count <= LINEAR_KEYWORDS_LIMIT) {
+              table = null;
+              tableIndices = null;
+              mask = 0;
+          } else {
+              int size = 16;
+              while (size < count * 4)
+                  size <<= 1;
+              table = new Symbol[size];
+              tableIndices = new int[size];
+              mask = size - 1;
+              for (int i = 0; i < count; i++) {
+                  int h = keywords[i].sxhash() & mask;
+                  while (table[h] != null)
+                      h = (h + 1) & mask;
+                  table[h] = keywords[i];
+                  tableIndices[h] = i;
+              }
+          }
+      }
+
+      /** Returns the index of the parameter associated with 'key',
+       * or -1 if there's none. */
+      private int keywordIndex(LispObject key) {
+          if (table == null) {
+              for (int i = 0; i < keywords.length; i++)
+                  if (keywords[i] == key)
+                      return i;
+              return -1;
+          }
+          if (! (key instanceof Symbol))
+              return -1;
+          int h = ((Symbol)key).sxhash() & mask;
+          Symbol k;
+          while ((k = table[h]) != null) {
+              if (k == key)
+                  return tableIndices[h];
+              h = (h + 1) & mask;
+          }
+          return -1;
+      }
+
+      @Override
+      LispObject[] match(LispObject[] args, Environment _environment,
+                Environment env, LispThread thread) {
+        final int argsLength = args.length;
+        if (argsLength < minArgs)
+          error(new WrongNumberOfArgumentsException(function, minArgs, -1));
+
+        final LispObject[] array = new LispObject[variables.length];
+        int index = 0;
+        int argIndex = 0;
+
+        for (int i = 0; i < requiredParameters.length; i++)
+            array[index++] = args[argIndex++];
+        for (Param p : optionalParameters)
+            index = ((OptionalParam)p).assign(index, array,
+                    (argIndex < argsLength) ? args[argIndex++] : null,
+                    null, thread);
+        if (restParam != null)
+            array[index++] = ((RestParam)restParam).rest(args, argIndex);
+
+        if (((argsLength - argIndex) & 1) == 1)
+            program_error("Odd number of keyword arguments.");
+
+        // Null slots in the result array mark keywords not supplied;
+        // only the leftmost occurrence of a keyword counts.
+        final int keyBase = index;
+        LispObject allowOtherKeysValue = null;
+        LispObject unknownKey = null;
+        for (int i = argIndex; i < argsLength; i += 2) {
+            final LispObject key = args[i];
+            if (key == Keyword.ALLOW_OTHER_KEYS && allowOtherKeysValue == null)
+                allowOtherKeysValue = args[i+1];
+
+            final int k = keywordIndex(key);
+            if (k >= 0) {
+                final int slot = keyBase + offsets[k];
+                if (array[slot] == null)
+                    array[slot] = args[i+1];
+            }
+            else if (key != Keyword.ALLOW_OTHER_KEYS && unknownKey == null)
+                unknownKey = key;
+        }
+
+        for (Param p : keywordParameters)
+            index = ((OptionalParam)p).assign(index, array, array[index],
+                    null, thread);
+        for (Param p : auxVars)
+            index = p.assign(index, array, null, null, thread);
+
+        if (unknownKey != null && ! allowOtherKeys
+            && (allowOtherKeysValue == null || allowOtherKeysValue == NIL))
+            program_error("Unrecognized keyword argument "
+                          + unknownKey.printObject() + ".");
+
+        return array;
+      }
+  }
+
+  /** The maximum number of keywords looked up with a linear scan by the
+   * KeywordMatcher. */
+  private static final int LINEAR_KEYWORDS_LIMIT = 8;
+
   /** Slimmed down ArgumentMatcher which doesn't implement keyword verification. */
   private class FastMatcher extends ArgumentMatcher {
       @Override
@@ -998,16 +1164,34 @@ public class ArgumentListProcessor {
   private static class RestParam extends Param {
       Symbol var;
       boolean special;
+      /** 'true' if the compiler determined the variable isn't referenced */
+      boolean unused;
       
       RestParam(Symbol var, boolean special) {
+          this(var, special, false);
+      }
+
+      RestParam(Symbol var, boolean special, boolean unused) {
           this.var = var;
           this.special = special;
+          this.unused = unused;
+      }
+
+      /** Returns the list of arguments from 'start' onward, or NIL
+       * without consing if the variable isn't referenced. */
+      LispObject rest(LispObject[] args, int start) {
+          if (unused)
+              return NIL;
+          LispObject rest = NIL;
+          for (int j = args.length; j-- > start;)
+              rest = new Cons(args[j], rest);
+          return rest;
       }
       
       @Override
       int assign(int index, LispObject[] array, ArgList args,
                 Environment ext, LispThread thread) {
-          array[index++] = args.rest();
+          array[index++] = unused ? NIL : args.rest();
 
           if (ext != null)
               bindArg(special, var, array[index-1], ext, thread);
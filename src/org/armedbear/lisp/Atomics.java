@@ -0,0 +1,273 @@
+/*
+ * Atomics.java
+ *
+ * $Id$
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ */
+package org.armedbear.lisp;
+
+import static org.armedbear.lisp.Lisp.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/** Compare-and-swap on the fields and array elements holding Lisp
+ * data, the building block of THREADS:COMPARE-AND-SWAP and
+ * THREADS:ATOMIC-INCF.
+ *
+ * Comparisons are by identity (EQ). The operations return the value
+ * found in the place: the swap happened if and only if that value is
+ * the expected one.
+ */
+public final class Atomics
+{
+    private Atomics() {}
+
+    /** The swap operations, apart from the primitives so that
+     * Symbol and Cons can initialize without initializing the
+     * primitives during boot.
+     *
+     * They use sun.misc.Unsafe, reached by reflection and called
+     * through method handles, which the JIT compiles to the same
+     * instructions as direct calls. The fields swapped don't need to
+     * be volatile, so reading and writing them stays as cheap as for
+     * any other field. On JVMs without Unsafe, swaps hold the lock of
+     * the object or array instead, and are only atomic with respect to
+     * each other.
+     */
+    static final class CAS
+    {
+        private static final MethodHandle COMPARE_AND_SWAP;
+        private static final MethodHandle GET_VOLATILE;
+        private static final MethodHandle FIELD_OFFSET;
+        private static final long ARRAY_BASE;
+        private static final long ARRAY_SCALE;
+
+        static {
+            MethodHandle compareAndSwap = null, getVolatile = null,
+                fieldOffset = null;
+            long base = 0, scale = 0;
+            try {
+                Class<?> c = Class.forName("sun.misc.Unsafe");
+                java.lang.reflect.Field field = c.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                Object unsafe = field.get(null);
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                compareAndSwap
+                    = lookup.findVirtual(c, "compareAndSwapObject",
+                                         MethodType.methodType(boolean.class,
+                                                               Object.class, long.class,
+                                                               Object.class, Object.class))
+                    .bindTo(unsafe);
+                getVolatile
+                    = lookup.findVirtual(c, "getObjectVolatile",
+                                         MethodType.methodType(Object.class,
+                                                               Object.class, long.class))
+                    .bindTo(unsafe);
+                fieldOffset
+                    = lookup.findVirtual(c, "objectFieldOffset",
+                                         MethodType.methodType(long.class,
+                                                               java.lang.reflect.Field.class))
+                    .bindTo(unsafe);
+                MethodType arrayInfo = MethodType.methodType(int.class, Class.class);
+                base = (Integer) lookup.findVirtual(c, "arrayBaseOffset", arrayInfo)
+                    .invoke(unsafe, LispObject[].class);
+                scale = (Integer) lookup.findVirtual(c, "arrayIndexScale", arrayInfo)
+                    .invoke(unsafe, LispObject[].class);
+            }
+            catch (Throwable t) {
+                compareAndSwap = null;
+            }
+            COMPARE_AND_SWAP = compareAndSwap;
+            GET_VOLATILE = getVolatile;
+            FIELD_OFFSET = fieldOffset;
+            ARRAY_BASE = base;
+            ARRAY_SCALE = scale;
+        }
+
+        /** Returns the offset of 'field' for compareAndSwap(), or -1
+         * if Unsafe isn't available.
+         */
+        static long fieldOffset(java.lang.reflect.Field field)
+        {
+            if (COMPARE_AND_SWAP == null)
+                return -1;
+            try {
+                return (long) FIELD_OFFSET.invokeExact(field);
+            }
+            catch (Throwable t) {
+                throw new Error(t);
+            }
+        }
+
+        /** Swaps the field at 'offset' in 'object' for 'newValue' if it
+         * holds 'expected'; returns the value it held.
+         */
+        static LispObject compareAndSwap(Object object, long offset,
+                                         LispObject expected, LispObject newValue)
+        {
+            try {
+                while (true) {
+                    if ((boolean) COMPARE_AND_SWAP.invokeExact(object, offset,
+                                                               (Object) expected,
+                                                               (Object) newValue))
+                        return expected;
+                    // The field may have been set back to 'expected' since
+                    // the swap failed: try again in that case.
+                    Object current = (Object) GET_VOLATILE.invokeExact(object, offset);
+                    if (current != expected)
+                        return (LispObject) current;
+                }
+            }
+            catch (Throwable t) {
+                throw new Error(t);
+            }
+        }
+
+        /** Like compareAndSwap(), for the element at 'index' of 'array',
+         * whose bounds the caller checked.
+         */
+        static LispObject compareAndSwap(LispObject[] array, int index,
+                                         LispObject expected, LispObject newValue)
+        {
+            if (COMPARE_AND_SWAP != null)
+                return compareAndSwap(array, ARRAY_BASE + index * ARRAY_SCALE,
+                                      expected, newValue);
+            synchronized (array) {
+                LispObject current = array[index];
+                if (current == expected)
+                    array[index] = newValue;
+                return current;
+            }
+        }
+    }
+
+    /** A field holding Lisp data in the instances of a class, which
+     * can be swapped by compareAndSwap().
+     */
+    static final class SwappableField
+    {
+        private final java.lang.reflect.Field field;
+        private final long offset;
+
+        SwappableField(Class<?> c, String name)
+        {
+            try {
+                field = c.getDeclaredField(name);
+            }
+            catch (NoSuchFieldException e) {
+                throw new Error(e);
+            }
+            offset = CAS.fieldOffset(field);
+            if (offset < 0)
+                field.setAccessible(true);
+        }
+
+        LispObject compareAndSwap(Object object, LispObject expected,
+                                  LispObject newValue)
+        {
+            if (offset >= 0)
+                return CAS.compareAndSwap(object, offset, expected, newValue);
+            synchronized (object) {
+                try {
+                    LispObject current = (LispObject) field.get(object);
+                    if (current == expected)
+                        field.set(object, newValue);
+                    return current;
+                }
+                catch (IllegalAccessException e) {
+                    throw new Error(e);
+                }
+            }
+        }
+    }
+
+    // ### %cas-car cons old new => value
+    private static final Primitive _CAS_CAR =
+        new Primitive("%cas-car", PACKAGE_SYS, true, "cons old new")
+    {
+        @Override
+        public LispObject execute(LispObject cons, LispObject old,
+                                  LispObject newValue)
+        {
+            return cons.casCar(old, newValue);
+        }
+    };
+
+    // ### %cas-cdr cons old new => value
+    private static final Primitive _CAS_CDR =
+        new Primitive("%cas-cdr", PACKAGE_SYS, true, "cons old new")
+    {
+        @Override
+        public LispObject execute(LispObject cons, LispObject old,
+                                  LispObject newValue)
+        {
+            return cons.casCdr(old, newValue);
+        }
+    };
+
+    // ### %cas-svref simple-vector index old new => value
+    private static final Primitive _CAS_SVREF =
+        new Primitive("%cas-svref", PACKAGE_SYS, true,
+                      "simple-vector index old new")
+    {
+        @Override
+        public LispObject execute(LispObject vector, LispObject index,
+                                  LispObject old, LispObject newValue)
+        {
+            return vector.casSvref(Fixnum.getValue(index), old, newValue);
+        }
+    };
+
+    // ### %cas-symbol-value symbol old new => value
+    private static final Primitive _CAS_SYMBOL_VALUE =
+        new Primitive("%cas-symbol-value", PACKAGE_SYS, true,
+                      "symbol old new")
+    {
+        @Override
+        public LispObject execute(LispObject symbol, LispObject old,
+                                  LispObject newValue)
+        {
+            return symbol.casSymbolValue(old, newValue);
+        }
+    };
+
+    // ### %cas-structure-ref instance index old new => value
+    private static final Primitive _CAS_STRUCTURE_REF =
+        new Primitive("%cas-structure-ref", PACKAGE_SYS, true,
+                      "instance index old new")
+    {
+        @Override
+        public LispObject execute(LispObject instance, LispObject index,
+                                  LispObject old, LispObject newValue)
+        {
+            return instance.casSlotValue(Fixnum.getValue(index), old, newValue);
+        }
+    };
+}
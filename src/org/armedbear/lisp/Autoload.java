@@ -500,6 +500,7 @@ public class Autoload extends Function
         autoload("stream-error-stream", "StreamError");
         autoload("stream-external-format", "stream_external_format");
         autoload(PACKAGE_SYS, "%set-stream-external-format", "Stream");
+        autoload(PACKAGE_SYS, "%set-stream-buffering", "Stream");
         autoload("stringp", "StringFunctions");
         autoload("sxhash", "HashTableFunctions");
         autoload("sxhash", "HashTableFunctions");
@@ -516,6 +517,7 @@ public class Autoload extends Function
         autoload(PACKAGE_EXT, "arglist", "arglist", true);
         autoload(PACKAGE_EXT, "assq", "assq", true);
         autoload(PACKAGE_EXT, "assql", "assql", true);
+        autoload(PACKAGE_EXT, "copy-stream", "Stream", true);
         autoload(PACKAGE_EXT, "file-directory-p", "probe_file", true);
         autoload(PACKAGE_EXT, "gc", "gc", true);
         autoload(PACKAGE_EXT, "get-floating-point-modes", "FloatFunctions", true);
@@ -526,6 +528,7 @@ public class Autoload extends Function
         autoload(PACKAGE_EXT, "set-floating-point-modes", "FloatFunctions", true);
         autoload(PACKAGE_EXT, "simple-string-fill", "StringFunctions");
         autoload(PACKAGE_EXT, "simple-string-search", "StringFunctions");
+        autoload(PACKAGE_EXT, "stream-buffering", "Stream", true);
         autoload(PACKAGE_EXT, "string-input-stream-current", "StringInputStream", true);
         autoload(PACKAGE_EXT, "string-find", "StringFunctions");
         autoload(PACKAGE_EXT, "string-position", "StringFunctions");
@@ -533,6 +536,45 @@ public class Autoload extends Function
         autoload(PACKAGE_EXT, "weak-reference-value", "WeakReference", true);
         autoload(PACKAGE_EXT, "finalize", "Primitives", true);
         autoload(PACKAGE_EXT, "cancel-finalization", "Primitives", true);
+        autoload(PACKAGE_THREADS, "make-thread-pool", "ThreadPool", true);
+        autoload(PACKAGE_THREADS, "default-thread-pool", "ThreadPool", true);
+        autoload(PACKAGE_THREADS, "submit", "ThreadPool", true);
+        autoload(PACKAGE_THREADS, "thread-pool-size", "ThreadPool", true);
+        autoload(PACKAGE_THREADS, "shutdown-thread-pool", "ThreadPool", true);
+        autoload(PACKAGE_THREADS, "promise", "Future", true);
+        autoload(PACKAGE_THREADS, "fulfill", "Future", true);
+        autoload(PACKAGE_THREADS, "%fail-future", "Future");
+        autoload(PACKAGE_THREADS, "future-value", "Future", true);
+        autoload(PACKAGE_THREADS, "future-done-p", "Future", true);
+        autoload(PACKAGE_THREADS, "make-mailbox", "Mailbox", true);
+        autoload(PACKAGE_THREADS, "mailbox-p", "Mailbox");
+        autoload(PACKAGE_THREADS, "mailbox-send", "Mailbox", true);
+        autoload(PACKAGE_THREADS, "mailbox-read", "Mailbox", true);
+        autoload(PACKAGE_THREADS, "mailbox-try-read", "Mailbox", true);
+        autoload(PACKAGE_THREADS, "mailbox-drain", "Mailbox", true);
+        autoload(PACKAGE_THREADS, "mailbox-empty-p", "Mailbox", true);
+        autoload(PACKAGE_THREADS, "mailbox-peek", "Mailbox", true);
+        autoload(PACKAGE_THREADS, "make-mutex", "Mutex", true);
+        autoload(PACKAGE_THREADS, "mutex-p", "Mutex");
+        autoload(PACKAGE_THREADS, "get-mutex", "Mutex", true);
+        autoload(PACKAGE_THREADS, "release-mutex", "Mutex", true);
+        autoload(PACKAGE_THREADS, "mutex-held-p", "Mutex", true);
+        autoload(PACKAGE_THREADS, "lock-statistics", "Mutex", true);
+        autoload(PACKAGE_THREADS, "make-read-write-lock", "ReadWriteLock", true);
+        autoload(PACKAGE_THREADS, "get-read-lock", "ReadWriteLock", true);
+        autoload(PACKAGE_THREADS, "release-read-lock", "ReadWriteLock", true);
+        autoload(PACKAGE_THREADS, "get-write-lock", "ReadWriteLock", true);
+        autoload(PACKAGE_THREADS, "release-write-lock", "ReadWriteLock", true);
+        autoload(PACKAGE_THREADS, "make-condition-variable", "ConditionVariable", true);
+        autoload(PACKAGE_THREADS, "condition-wait", "ConditionVariable", true);
+        autoload(PACKAGE_THREADS, "condition-notify", "ConditionVariable", true);
+        autoload(PACKAGE_THREADS, "condition-broadcast", "ConditionVariable", true);
+        autoload(PACKAGE_THREADS, "make-semaphore", "LispSemaphore", true);
+        autoload(PACKAGE_THREADS, "signal-semaphore", "LispSemaphore", true);
+        autoload(PACKAGE_THREADS, "wait-on-semaphore", "LispSemaphore", true);
+        autoload(PACKAGE_THREADS, "semaphore-count", "LispSemaphore", true);
+        autoload(PACKAGE_THREADS, "capture-special-bindings", "SpecialBindingsSnapshot", true);
+        autoload(PACKAGE_THREADS, "call-with-special-bindings", "SpecialBindingsSnapshot", true);
         autoload(PACKAGE_JAVA, "%jnew-proxy", "JProxy");
         autoload(PACKAGE_JAVA, "%find-java-class", "JavaObject");
         autoload(PACKAGE_JAVA, "%register-java-class", "JavaObject");
@@ -553,6 +595,11 @@ public class Autoload extends Function
         autoload(PACKAGE_PROF, "stop-profiler", "Profiler", true);
         autoload(PACKAGE_SYS, "%%string=", "StringFunctions");
         autoload(PACKAGE_SYS, "%adjust-array", "adjust_array");
+        autoload(PACKAGE_SYS, "%cas-car", "Atomics", true);
+        autoload(PACKAGE_SYS, "%cas-cdr", "Atomics", true);
+        autoload(PACKAGE_SYS, "%cas-structure-ref", "Atomics", true);
+        autoload(PACKAGE_SYS, "%cas-svref", "Atomics", true);
+        autoload(PACKAGE_SYS, "%cas-symbol-value", "Atomics", true);
         autoload(PACKAGE_SYS, "%defpackage", "PackageFunctions");
         autoload(PACKAGE_SYS, "%get-output-stream-bytes", "ByteArrayOutputStream"); //AS 20090325
         autoload(PACKAGE_SYS, "%get-output-stream-array", "ByteArrayOutputStream");
@@ -566,6 +613,21 @@ public class Autoload extends Function
         autoload(PACKAGE_SYS, "%make-logical-pathname", "LogicalPathname", true);
         autoload(PACKAGE_SYS, "%make-server-socket", "make_server_socket");
         autoload(PACKAGE_SYS, "%make-socket", "make_socket");
+        autoload(PACKAGE_SYS, "%make-event-loop", "EventLoop");
+        autoload(PACKAGE_SYS, "%event-loop-register", "EventLoop");
+        autoload(PACKAGE_SYS, "%event-loop-unregister", "EventLoop");
+        autoload(PACKAGE_SYS, "%event-loop-run-once", "EventLoop");
+        autoload(PACKAGE_SYS, "%event-loop-run", "EventLoop");
+        autoload(PACKAGE_SYS, "%event-loop-stop", "EventLoop");
+        autoload(PACKAGE_SYS, "%event-loop-close", "EventLoop");
+        autoload(PACKAGE_SYS, "%make-server-channel", "EventLoop");
+        autoload(PACKAGE_SYS, "%make-client-channel", "EventLoop");
+        autoload(PACKAGE_SYS, "%channel-finish-connect", "EventLoop");
+        autoload(PACKAGE_SYS, "%channel-accept", "EventLoop");
+        autoload(PACKAGE_SYS, "%channel-read", "EventLoop");
+        autoload(PACKAGE_SYS, "%channel-write", "EventLoop");
+        autoload(PACKAGE_SYS, "%channel-close", "EventLoop");
+        autoload(PACKAGE_SYS, "%channel-local-port", "EventLoop");
         autoload(PACKAGE_SYS, "%make-string", "StringFunctions");
         autoload(PACKAGE_SYS, "%make-string-output-stream", "StringOutputStream");
         autoload(PACKAGE_SYS, "%nstring-capitalize", "StringFunctions");
@@ -611,6 +673,8 @@ public class Autoload extends Function
         autoload(PACKAGE_SYS, "%string>=", "StringFunctions");
         autoload(PACKAGE_SYS, "%time", "Time");
         autoload(PACKAGE_SYS, "cache-emf", "EMFCache", true);
+        autoload(PACKAGE_SYS, "cache-slot-location", "EMFCache", true);
+        autoload(PACKAGE_SYS, "cached-slot-value", "EMFCache", true);
         autoload(PACKAGE_SYS, "canonicalize-logical-host", "LogicalPathname", true);
         autoload(PACKAGE_SYS, "%class-direct-slots", "SlotClass");
         autoload(PACKAGE_SYS, "%float-bits", "FloatFunctions");
@@ -647,6 +711,7 @@ public class Autoload extends Function
         autoload(PACKAGE_SYS, "puthash", "HashTableFunctions");
         autoload(PACKAGE_SYS, "puthash", "HashTableFunctions");
         autoload(PACKAGE_SYS, "remove-zip-cache-entry", "ZipCache");
+        autoload(PACKAGE_SYS, "set-cached-slot-value", "EMFCache", true);
         autoload(PACKAGE_SYS, "set-function-info-value", "function_info");
         autoload(PACKAGE_SYS, "simple-list-remove-duplicates", "simple_list_remove_duplicates");
         autoload(PACKAGE_SYS, "single-float-bits", "FloatFunctions", true);
@@ -122,6 +122,12 @@ public final class BasicVector_UnsignedByte8 extends AbstractVector
     return capacity;
   }
 
+  /** Returns the backing array, for bulk stream transfers. */
+  byte[] elements()
+  {
+    return elements;
+  }
+
   @Override
   public LispObject elt(int index)
   {
@@ -0,0 +1,215 @@
+/*
+ * ConditionVariable.java
+ *
+ * $Id$
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ */
+package org.armedbear.lisp;
+
+import static org.armedbear.lisp.Lisp.*;
+
+import java.util.concurrent.locks.Condition;
+
+/** A condition variable, tied to the mutex it is first waited on with. */
+public final class ConditionVariable extends LispObject
+{
+    final LispObject name;
+    private Mutex mutex;
+    private Condition condition;
+
+    ConditionVariable(LispObject name)
+    {
+        this.name = name;
+    }
+
+    private synchronized Condition condition(Mutex mutex)
+    {
+        if (this.mutex == null) {
+            this.mutex = mutex;
+            condition = mutex.lock.newCondition();
+        } else if (this.mutex != mutex)
+            error(new LispError(princToString() + " is used with "
+                                + this.mutex.princToString()
+                                + ", not with " + mutex.princToString() + "."));
+        return condition;
+    }
+
+    private synchronized Condition condition()
+    {
+        return condition;
+    }
+
+    @Override
+    public LispObject typeOf()
+    {
+        return Symbol.CONDITION_VARIABLE;
+    }
+
+    @Override
+    public LispObject classOf()
+    {
+        return BuiltInClass.CONDITION_VARIABLE;
+    }
+
+    @Override
+    public LispObject typep(LispObject typeSpecifier)
+    {
+        if (typeSpecifier == Symbol.CONDITION_VARIABLE)
+            return T;
+        if (typeSpecifier == BuiltInClass.CONDITION_VARIABLE)
+            return T;
+        return super.typep(typeSpecifier);
+    }
+
+    @Override
+    public String printObject()
+    {
+        StringBuilder sb = new StringBuilder("CONDITION-VARIABLE");
+        if (name != NIL) {
+            sb.append(" \"");
+            sb.append(name.getStringValue());
+            sb.append("\"");
+        }
+        return unreadableString(sb.toString());
+    }
+
+    static final ConditionVariable checkConditionVariable(LispObject obj)
+    {
+        if (obj instanceof ConditionVariable)
+            return (ConditionVariable) obj;
+        return (ConditionVariable) type_error(obj, Symbol.CONDITION_VARIABLE);
+    }
+
+    @DocString(name="make-condition-variable", args="&key name",
+    doc="Returns a condition variable, to be used with a single mutex.")
+    private static final Primitive MAKE_CONDITION_VARIABLE =
+        new Primitive("make-condition-variable", PACKAGE_THREADS, true,
+                      "&key name")
+    {
+        @Override
+        public LispObject execute(LispObject[] args)
+        {
+            if (args.length % 2 != 0)
+                program_error("Odd number of keyword arguments.");
+            LispObject name = NIL;
+            for (int i = 0; i < args.length; i += 2) {
+                if (args[i] == Keyword.NAME)
+                    name = args[i + 1] == NIL ? NIL : args[i + 1].STRING();
+                else
+                    program_error("Unrecognized keyword argument "
+                                  + args[i].princToString() + ".");
+            }
+            return new ConditionVariable(name);
+        }
+    };
+
+    @DocString(name="condition-wait", args="condition-variable mutex &optional timeout",
+    doc="Releases MUTEX, held by the current thread, and waits until\n"
+        + "CONDITION-VARIABLE is notified, at most TIMEOUT seconds when\n"
+        + "given, then acquires MUTEX again. Returns NIL if the timeout\n"
+        + "elapsed, T otherwise. The thread may also wake up without being\n"
+        + "notified, so callers should check what they are waiting for\n"
+        + "in a loop.")
+    private static final Primitive CONDITION_WAIT =
+        new Primitive("condition-wait", PACKAGE_THREADS, true,
+                      "condition-variable mutex &optional timeout")
+    {
+        @Override
+        public LispObject execute(LispObject cv, LispObject mutex)
+        {
+            return execute(cv, mutex, NIL);
+        }
+
+        @Override
+        public LispObject execute(LispObject cv, LispObject mutex,
+                                  LispObject timeout)
+        {
+            Condition condition = checkConditionVariable(cv)
+                .condition(Mutex.checkMutex(mutex));
+            try {
+                if (timeout == NIL) {
+                    condition.await();
+                    return T;
+                }
+                return condition.awaitNanos(Future.timeoutNanos(timeout)) > 0
+                    ? T : NIL;
+            }
+            catch (InterruptedException e) {
+                LispThread.currentThread().processThreadInterrupts();
+                return T;
+            }
+            catch (IllegalMonitorStateException e) {
+                return error(new IllegalMonitorState("The mutex isn't held by the current thread."));
+            }
+        }
+    };
+
+    @DocString(name="condition-notify", args="condition-variable",
+    doc="Wakes up one thread waiting on CONDITION-VARIABLE. The current\n"
+        + "thread has to hold the mutex the waiting threads use.")
+    private static final Primitive CONDITION_NOTIFY =
+        new Primitive("condition-notify", PACKAGE_THREADS, true,
+                      "condition-variable")
+    {
+        @Override
+        public LispObject execute(LispObject cv)
+        {
+            Condition condition = checkConditionVariable(cv).condition();
+            try {
+                if (condition != null)
+                    condition.signal();
+            }
+            catch (IllegalMonitorStateException e) {
+                return error(new IllegalMonitorState("The mutex isn't held by the current thread."));
+            }
+            return NIL;
+        }
+    };
+
+    @DocString(name="condition-broadcast", args="condition-variable",
+    doc="Wakes up all threads waiting on CONDITION-VARIABLE. The current\n"
+        + "thread has to hold the mutex the waiting threads use.")
+    private static final Primitive CONDITION_BROADCAST =
+        new Primitive("condition-broadcast", PACKAGE_THREADS, true,
+                      "condition-variable")
+    {
+        @Override
+        public LispObject execute(LispObject cv)
+        {
+            Condition condition = checkConditionVariable(cv).condition();
+            try {
+                if (condition != null)
+                    condition.signalAll();
+            }
+            catch (IllegalMonitorStateException e) {
+                return error(new IllegalMonitorState("The mutex isn't held by the current thread."));
+            }
+            return NIL;
+        }
+    };
+}
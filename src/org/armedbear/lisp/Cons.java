@@ -40,6 +40,11 @@ public final class Cons extends LispObject implements java.io.Serializable
   public LispObject car;
   public LispObject cdr;
 
+  private static final Atomics.SwappableField CAR =
+    new Atomics.SwappableField(Cons.class, "car");
+  private static final Atomics.SwappableField CDR =
+    new Atomics.SwappableField(Cons.class, "cdr");
+
   public Cons(LispObject car, LispObject cdr)
   {
     this.car = car;
@@ -150,6 +155,18 @@ public final class Cons extends LispObject implements java.io.Serializable
     return this;
   }
 
+  @Override
+  public LispObject casCar(LispObject expected, LispObject newValue)
+  {
+    return CAR.compareAndSwap(this, expected, newValue);
+  }
+
+  @Override
+  public LispObject casCdr(LispObject expected, LispObject newValue)
+  {
+    return CDR.compareAndSwap(this, expected, newValue);
+  }
+
   @Override
   public final int sxhash()
   {
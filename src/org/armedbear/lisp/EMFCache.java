@@ -41,10 +41,12 @@ public final class EMFCache extends LispObject
   ConcurrentHashMap<CacheEntry,LispObject> cache
     = new ConcurrentHashMap<CacheEntry,LispObject>();;
   EqlSpecialization eqlSpecializations[] = new EqlSpecialization[0];
+  volatile SlotLocations slotLocations = SlotLocations.EMPTY;
 
   void clearCache()
   {
     cache = new ConcurrentHashMap<CacheEntry,LispObject>();
+    slotLocations = SlotLocations.EMPTY;
   }
 
   @Override
@@ -105,6 +107,77 @@ public final class EMFCache extends LispObject
     }
   }
 
+  /**
+   * Instance slot indices accessed by the standard reader and writer
+   * methods of a generic function, keyed by the layout of the
+   * instance.
+   *
+   * <p>The table is an open addressed hash table on the identity of
+   * the layouts.  It is never modified once published; additions copy
+   * the table, which is fine since they only happen on the first call
+   * for each class.
+   */
+  private static final class SlotLocations
+  {
+    static final SlotLocations EMPTY = new SlotLocations(8);
+
+    final Layout[] layouts;
+    final int[] indices;
+    final int count;
+
+    private SlotLocations(int size)
+    {
+      layouts = new Layout[size];
+      indices = new int[size];
+      count = 0;
+    }
+
+    private SlotLocations(SlotLocations old, int size)
+    {
+      layouts = new Layout[size];
+      indices = new int[size];
+      for (int i = old.layouts.length; i-- > 0;)
+        if (old.layouts[i] != null)
+          store(old.layouts[i], old.indices[i]);
+      count = old.count + 1;
+    }
+
+    private void store(Layout layout, int index)
+    {
+      final int mask = layouts.length - 1;
+      int i = System.identityHashCode(layout) & mask;
+      while (layouts[i] != null && layouts[i] != layout)
+        i = (i + 1) & mask;
+      layouts[i] = layout;
+      indices[i] = index;
+    }
+
+    int get(Layout layout)
+    {
+      final int mask = layouts.length - 1;
+      int i = System.identityHashCode(layout) & mask;
+      while (true)
+        {
+          final Layout l = layouts[i];
+          if (l == layout)
+            return indices[i];
+          if (l == null)
+            return -1;
+          i = (i + 1) & mask;
+        }
+    }
+
+    SlotLocations put(Layout layout, int index)
+    {
+      int size = layouts.length;
+      if ((count + 1) * 2 > size)
+        size *= 2;
+      SlotLocations result = new SlotLocations(this, size);
+      result.store(layout, index);
+      return result;
+    }
+  }
+
   private static final Primitive _MAKE_EMF_CACHE
     = new pf__make_emf_cache();
   @DocString(name="%make-emf-cache")
@@ -209,6 +282,100 @@ public final class EMFCache extends LispObject
     }
   };
 
+  private static final Primitive CACHE_SLOT_LOCATION
+    = new pf_cache_slot_location();
+  @DocString(name="cache-slot-location",
+             args="generic-function layout index",
+             doc="Records that the standard accessor methods of GENERIC-FUNCTION\n"
+             + "access the instance slot at INDEX of instances with LAYOUT.")
+  private static final class pf_cache_slot_location extends Primitive
+  {
+    pf_cache_slot_location()
+    {
+      super("cache-slot-location", PACKAGE_SYS, true,
+            "generic-function layout index");
+    }
+    @Override
+    public LispObject execute(LispObject first, LispObject second,
+                              LispObject third)
+    {
+      final FuncallableStandardObject gf = checkStandardGenericFunction(first);
+      final Layout layout = checkLayout(second);
+      final int index = Fixnum.getValue(third);
+      EMFCache cache = gf.cache;
+      synchronized (cache)
+        {
+          if (cache.slotLocations.get(layout) < 0)
+            cache.slotLocations = cache.slotLocations.put(layout, index);
+        }
+      return third;
+    }
+  };
+
+  private static final Primitive CACHED_SLOT_VALUE
+    = new pf_cached_slot_value();
+  @DocString(name="cached-slot-value",
+             args="generic-function instance",
+             doc="Returns the value of the slot of INSTANCE cached by\n"
+             + "CACHE-SLOT-LOCATION, or +SLOT-UNBOUND+ if there is no cached location\n"
+             + "for the layout of INSTANCE or the slot is unbound.")
+  private static final class pf_cached_slot_value extends Primitive
+  {
+    pf_cached_slot_value()
+    {
+      super("cached-slot-value", PACKAGE_SYS, true,
+            "generic-function instance");
+    }
+    @Override
+    public LispObject execute(LispObject first, LispObject second)
+    {
+      if (!(second instanceof StandardObject))
+        return UNBOUND_VALUE;
+      final StandardObject instance = (StandardObject) second;
+      final Layout layout = instance.layout;
+      if (layout.isInvalid())
+        return UNBOUND_VALUE;
+      final FuncallableStandardObject gf = checkStandardGenericFunction(first);
+      final int index = gf.cache.slotLocations.get(layout);
+      if (index < 0)
+        return UNBOUND_VALUE;
+      return instance.slots[index];
+    }
+  };
+
+  private static final Primitive SET_CACHED_SLOT_VALUE
+    = new pf_set_cached_slot_value();
+  @DocString(name="set-cached-slot-value",
+             args="generic-function instance new-value",
+             doc="Sets the slot of INSTANCE cached by CACHE-SLOT-LOCATION to\n"
+             + "NEW-VALUE and returns NEW-VALUE, or returns +SLOT-UNBOUND+ without\n"
+             + "changing INSTANCE if there is no cached location for its layout.")
+  private static final class pf_set_cached_slot_value extends Primitive
+  {
+    pf_set_cached_slot_value()
+    {
+      super("set-cached-slot-value", PACKAGE_SYS, true,
+            "generic-function instance new-value");
+    }
+    @Override
+    public LispObject execute(LispObject first, LispObject second,
+                              LispObject third)
+    {
+      if (!(second instanceof StandardObject))
+        return UNBOUND_VALUE;
+      final StandardObject instance = (StandardObject) second;
+      final Layout layout = instance.layout;
+      if (layout.isInvalid())
+        return UNBOUND_VALUE;
+      final FuncallableStandardObject gf = checkStandardGenericFunction(first);
+      final int index = gf.cache.slotLocations.get(layout);
+      if (index < 0)
+        return UNBOUND_VALUE;
+      instance.slots[index] = third;
+      return third;
+    }
+  };
+
   /**
    * Returns an object representing generic function
    * argument <tt>arg</tt> in a <tt>CacheEntry</tt>
@@ -0,0 +1,689 @@
+/*
+ * EventLoop.java
+ *
+ * $Id$
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ */
+
+package org.armedbear.lisp;
+
+import static org.armedbear.lisp.Lisp.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.CancelledKeyException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/** A selector calling Lisp handlers when the channels registered
+ * with it are ready, so that one thread serves many connections.
+ *
+ * Channels are non-blocking socket channels, passed to Lisp as
+ * JavaObjects like the blocking sockets of socket.lisp.
+ *
+ * Registering a channel while another thread selects blocks until
+ * that select returns, so registrations made from other threads while
+ * the loop runs are queued, and the loop, woken up, makes them itself.
+ */
+public final class EventLoop extends LispObject
+{
+    final Selector selector;
+    private volatile boolean stopped;
+    // The thread in run() or runOnce(), if any; guarded by this.
+    private Thread runner;
+    private final ConcurrentLinkedQueue<PendingRegistration> pending =
+        new ConcurrentLinkedQueue<PendingRegistration>();
+
+    EventLoop() throws IOException
+    {
+        selector = Selector.open();
+    }
+
+    @Override
+    public LispObject typeOf()
+    {
+        return Symbol.EVENT_LOOP;
+    }
+
+    @Override
+    public LispObject classOf()
+    {
+        return BuiltInClass.EVENT_LOOP;
+    }
+
+    @Override
+    public LispObject typep(LispObject typeSpecifier)
+    {
+        if (typeSpecifier == Symbol.EVENT_LOOP)
+            return T;
+        if (typeSpecifier == BuiltInClass.EVENT_LOOP)
+            return T;
+        return super.typep(typeSpecifier);
+    }
+
+    @Override
+    public String printObject()
+    {
+        StringBuilder sb = new StringBuilder("EVENT-LOOP");
+        if (selector.isOpen()) {
+            sb.append(" ");
+            sb.append(selector.keys().size());
+            sb.append(" channels");
+        } else
+            sb.append(" closed");
+        return unreadableString(sb.toString());
+    }
+
+    /** The channel as passed to Lisp and its handler. */
+    private static final class Registration
+    {
+        final LispObject channel;
+        LispObject handler;
+
+        Registration(LispObject channel, LispObject handler)
+        {
+            this.channel = channel;
+            this.handler = handler;
+        }
+    }
+
+    /** A registration made from another thread than the runner. */
+    private static final class PendingRegistration
+    {
+        final SelectableChannel channel;
+        final LispObject lispChannel;
+        final int ops;
+        final LispObject handler;
+
+        PendingRegistration(SelectableChannel channel, LispObject lispChannel,
+                            int ops, LispObject handler)
+        {
+            this.channel = channel;
+            this.lispChannel = lispChannel;
+            this.ops = ops;
+            this.handler = handler;
+        }
+    }
+
+    /** Watches channel for ops, calling handler, or the handler it
+     * already has when handler is NIL.
+     *
+     * @return false if channel has no handler
+     */
+    boolean register(SelectableChannel channel, LispObject lispChannel,
+                     int ops, LispObject handler) throws IOException
+    {
+        SelectionKey key = channel.keyFor(selector);
+        if (key != null && key.isValid()) {
+            key.interestOps(ops);
+            if (handler != NIL)
+                ((Registration) key.attachment()).handler = handler;
+            return true;
+        }
+        if (handler == NIL)
+            return false;
+        channel.register(selector, ops, new Registration(lispChannel, handler));
+        return true;
+    }
+
+    /** Registers lispChannel now if no other thread runs the loop, or
+     * else has the runner register it.
+     *
+     * @return false if the channel has no handler
+     */
+    synchronized boolean register(LispObject lispChannel, int ops,
+                                  LispObject handler) throws IOException
+    {
+        SelectableChannel channel = checkChannel(lispChannel);
+        if (runner == null || runner == Thread.currentThread())
+            return register(channel, lispChannel, ops, handler);
+        if (handler == NIL) {
+            SelectionKey key = channel.keyFor(selector);
+            if (key == null || !key.isValid())
+                return false;
+        }
+        pending.add(new PendingRegistration(channel, lispChannel, ops, handler));
+        selector.wakeup();
+        return true;
+    }
+
+    private void registerPending()
+    {
+        PendingRegistration registration;
+        while ((registration = pending.poll()) != null) {
+            try {
+                register(registration.channel, registration.lispChannel,
+                         registration.ops, registration.handler);
+            }
+            catch (IOException e) {
+                // closed since
+            }
+            catch (CancelledKeyException e) {
+                // unregistered since
+            }
+            catch (ClosedSelectorException e) {
+                // the loop is closed
+            }
+        }
+    }
+
+    private synchronized boolean enter()
+    {
+        Thread current = Thread.currentThread();
+        if (runner == current)
+            return false;
+        if (runner != null)
+            error(new LispError("The event loop is already running in "
+                                + "another thread."));
+        runner = current;
+        return true;
+    }
+
+    private synchronized void exit()
+    {
+        runner = null;
+        // queued after the runner last looked
+        registerPending();
+    }
+
+    /** Calls the handlers of the channels which become ready within
+     * timeout milliseconds, or without waiting when timeout is 0, or
+     * waiting as long as it takes when timeout is negative.
+     *
+     * @return the number of handlers called
+     */
+    int runOnce(long timeout) throws IOException
+    {
+        boolean entered = enter();
+        try {
+            return select(timeout);
+        }
+        finally {
+            if (entered)
+                exit();
+        }
+    }
+
+    private int select(long timeout) throws IOException
+    {
+        registerPending();
+        if (!selector.selectedKeys().isEmpty())
+            // left over by run()
+            selector.selectNow();
+        else if (timeout < 0)
+            selector.select();
+        else if (timeout == 0)
+            selector.selectNow();
+        else
+            selector.select(timeout);
+        // made while selecting
+        registerPending();
+        int count = 0;
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid())
+                continue;
+            Registration registration = (Registration) key.attachment();
+            registration.handler.execute(registration.channel,
+                                         operations(key.readyOps()));
+            count++;
+        }
+        return count;
+    }
+
+    /** Runs until stop() is called or no channel is registered anymore. */
+    void run() throws IOException
+    {
+        boolean entered = enter();
+        try {
+            stopped = false;
+            while (!stopped) {
+                registerPending();
+                // Keys of closed channels only go away with the next
+                // select, so check for a channel after that one.
+                selector.selectNow();
+                if (selector.keys().isEmpty() && pending.isEmpty())
+                    break;
+                select(-1);
+            }
+        }
+        finally {
+            if (entered)
+                exit();
+        }
+    }
+
+    void stop()
+    {
+        stopped = true;
+        selector.wakeup();
+    }
+
+    static final EventLoop checkEventLoop(LispObject obj)
+    {
+        if (obj instanceof EventLoop)
+            return (EventLoop) obj;
+        return (EventLoop) type_error(obj, Symbol.EVENT_LOOP);
+    }
+
+    static final SelectableChannel checkChannel(LispObject obj)
+    {
+        if (obj instanceof JavaObject) {
+            Object channel = ((JavaObject) obj).getObject();
+            if (channel instanceof SelectableChannel)
+                return (SelectableChannel) channel;
+        }
+        type_error(obj, Symbol.JAVA_OBJECT);
+        // Not reached.
+        return null;
+    }
+
+    static final SocketChannel checkSocketChannel(LispObject obj)
+    {
+        SelectableChannel channel = checkChannel(obj);
+        if (channel instanceof SocketChannel)
+            return (SocketChannel) channel;
+        type_error(obj, Symbol.JAVA_OBJECT);
+        // Not reached.
+        return null;
+    }
+
+    /** Converts a list of :ACCEPT, :CONNECT, :READ and :WRITE into
+     * SelectionKey operations.
+     */
+    static final int operations(LispObject list)
+    {
+        int ops = 0;
+        for (LispObject tail = list; tail != NIL; tail = tail.cdr()) {
+            LispObject op = tail.car();
+            if (op == Keyword.ACCEPT)
+                ops |= SelectionKey.OP_ACCEPT;
+            else if (op == Keyword.CONNECT)
+                ops |= SelectionKey.OP_CONNECT;
+            else if (op == Keyword.READ)
+                ops |= SelectionKey.OP_READ;
+            else if (op == Keyword.WRITE)
+                ops |= SelectionKey.OP_WRITE;
+            else
+                type_error(op, list(Symbol.MEMBER, Keyword.ACCEPT,
+                                    Keyword.CONNECT, Keyword.READ,
+                                    Keyword.WRITE));
+        }
+        return ops;
+    }
+
+    static final LispObject operations(int ops)
+    {
+        LispObject list = NIL;
+        if ((ops & SelectionKey.OP_WRITE) != 0)
+            list = new Cons(Keyword.WRITE, list);
+        if ((ops & SelectionKey.OP_READ) != 0)
+            list = new Cons(Keyword.READ, list);
+        if ((ops & SelectionKey.OP_CONNECT) != 0)
+            list = new Cons(Keyword.CONNECT, list);
+        if ((ops & SelectionKey.OP_ACCEPT) != 0)
+            list = new Cons(Keyword.ACCEPT, list);
+        return list;
+    }
+
+    private static final InetSocketAddress address(LispObject host, int port)
+    {
+        if (host == NIL)
+            return new InetSocketAddress(port);
+        return new InetSocketAddress(host.getStringValue(), port);
+    }
+
+    // ### %make-event-loop => event-loop
+    private static final Primitive MAKE_EVENT_LOOP =
+        new Primitive("%make-event-loop", PACKAGE_SYS, false)
+    {
+        @Override
+        public LispObject execute()
+        {
+            try {
+                return new EventLoop();
+            }
+            catch (IOException e) {
+                return error(new LispError(e.getMessage()));
+            }
+        }
+    };
+
+    // ### %event-loop-register event-loop channel operations handler => channel
+    private static final Primitive EVENT_LOOP_REGISTER =
+        new Primitive("%event-loop-register", PACKAGE_SYS, false,
+                      "event-loop channel operations handler")
+    {
+        @Override
+        public LispObject execute(LispObject first, LispObject second,
+                                  LispObject third, LispObject fourth)
+        {
+            EventLoop loop = checkEventLoop(first);
+            int ops = operations(third);
+            if ((ops & ~checkChannel(second).validOps()) != 0)
+                return error(new LispError(third.princToString()
+                                           + " are not all operations of "
+                                           + second.princToString() + "."));
+            try {
+                if (!loop.register(second, ops, fourth))
+                    return error(new LispError("No handler given for "
+                                               + second.princToString() + "."));
+            }
+            catch (IOException e) {
+                return error(new LispError(e.getMessage()));
+            }
+            return second;
+        }
+    };
+
+    // ### %event-loop-unregister event-loop channel => generalized-boolean
+    private static final Primitive EVENT_LOOP_UNREGISTER =
+        new Primitive("%event-loop-unregister", PACKAGE_SYS, false,
+                      "event-loop channel")
+    {
+        @Override
+        public LispObject execute(LispObject first, LispObject second)
+        {
+            SelectionKey key =
+                checkChannel(second).keyFor(checkEventLoop(first).selector);
+            if (key == null)
+                return NIL;
+            key.cancel();
+            return T;
+        }
+    };
+
+    // ### %event-loop-run-once event-loop timeout => count
+    private static final Primitive EVENT_LOOP_RUN_ONCE =
+        new Primitive("%event-loop-run-once", PACKAGE_SYS, false,
+                      "event-loop timeout")
+    {
+        @Override
+        public LispObject execute(LispObject first, LispObject second)
+        {
+            EventLoop loop = checkEventLoop(first);
+            long timeout = (second == NIL) ? -1
+                : (long) (second.floatValue() * 1000);
+            try {
+                return Fixnum.getInstance(loop.runOnce(timeout));
+            }
+            catch (IOException e) {
+                return error(new LispError(e.getMessage()));
+            }
+            catch (ClosedSelectorException e) {
+                return error(new LispError("The event loop is closed."));
+            }
+        }
+    };
+
+    // ### %event-loop-run event-loop => nil
+    private static final Primitive EVENT_LOOP_RUN =
+        new Primitive("%event-loop-run", PACKAGE_SYS, false, "event-loop")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            try {
+                checkEventLoop(arg).run();
+            }
+            catch (IOException e) {
+                return error(new LispError(e.getMessage()));
+            }
+            catch (ClosedSelectorException e) {
+                // closed by a handler
+            }
+            return NIL;
+        }
+    };
+
+    // ### %event-loop-stop event-loop => nil
+    private static final Primitive EVENT_LOOP_STOP =
+        new Primitive("%event-loop-stop", PACKAGE_SYS, false, "event-loop")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            checkEventLoop(arg).stop();
+            return NIL;
+        }
+    };
+
+    // ### %event-loop-close event-loop => nil
+    private static final Primitive EVENT_LOOP_CLOSE =
+        new Primitive("%event-loop-close", PACKAGE_SYS, false, "event-loop")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            try {
+                checkEventLoop(arg).selector.close();
+            }
+            catch (IOException e) {
+                return error(new LispError(e.getMessage()));
+            }
+            return NIL;
+        }
+    };
+
+    // ### %make-server-channel host port backlog => channel
+    private static final Primitive MAKE_SERVER_CHANNEL =
+        new Primitive("%make-server-channel", PACKAGE_SYS, false,
+                      "host port backlog")
+    {
+        @Override
+        public LispObject execute(LispObject first, LispObject second,
+                                  LispObject third)
+        {
+            int port = Fixnum.getValue(second);
+            int backlog = (third == NIL) ? 0 : Fixnum.getValue(third);
+            try {
+                ServerSocketChannel channel = ServerSocketChannel.open();
+                channel.configureBlocking(false);
+                channel.socket().setReuseAddress(true);
+                channel.socket().bind(address(first, port), backlog);
+                return new JavaObject(channel);
+            }
+            catch (IOException e) {
+                return error(new LispError(e.getMessage()));
+            }
+        }
+    };
+
+    // ### %make-client-channel host port => channel, connected-p
+    private static final Primitive MAKE_CLIENT_CHANNEL =
+        new Primitive("%make-client-channel", PACKAGE_SYS, false, "host port")
+    {
+        @Override
+        public LispObject execute(LispObject first, LispObject second)
+        {
+            int port = Fixnum.getValue(second);
+            try {
+                SocketChannel channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                boolean connected = channel.connect(address(first, port));
+                return LispThread.currentThread()
+                    .setValues(new JavaObject(channel), connected ? T : NIL);
+            }
+            catch (IOException e) {
+                return error(new LispError(e.getMessage()));
+            }
+        }
+    };
+
+    // ### %channel-finish-connect channel => generalized-boolean
+    private static final Primitive CHANNEL_FINISH_CONNECT =
+        new Primitive("%channel-finish-connect", PACKAGE_SYS, false, "channel")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            try {
+                return checkSocketChannel(arg).finishConnect() ? T : NIL;
+            }
+            catch (IOException e) {
+                return error(new LispError(e.getMessage()));
+            }
+        }
+    };
+
+    // ### %channel-accept server-channel => channel or nil
+    private static final Primitive CHANNEL_ACCEPT =
+        new Primitive("%channel-accept", PACKAGE_SYS, false, "server-channel")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            SelectableChannel server = checkChannel(arg);
+            if (!(server instanceof ServerSocketChannel))
+                return type_error(arg, Symbol.JAVA_OBJECT);
+            try {
+                SocketChannel channel = ((ServerSocketChannel) server).accept();
+                if (channel == null)
+                    return NIL;
+                channel.configureBlocking(false);
+                return new JavaObject(channel);
+            }
+            catch (IOException e) {
+                return error(new LispError(e.getMessage()));
+            }
+        }
+    };
+
+    // ### %channel-read channel vector start end => count or nil
+    private static final Primitive CHANNEL_READ =
+        new Primitive("%channel-read", PACKAGE_SYS, false,
+                      "channel vector start end")
+    {
+        @Override
+        public LispObject execute(LispObject first, LispObject second,
+                                  LispObject third, LispObject fourth)
+        {
+            SocketChannel channel = checkSocketChannel(first);
+            AbstractVector v = checkVector(second);
+            int start = Fixnum.getValue(third);
+            int end = (fourth == NIL) ? v.length() : Fixnum.getValue(fourth);
+            checkBounds(start, end, v.length());
+            try {
+                int count;
+                if (v instanceof BasicVector_UnsignedByte8)
+                    count = channel.read(ByteBuffer.wrap(((BasicVector_UnsignedByte8)v).elements(),
+                                                         start, end - start));
+                else {
+                    ByteBuffer buffer = ByteBuffer.allocate(end - start);
+                    count = channel.read(buffer);
+                    for (int i = 0; i < count; i++)
+                        v.aset(start + i, buffer.get(i) & 0xff);
+                }
+                return (count < 0) ? NIL : Fixnum.getInstance(count);
+            }
+            catch (IOException e) {
+                return error(new LispError(e.getMessage()));
+            }
+        }
+    };
+
+    // ### %channel-write channel vector start end => count
+    private static final Primitive CHANNEL_WRITE =
+        new Primitive("%channel-write", PACKAGE_SYS, false,
+                      "channel vector start end")
+    {
+        @Override
+        public LispObject execute(LispObject first, LispObject second,
+                                  LispObject third, LispObject fourth)
+        {
+            SocketChannel channel = checkSocketChannel(first);
+            AbstractVector v = checkVector(second);
+            int start = Fixnum.getValue(third);
+            int end = (fourth == NIL) ? v.length() : Fixnum.getValue(fourth);
+            checkBounds(start, end, v.length());
+            ByteBuffer buffer;
+            if (v instanceof BasicVector_UnsignedByte8)
+                buffer = ByteBuffer.wrap(((BasicVector_UnsignedByte8)v).elements(),
+                                         start, end - start);
+            else {
+                boolean ub8 = v.getElementType().equal(UNSIGNED_BYTE_8);
+                buffer = ByteBuffer.allocate(end - start);
+                for (int i = start; i < end; i++) {
+                    int n = v.aref(i);
+                    if (!ub8 && (n & ~0xff) != 0)
+                        return type_error(v.AREF(i), UNSIGNED_BYTE_8);
+                    buffer.put((byte) n);
+                }
+                buffer.flip();
+            }
+            try {
+                return Fixnum.getInstance(channel.write(buffer));
+            }
+            catch (IOException e) {
+                return error(new LispError(e.getMessage()));
+            }
+        }
+    };
+
+    // ### %channel-close channel => nil
+    private static final Primitive CHANNEL_CLOSE =
+        new Primitive("%channel-close", PACKAGE_SYS, false, "channel")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            try {
+                checkChannel(arg).close();
+            }
+            catch (IOException e) {
+                return error(new LispError(e.getMessage()));
+            }
+            return NIL;
+        }
+    };
+
+    // ### %channel-local-port channel => port
+    private static final Primitive CHANNEL_LOCAL_PORT =
+        new Primitive("%channel-local-port", PACKAGE_SYS, false, "channel")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            SelectableChannel channel = checkChannel(arg);
+            if (channel instanceof ServerSocketChannel)
+                return Fixnum.getInstance(((ServerSocketChannel) channel)
+                                          .socket().getLocalPort());
+            return Fixnum.getInstance(checkSocketChannel(arg)
+                                      .socket().getLocalPort());
+        }
+    };
+}
@@ -0,0 +1,67 @@
+/*
+ * ExitPoint.java
+ *
+ * $Id$
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ */
+
+package org.armedbear.lisp;
+
+/** Identifies an activation of a compiled BLOCK or TAGBODY which is
+ * the target of non-local exits, and holds the Return or Go thrown
+ * to it.  Reusing the transfer saves an allocation for each exit
+ * after the first, e.g. when a closure in a loop does a GO to a tag
+ * of the enclosing TAGBODY.
+ *
+ * Only one activation is ever the target of a given ExitPoint; should
+ * an exit to it start while another is on its way, e.g. from an
+ * UNWIND-PROTECT cleanup, the first exit is abandoned anyway.
+ */
+public final class ExitPoint extends LispObject
+{
+    private Return returnTransfer;
+    private Go goTransfer;
+
+    final Return returnFrom(LispObject result)
+    {
+        Return transfer = returnTransfer;
+        if (transfer == null)
+            returnTransfer = transfer = new Return(this, null);
+        transfer.result = result;
+        return transfer;
+    }
+
+    final Go go(LispObject tag)
+    {
+        Go transfer = goTransfer;
+        if (transfer == null)
+            goTransfer = transfer = new Go(this, null);
+        transfer.tag = tag;
+        return transfer;
+    }
+}
@@ -56,6 +56,31 @@ public final class FileStream extends Stream
                       LispObject elementType, LispObject direction,
                       LispObject ifExists, LispObject format)
         throws IOException
+    {
+        this(pathname, namestring, elementType, direction, ifExists, format,
+             false);
+    }
+
+    public FileStream(Pathname pathname, String namestring,
+                      LispObject elementType, LispObject direction,
+                      LispObject ifExists, LispObject format,
+                      boolean mapped)
+        throws IOException
+    {
+        this(pathname, namestring, elementType, direction, ifExists, format,
+             mapped, RandomAccessCharacterFile.BUFSIZ);
+    }
+
+    /** Opens a file stream which, when mapped is true, reads the file
+     * through a memory mapping instead of a buffer of its own; only
+     * direction :INPUT supports that. Otherwise, the buffer holds
+     * bufferSize bytes.
+     */
+    public FileStream(Pathname pathname, String namestring,
+                      LispObject elementType, LispObject direction,
+                      LispObject ifExists, LispObject format,
+                      boolean mapped, int bufferSize)
+        throws IOException
     {
         /* externalFormat is a LispObject of which the first char is a
          * name of a character encoding (such as :UTF-8 or :ISO-8859-1), used
@@ -104,10 +129,11 @@ public final class FileStream extends Stream
         
 	// don't touch raf directly after passing it to racf.
 	// the state will become inconsistent if you do that.
-        racf = new RandomAccessCharacterFile(raf, encoding);
+        racf = new RandomAccessCharacterFile(raf, encoding, mapped, bufferSize);
 
         this.pathname = pathname;
         this.elementType = elementType;
+        buffering = Buffering.FULL;
         if (elementType == Symbol.CHARACTER || elementType == Symbol.BASE_CHAR) {
             isCharacterStream = true;
             bytesPerUnit = 1;
@@ -270,16 +296,50 @@ public final class FileStream extends Stream
         return unreadableString("FILE-STREAM");
     }
 
-    // ### make-file-stream pathname namestring element-type direction if-exists external-format => stream
+    /** Copies up to count bytes to target, file to file. */
+    long transferTo(FileStream target, long count)
+    {
+        try {
+            return racf.transferTo(target.racf, count);
+        }
+        catch (IOException e) {
+            error(new StreamError(this, e));
+            // Not reached.
+            return 0;
+        }
+    }
+
+    // ### make-file-stream pathname namestring element-type direction if-exists external-format &optional mapped buffer-size => stream
     private static final Primitive MAKE_FILE_STREAM =
         new Primitive("make-file-stream", PACKAGE_SYS, true,
-                      "pathname namestring element-type direction if-exists external-format")
+                      "pathname namestring element-type direction if-exists external-format &optional mapped buffer-size")
     {
         @Override
         public LispObject execute(LispObject first, LispObject second,
                                   LispObject third, LispObject fourth,
                                   LispObject fifth, LispObject sixth)
 
+        {
+            return execute(first, second, third, fourth, fifth, sixth, NIL);
+        }
+
+        @Override
+        public LispObject execute(LispObject first, LispObject second,
+                                  LispObject third, LispObject fourth,
+                                  LispObject fifth, LispObject sixth,
+                                  LispObject seventh)
+
+        {
+            return execute(first, second, third, fourth, fifth, sixth, seventh,
+                           NIL);
+        }
+
+        @Override
+        public LispObject execute(LispObject first, LispObject second,
+                                  LispObject third, LispObject fourth,
+                                  LispObject fifth, LispObject sixth,
+                                  LispObject seventh, LispObject eighth)
+
         {
             final Pathname pathname;
             if (first instanceof Pathname) {
@@ -293,10 +353,19 @@ public final class FileStream extends Stream
             LispObject direction = fourth;
             LispObject ifExists = fifth;
             LispObject externalFormat = sixth;
+            boolean mapped = (seventh != NIL);
+            int bufferSize = RandomAccessCharacterFile.BUFSIZ;
+            if (eighth != NIL) {
+                bufferSize = Fixnum.getValue(eighth);
+                if (bufferSize < 1)
+                    type_error(eighth, list(Symbol.INTEGER, Fixnum.ONE));
+            }
             
             if (direction != Keyword.INPUT && direction != Keyword.OUTPUT &&
                 direction != Keyword.IO)
                 error(new LispError("Direction must be :INPUT, :OUTPUT, or :IO."));
+            if (mapped && direction != Keyword.INPUT)
+                error(new FileError("Only direction :INPUT is supported for mapped files.", pathname));
 
             if (pathname.isJar())  {
                 if (direction != Keyword.INPUT) {
@@ -324,7 +393,7 @@ public final class FileStream extends Stream
                 try {
                     return new FileStream(pathname, namestring.getStringValue(),
                                           elementType, direction, ifExists,
-                                          externalFormat);
+                                          externalFormat, mapped, bufferSize);
                 }
                 catch (FileNotFoundException e) {
                     return NIL;
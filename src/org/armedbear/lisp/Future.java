@@ -0,0 +1,249 @@
+/*
+ * Future.java
+ *
+ * $Id$
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ */
+package org.armedbear.lisp;
+
+import static org.armedbear.lisp.Lisp.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/** The eventual values of a task submitted to a thread pool, or of a
+ * promise fulfilled explicitly by FULFILL.
+ */
+public final class Future extends LispObject
+{
+    private final CompletableFuture<LispObject[]> result
+        = new CompletableFuture<LispObject[]>();
+
+    /** Completes a future whose task signalled an error; carries the
+     * condition to the threads waiting for the future's values.
+     */
+    private static final class Failure extends RuntimeException
+    {
+        final LispObject condition;
+
+        Failure(LispObject condition)
+        {
+            super(null, null, false, false);
+            this.condition = condition;
+        }
+    }
+
+    @Override
+    public LispObject typeOf()
+    {
+        return Symbol.FUTURE;
+    }
+
+    @Override
+    public LispObject classOf()
+    {
+        return BuiltInClass.FUTURE;
+    }
+
+    @Override
+    public LispObject typep(LispObject typeSpecifier)
+    {
+        if (typeSpecifier == Symbol.FUTURE)
+            return T;
+        if (typeSpecifier == BuiltInClass.FUTURE)
+            return T;
+        return super.typep(typeSpecifier);
+    }
+
+    @Override
+    public String printObject()
+    {
+        return unreadableString(result.isDone() ? "FUTURE done"
+                                                : "FUTURE pending");
+    }
+
+    public final boolean isDone()
+    {
+        return result.isDone();
+    }
+
+    /** Returns true if this call fulfilled the future, false if it
+     * already was.
+     */
+    public final boolean fulfill(LispObject[] values)
+    {
+        return result.complete(values);
+    }
+
+    public final boolean fail(LispObject condition)
+    {
+        return result.completeExceptionally(new Failure(condition));
+    }
+
+    /** Waits for the values of the future. Returns null if 'nanos'
+     * isn't negative and elapses before the future is fulfilled.
+     *
+     * Waiting from a pool worker lets the pool compensate for the
+     * blocked worker, so tasks may wait for the futures of the tasks
+     * they submit.
+     */
+    final LispObject[] get(long nanos)
+    {
+        final long deadline = System.nanoTime() + nanos;
+        while (true) {
+            try {
+                if (nanos < 0)
+                    return result.get();
+                long remaining = deadline - System.nanoTime();
+                return result.get(Math.max(remaining, 0),
+                                  TimeUnit.NANOSECONDS);
+            }
+            catch (InterruptedException e) {
+                LispThread.currentThread().processThreadInterrupts();
+            }
+            catch (TimeoutException e) {
+                return null;
+            }
+            catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Failure)
+                    error(((Failure) cause).condition);
+                error(new LispError(String.valueOf(cause)));
+            }
+        }
+    }
+
+    static final long timeoutNanos(LispObject seconds)
+    {
+        long millis = LispThread.sleepMillisPart(seconds);
+        if (millis >= Long.MAX_VALUE / 1000000)
+            return Long.MAX_VALUE;
+        return millis * 1000000 + LispThread.sleepNanosPart(seconds);
+    }
+
+    static final Future checkFuture(LispObject obj)
+    {
+        if (obj instanceof Future)
+            return (Future) obj;
+        return (Future) type_error(obj, Symbol.FUTURE);
+    }
+
+    @DocString(name="promise",
+    doc="Returns a future to be fulfilled by FULFILL.")
+    private static final Primitive PROMISE =
+        new Primitive("promise", PACKAGE_THREADS, true, "")
+    {
+        @Override
+        public LispObject execute()
+        {
+            return new Future();
+        }
+    };
+
+    @DocString(name="fulfill", args="future &rest values",
+    doc="Fulfills FUTURE with VALUES, waking up the threads waiting for it.\n"
+        + "Returns T, or NIL if FUTURE had already been fulfilled, in which\n"
+        + "case its values remain unchanged.")
+    private static final Primitive FULFILL =
+        new Primitive("fulfill", PACKAGE_THREADS, true, "future &rest values")
+    {
+        @Override
+        public LispObject execute(LispObject[] args)
+        {
+            if (args.length == 0)
+                return error(new WrongNumberOfArgumentsException(this, 1, -1));
+            LispObject[] values = new LispObject[args.length - 1];
+            System.arraycopy(args, 1, values, 0, values.length);
+            return checkFuture(args[0]).fulfill(values) ? T : NIL;
+        }
+    };
+
+    // Internal: completes FUTURE with CONDITION, signalled again by
+    // FUTURE-VALUE.
+    private static final Primitive _FAIL_FUTURE =
+        new Primitive("%fail-future", PACKAGE_THREADS, false,
+                      "future condition")
+    {
+        @Override
+        public LispObject execute(LispObject future, LispObject condition)
+        {
+            return checkFuture(future).fail(condition) ? T : NIL;
+        }
+    };
+
+    @DocString(name="future-value", args="future &key timeout default",
+    doc="Waits for FUTURE to be fulfilled and returns its values.\n"
+        + "If the task computing FUTURE signalled an error, signals that\n"
+        + "error. If TIMEOUT seconds elapse first, returns DEFAULT.")
+    private static final Primitive FUTURE_VALUE =
+        new Primitive("future-value", PACKAGE_THREADS, true,
+                      "future &key timeout default")
+    {
+        @Override
+        public LispObject execute(LispObject[] args)
+        {
+            if (args.length == 0)
+                return error(new WrongNumberOfArgumentsException(this, 1, -1));
+            Future future = checkFuture(args[0]);
+            if ((args.length - 1) % 2 != 0)
+                program_error("Odd number of keyword arguments.");
+            LispObject timeout = NIL;
+            LispObject defaultValue = NIL;
+            for (int i = 1; i < args.length; i += 2) {
+                if (args[i] == Keyword.TIMEOUT)
+                    timeout = args[i + 1];
+                else if (args[i] == Keyword.DEFAULT)
+                    defaultValue = args[i + 1];
+                else
+                    program_error("Unrecognized keyword argument "
+                                  + args[i].princToString() + ".");
+            }
+            LispObject[] values
+                = future.get(timeout == NIL ? -1 : timeoutNanos(timeout));
+            LispThread thread = LispThread.currentThread();
+            if (values == null)
+                return thread.setValues(defaultValue);
+            return thread.setValues(values.length > 1 ? values.clone()
+                                                      : values);
+        }
+    };
+
+    @DocString(name="future-done-p", args="future",
+    doc="Returns T if FUTURE has been fulfilled.")
+    private static final Primitive FUTURE_DONE_P =
+        new Primitive("future-done-p", PACKAGE_THREADS, true, "future")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            return checkFuture(arg).isDone() ? T : NIL;
+        }
+    };
+}
@@ -36,7 +36,7 @@ package org.armedbear.lisp;
 public final class Go extends ControlTransfer
 {
     public final LispObject tagbody;
-    public final LispObject tag;
+    public LispObject tag;
 
     public Go(LispObject tagbody, LispObject tag)
     {
@@ -41,21 +41,28 @@ public final class Keyword
         ABCL                = internKeyword("ABCL"),
         ABORT               = internKeyword("ABORT"),
         ABSOLUTE            = internKeyword("ABSOLUTE"),
+        ACCEPT              = internKeyword("ACCEPT"),
+        ACQUISITIONS        = internKeyword("ACQUISITIONS"),
         ADJUSTABLE          = internKeyword("ADJUSTABLE"),
         ALLOW_OTHER_KEYS    = internKeyword("ALLOW-OTHER-KEYS"),
         ANSI_CL             = internKeyword("ANSI-CL"),
         APPEND              = internKeyword("APPEND"),
         ARMEDBEAR           = internKeyword("ARMEDBEAR"),
         BACK                = internKeyword("BACK"),
+        BINDINGS            = internKeyword("BINDINGS"),
         BOOLEAN             = internKeyword("BOOLEAN"),
         CAPITALIZE          = internKeyword("CAPITALIZE"),
         CAPITALIZE_FIRST    = internKeyword("CAPITALIZE-FIRST"),
         CASE                = internKeyword("CASE"),
         CAUSE               = internKeyword("CAUSE"),
+        CAPACITY            = internKeyword("CAPACITY"),
         CHAR                = internKeyword("CHAR"),
         COMMON              = internKeyword("COMMON"),
         COMMON_LISP         = internKeyword("COMMON-LISP"),
         COMPILE_TOPLEVEL    = internKeyword("COMPILE-TOPLEVEL"),
+        CONNECT             = internKeyword("CONNECT"),
+        CONTENDED           = internKeyword("CONTENDED"),
+        COUNT               = internKeyword("COUNT"),
         COUNT_ONLY          = internKeyword("COUNT-ONLY"),
         CREATE              = internKeyword("CREATE"),
         DARWIN              = internKeyword("DARWIN"),
@@ -75,11 +82,13 @@ public final class Keyword
         EXPECTED_TYPE       = internKeyword("EXPECTED-TYPE"),
         EXTERNAL            = internKeyword("EXTERNAL"),
         EXTERNAL_FORMAT     = internKeyword("EXTERNAL-FORMAT"),
+        FAIR                = internKeyword("FAIR"),
         FILL_POINTER        = internKeyword("FILL-POINTER"),
         FORMAT_ARGUMENTS    = internKeyword("FORMAT-ARGUMENTS"),
         FORMAT_CONTROL      = internKeyword("FORMAT-CONTROL"),
         FROM_END            = internKeyword("FROM-END"),
         FREEBSD             = internKeyword("FREEBSD"),
+        FULL                = internKeyword("FULL"),
         HOST                = internKeyword("HOST"),
         IF_DOES_NOT_EXIST   = internKeyword("IF-DOES-NOT-EXIST"),
         IF_EXISTS           = internKeyword("IF-EXISTS"),
@@ -102,6 +111,7 @@ public final class Keyword
         KEY                 = internKeyword("KEY"),
         KEY_AND_VALUE       = internKeyword("KEY-AND-VALUE"),
         KEY_OR_VALUE        = internKeyword("KEY-OR-VALUE"),
+        LINE                = internKeyword("LINE"),
         LINUX               = internKeyword("LINUX"),
         LOAD_TOPLEVEL       = internKeyword("LOAD-TOPLEVEL"),
         LOCAL               = internKeyword("LOCAL"),
@@ -127,13 +137,16 @@ public final class Keyword
         PREFIX              = internKeyword("PREFIX"), // EXT:MAKE-TEMP-FILE
         PUBLIC              = internKeyword("PUBLIC"),
         PRESERVE            = internKeyword("PRESERVE"),
+        READ                = internKeyword("READ"),
         REF                 = internKeyword("REF"),
         RELATIVE            = internKeyword("RELATIVE"),
         RENAME              = internKeyword("RENAME"),
         RENAME_AND_DELETE   = internKeyword("RENAME-AND-DELETE"),
+        RING                = internKeyword("RING"),
         SIZE                = internKeyword("SIZE"),
         SOLARIS             = internKeyword("SOLARIS"),
         START               = internKeyword("START"),
+        STATISTICS          = internKeyword("STATISTICS"),
         STATUS              = internKeyword("STATUS"),
         STREAM              = internKeyword("STREAM"),
         SUNOS               = internKeyword("SUNOS"),
@@ -142,6 +155,7 @@ public final class Keyword
         TEST                = internKeyword("TEST"),
         TEST_NOT            = internKeyword("TEST-NOT"),
         TIME                = internKeyword("TIME"),
+        TIMEOUT             = internKeyword("TIMEOUT"),
         TOP_LEVEL           = internKeyword("TOP-LEVEL"),
         TRAPS               = internKeyword("TRAPS"),
         TYPE                = internKeyword("TYPE"),
@@ -153,10 +167,13 @@ public final class Keyword
         USE                 = internKeyword("USE"),
         VALUE               = internKeyword("VALUE"),
         VERSION             = internKeyword("VERSION"),
+        VIRTUAL             = internKeyword("VIRTUAL"),
+        WAIT_TIME           = internKeyword("WAIT-TIME"),
         WILD                = internKeyword("WILD"),
         WILD_ERROR_P        = internKeyword("WILD-ERROR-P"),
         WILD_INFERIORS      = internKeyword("WILD-INFERIORS"),
         WINDOWS             = internKeyword("WINDOWS"),
+        WRITE               = internKeyword("WRITE"),
         X86                 = internKeyword("X86"),
         X86_64              = internKeyword("X86-64"),
         CDR6                = internKeyword("CDR6");
@@ -745,6 +745,8 @@ public final class Lisp
                                     + tag.princToString() +
                                     " for GO outside lexical extent."));
 
+    if (tagbody instanceof ExitPoint)
+      throw ((ExitPoint) tagbody).go(tag);
     throw new Go(tagbody, tag);
   }
 
@@ -781,6 +783,8 @@ public final class Lisp
                                     + blockName.princToString() + " for " +
                                     "RETURN-FROM outside lexical extent."));
 
+    if (blockId instanceof ExitPoint)
+      throw ((ExitPoint) blockId).returnFrom(result);
     throw new Return(blockId, result);
   }
 
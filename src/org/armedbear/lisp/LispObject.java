@@ -566,6 +566,40 @@ public class LispObject //extends Lisp
     type_error(this, Symbol.SIMPLE_VECTOR);
   }
 
+  /** Atomically replaces element 'index' with 'newValue' if it is EQ
+   * to 'expected'. Returns the element found, like the other
+   * compare-and-swap methods below.
+   *
+   * @see Atomics
+   */
+  public LispObject casSvref(int index, LispObject expected,
+                             LispObject newValue)
+  {
+    return type_error(this, Symbol.SIMPLE_VECTOR);
+  }
+
+  public LispObject casCar(LispObject expected, LispObject newValue)
+  {
+    return type_error(this, Symbol.CONS);
+  }
+
+  public LispObject casCdr(LispObject expected, LispObject newValue)
+  {
+    return type_error(this, Symbol.CONS);
+  }
+
+  public LispObject casSymbolValue(LispObject expected,
+                                         LispObject newValue)
+  {
+    return type_error(this, Symbol.SYMBOL);
+  }
+
+  public LispObject casSlotValue(int index, LispObject expected,
+                                 LispObject newValue)
+  {
+    return type_error(this, Symbol.STRUCTURE_OBJECT);
+  }
+
   public void vectorPushExtend(LispObject element)
 
   {
@@ -0,0 +1,198 @@
+/*
+ * LispSemaphore.java
+ *
+ * $Id$
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ */
+package org.armedbear.lisp;
+
+import static org.armedbear.lisp.Lisp.*;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/** A counting semaphore. */
+public final class LispSemaphore extends LispObject
+{
+    final Semaphore semaphore;
+    final LispObject name;
+
+    LispSemaphore(LispObject name, int count)
+    {
+        semaphore = new Semaphore(count);
+        this.name = name;
+    }
+
+    @Override
+    public LispObject typeOf()
+    {
+        return Symbol.SEMAPHORE;
+    }
+
+    @Override
+    public LispObject classOf()
+    {
+        return BuiltInClass.SEMAPHORE;
+    }
+
+    @Override
+    public LispObject typep(LispObject typeSpecifier)
+    {
+        if (typeSpecifier == Symbol.SEMAPHORE)
+            return T;
+        if (typeSpecifier == BuiltInClass.SEMAPHORE)
+            return T;
+        return super.typep(typeSpecifier);
+    }
+
+    @Override
+    public String printObject()
+    {
+        StringBuilder sb = new StringBuilder("SEMAPHORE");
+        if (name != NIL) {
+            sb.append(" \"");
+            sb.append(name.getStringValue());
+            sb.append("\"");
+        }
+        sb.append(" count ");
+        sb.append(semaphore.availablePermits());
+        return unreadableString(sb.toString());
+    }
+
+    static final LispSemaphore checkSemaphore(LispObject obj)
+    {
+        if (obj instanceof LispSemaphore)
+            return (LispSemaphore) obj;
+        return (LispSemaphore) type_error(obj, Symbol.SEMAPHORE);
+    }
+
+    @DocString(name="make-semaphore", args="&key name count",
+    doc="Returns a semaphore with an initial COUNT, by default 0.")
+    private static final Primitive MAKE_SEMAPHORE =
+        new Primitive("make-semaphore", PACKAGE_THREADS, true,
+                      "&key name count")
+    {
+        @Override
+        public LispObject execute(LispObject[] args)
+        {
+            if (args.length % 2 != 0)
+                program_error("Odd number of keyword arguments.");
+            LispObject name = NIL;
+            int count = 0;
+            for (int i = 0; i < args.length; i += 2) {
+                if (args[i] == Keyword.NAME)
+                    name = args[i + 1] == NIL ? NIL : args[i + 1].STRING();
+                else if (args[i] == Keyword.COUNT) {
+                    count = Fixnum.getValue(args[i + 1]);
+                    if (count < 0)
+                        type_error(args[i + 1], Symbol.UNSIGNED_BYTE);
+                }
+                else
+                    program_error("Unrecognized keyword argument "
+                                  + args[i].princToString() + ".");
+            }
+            return new LispSemaphore(name, count);
+        }
+    };
+
+    @DocString(name="signal-semaphore", args="semaphore &optional n",
+    doc="Increments the count of SEMAPHORE by N, by default 1, waking up\n"
+        + "as many threads waiting on it.")
+    private static final Primitive SIGNAL_SEMAPHORE =
+        new Primitive("signal-semaphore", PACKAGE_THREADS, true,
+                      "semaphore &optional n")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            checkSemaphore(arg).semaphore.release();
+            return NIL;
+        }
+
+        @Override
+        public LispObject execute(LispObject arg, LispObject n)
+        {
+            int count = Fixnum.getValue(n);
+            if (count < 0)
+                type_error(n, Symbol.UNSIGNED_BYTE);
+            checkSemaphore(arg).semaphore.release(count);
+            return NIL;
+        }
+    };
+
+    @DocString(name="wait-on-semaphore", args="semaphore &optional timeout",
+    doc="Decrements the count of SEMAPHORE, first waiting for it to become\n"
+        + "positive, at most TIMEOUT seconds when given. Returns T, or NIL\n"
+        + "if the timeout elapsed.")
+    private static final Primitive WAIT_ON_SEMAPHORE =
+        new Primitive("wait-on-semaphore", PACKAGE_THREADS, true,
+                      "semaphore &optional timeout")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            return execute(arg, NIL);
+        }
+
+        @Override
+        public LispObject execute(LispObject arg, LispObject timeout)
+        {
+            Semaphore semaphore = checkSemaphore(arg).semaphore;
+            final long nanos = Mutex.timeoutNanos(timeout);
+            final long deadline = System.nanoTime() + nanos;
+            while (true) {
+                try {
+                    if (nanos < 0) {
+                        semaphore.acquire();
+                        return T;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    return semaphore.tryAcquire(Math.max(remaining, 0),
+                                                TimeUnit.NANOSECONDS)
+                        ? T : NIL;
+                }
+                catch (InterruptedException e) {
+                    LispThread.currentThread().processThreadInterrupts();
+                }
+            }
+        }
+    };
+
+    @DocString(name="semaphore-count", args="semaphore",
+    doc="Returns the current count of SEMAPHORE.")
+    private static final Primitive SEMAPHORE_COUNT =
+        new Primitive("semaphore-count", PACKAGE_THREADS, true, "semaphore")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            return Fixnum.getInstance(checkSemaphore(arg).semaphore
+                                      .availablePermits());
+        }
+    };
+}
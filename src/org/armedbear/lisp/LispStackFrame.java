@@ -62,6 +62,13 @@ public class LispStackFrame
     }
   }
 
+  /** A frame of which only the operator is known. */
+  public LispStackFrame(LispObject operator)
+  {
+    this.operator = operator;
+    args = new LispObject[0];
+  }
+
    @Override
    public LispObject typeOf() { 
      return Symbol.LISP_STACK_FRAME; 
@@ -36,6 +36,8 @@ package org.armedbear.lisp;
 import java.lang.ref.WeakReference;
 import static org.armedbear.lisp.Lisp.*;
 
+import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -50,6 +52,11 @@ public final class LispThread extends LispObject
     final static ConcurrentHashMap<Thread,LispThread> map =
        new ConcurrentHashMap<Thread,LispThread>();
 
+    /** The size of the map above at which terminated threads
+     * which were not created by MAKE-THREAD get purged from it.
+     */
+    private static volatile int purgeThreshold = 64;
+
     LispObject threadValue = NIL;
 
     private static ThreadLocal<LispThread> threads = new ThreadLocal<LispThread>(){
@@ -60,11 +67,26 @@ public final class LispThread extends LispObject
             if (thread == null) {
                 thread = new LispThread(thisThread);
                 LispThread.map.put(thisThread,thread);
+                // Threads we didn't create never remove themselves
+                // from the map; without purging, every (virtual) thread
+                // which ever called into Lisp would stay reachable.
+                if (LispThread.map.size() >= purgeThreshold)
+                    purgeTerminatedThreads();
             }
             return thread;
         }
     };
 
+    private static void purgeTerminatedThreads()
+    {
+        Iterator<Thread> it = map.keySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getState() == Thread.State.TERMINATED)
+                it.remove();
+        }
+        purgeThreshold = Math.max(64, map.size() * 2);
+    }
+
     public static final LispThread currentThread()
     {
         return threads.get();
@@ -76,7 +98,7 @@ public final class LispThread extends LispObject
     public LispObject[] _values;
     private boolean threadInterrupted;
     private LispObject pending = NIL;
-    private Symbol wrapper =
+    private static final Symbol wrapper =
         PACKAGE_THREADS.intern("THREAD-FUNCTION-WRAPPER");
 
     LispThread(Thread javaThread)
@@ -87,6 +109,18 @@ public final class LispThread extends LispObject
 
     LispThread(final Function fun, LispObject name)
     {
+        this(fun, name, false);
+    }
+
+    LispThread(final Function fun, LispObject name, boolean virtual)
+    {
+        this(fun, name, virtual, null);
+    }
+
+    LispThread(final Function fun, LispObject name, boolean virtual,
+               SpecialBindingsSnapshot bindings)
+    {
+        inheritedSpecials = bindings;
         Runnable r = new Runnable() {
             public void run()
             {
@@ -113,10 +147,11 @@ public final class LispThread extends LispObject
                 finally {
                     // make sure the thread is *always* removed from the hash again
                     map.remove(Thread.currentThread());
+                    releaseState();
                 }
             }
         };
-        javaThread = new Thread(r);
+        javaThread = virtual ? newVirtualThread(r) : new Thread(r);
         this.name = name;
         map.put(javaThread, this);
         if (name != NIL)
@@ -125,6 +160,88 @@ public final class LispThread extends LispObject
         javaThread.start();
     }
 
+    // Thread.ofVirtual() and Thread.Builder.unstarted(Runnable), looked
+    // up reflectively as they only exist on Java 21 and later.
+    private static final Method ofVirtual;
+    private static final Method unstarted;
+
+    static {
+        Method builder = null, start = null;
+        try {
+            builder = Thread.class.getMethod("ofVirtual");
+            start = Class.forName("java.lang.Thread$Builder")
+                .getMethod("unstarted", Runnable.class);
+        }
+        catch (Exception e) {
+            builder = null;
+            start = null;
+        }
+        ofVirtual = builder;
+        unstarted = start;
+    }
+
+    private static final Method isVirtual;
+
+    static {
+        Method method = null;
+        try {
+            method = Thread.class.getMethod("isVirtual");
+        }
+        catch (Exception e) {
+            method = null;
+        }
+        isVirtual = method;
+    }
+
+    public final boolean isVirtual()
+    {
+        if (isVirtual == null)
+            return false;
+        try {
+            return Boolean.TRUE.equals(isVirtual.invoke(javaThread));
+        }
+        catch (Exception e) {
+            return false;
+        }
+    }
+
+    public static boolean virtualThreadsSupported()
+    {
+        return unstarted != null;
+    }
+
+    /** Returns an unstarted virtual thread running 'r', or a platform
+     * thread if the JVM doesn't support virtual threads.
+     */
+    private static Thread newVirtualThread(Runnable r)
+    {
+        if (virtualThreadsSupported()) {
+            try {
+                return (Thread) unstarted.invoke(ofVirtual.invoke(null), r);
+            }
+            catch (Exception e) {
+                Debug.trace(e);
+            }
+        }
+        return new Thread(r);
+    }
+
+    /** Drops the stack and special bindings of a thread which has
+     * finished running, so that references to its LispThread object
+     * don't keep them alive.
+     */
+    private void releaseState()
+    {
+        topStackSegment = new StackSegment(0, null);
+        stack = topStackSegment.stack;
+        spareStackSegment = null;
+        stackPtr = 0;
+        specials = NO_SPECIALS;
+        savedSpecials = null;
+        inheritedSpecials = null;
+        valuesBuffer = null;
+    }
+
     public StackTraceElement[] getJavaStackTrace() {
         return javaThread.getStackTrace();
     }
@@ -191,29 +308,68 @@ public final class LispThread extends LispObject
         return _values;
     }
 
+    /** The number of values getValues(result, count) pads in a
+     * reused per-thread buffer rather than a new array.
+     */
+    private static final int VALUES_BUFFER_SIZE = 16;
+
+    /** Shared by all threads: zero-length arrays are never written to. */
+    private static final LispObject[] NO_VALUES = new LispObject[0];
+
+    private LispObject[] valuesBuffer;
+
+    /** Returns at least 'count' values, padded with NIL, for the
+     * JVM compiler's MULTIPLE-VALUE-BIND.
+     *
+     * The array returned may be a per-thread buffer, overwritten by the
+     * next call: callers must read the values before calling any other
+     * code.
+     */
     public final LispObject[] getValues(LispObject result, int count)
     {
-        if (_values == null) {
-            LispObject[] values = new LispObject[count];
-            if (count > 0)
-                values[0] = result;
-            for (int i = 1; i < count; i++)
-                values[i] = NIL;
-            return values;
-        }
-        // If the caller doesn't want any extra values, just return the ones
-        // we've got.
-        if (count <= _values.length)
+        final LispObject[] _values = this._values;
+        final int length;
+        if (_values == null)
+            length = 1;
+        else if (count <= (length = _values.length))
+            // If the caller doesn't want any extra values, just return
+            // the ones we've got.
             return _values;
         // The caller wants more values than we have. Pad with NILs.
-        LispObject[] values = new LispObject[count];
-        for (int i = _values.length; i-- > 0;)
-            values[i] = _values[i];
-        for (int i = _values.length; i < count; i++)
+        LispObject[] values;
+        if (count <= VALUES_BUFFER_SIZE) {
+            values = valuesBuffer;
+            if (values == null)
+                values = valuesBuffer = new LispObject[VALUES_BUFFER_SIZE];
+        }
+        else
+            values = new LispObject[count];
+        if (_values == null)
+            values[0] = result;
+        else
+            System.arraycopy(_values, 0, values, 0, length);
+        for (int i = length; i < count; i++)
             values[i] = NIL;
         return values;
     }
 
+    private char[] stringOutputBuffer;
+
+    /** Returns this thread's spare buffer for string output, or null if
+     * it's in use (or was never given back).  The caller owns the
+     * buffer until it hands it back with giveStringOutputBuffer(). */
+    final char[] takeStringOutputBuffer()
+    {
+        final char[] buffer = stringOutputBuffer;
+        stringOutputBuffer = null;
+        return buffer;
+    }
+
+    final void giveStringOutputBuffer(char[] buffer)
+    {
+        stringOutputBuffer = buffer;
+    }
+
     /** Used by the JVM compiler for MULTIPLE-VALUE-CALL. */
     public final LispObject[] accumulateValues(LispObject result,
                                                LispObject[] oldValues)
@@ -250,7 +406,7 @@ public final class LispThread extends LispObject
 
     public final LispObject setValues()
     {
-        _values = new LispObject[0];
+        _values = NO_VALUES;
         return NIL;
     }
 
@@ -311,7 +467,7 @@ public final class LispThread extends LispObject
 
     public final LispObject nothing()
     {
-        _values = new LispObject[0];
+        _values = NO_VALUES;
         return NIL;
     }
 
@@ -347,6 +503,16 @@ public final class LispThread extends LispObject
     final static int specialsInitialSize
         = Integer.valueOf(System.getProperty("abcl.specials.initialSize","4096"));
 
+    /** The number of assigned special slots above which freed slots
+     * are reclaimed by a garbage collection before assigning new ones.
+     */
+    private static volatile int specialsReclaimThreshold = specialsInitialSize;
+
+    /** Shared by all threads which haven't bound any specials yet:
+     * index 0 is never bound, so this array is never written to.
+     */
+    private final static SpecialBinding[] NO_SPECIALS = new SpecialBinding[1];
+
     /** This array stores the current special binding for every symbol
      * which has been globally or locally declared special.
      *
@@ -354,9 +520,12 @@ public final class LispThread extends LispObject
      * is no active binding. If the array element contains a valid
      * SpecialBinding object, but the value field of it is null, that
      * indicates an "UNBOUND VARIABLE" situation.
+     *
+     * The array is only allocated (and grown to cover the highest
+     * index) when the thread establishes a binding: indices beyond
+     * its end have no active binding.
      */
-    SpecialBinding[] specials
-        = new SpecialBinding[specialsInitialSize + 1];
+    SpecialBinding[] specials = NO_SPECIALS;
 
     final static ConcurrentHashMap<Integer, WeakReference<Symbol>> specialNames
         = new ConcurrentHashMap<Integer, WeakReference<Symbol>>();
@@ -414,16 +583,21 @@ public final class LispThread extends LispObject
             if (sym.specialIndex == 0) {
                 Integer next = freeSpecialIndices.poll();
                 if (next == null
-                        && specials.length < lastSpecial.get()
+                        && specialsReclaimThreshold < lastSpecial.get()
                         && null == System.getProperty("abcl.specials.grow.slowly")) {
                     // free slots are exhausted; in the middle and at the end.
                     System.gc();
                     next = freeSpecialIndices.poll();
+                    if (next == null)
+                        specialsReclaimThreshold
+                            = lastSpecial.get() + specialsDelta;
                 }
                 if (next == null)
                     sym.specialIndex = lastSpecial.incrementAndGet();
                 else
                     sym.specialIndex = next.intValue();
+                specialNames.put(sym.specialIndex,
+                                 new WeakReference<Symbol>(sym));
             }
         }
     }
@@ -451,43 +625,92 @@ public final class LispThread extends LispObject
                     savedSpecial = savedSpecial.next;
                 }
 
-                thread.specials[index] = null;
+                SpecialBinding[] threadSpecials = thread.specials;
+                if (index < threadSpecials.length)
+                    threadSpecials[index] = null;
             }
 
+            specialNames.remove(index);
             freeSpecialIndices.add(new Integer(index));
         }
     }
 
-    private void growSpecials() {
+    private void growSpecials(int idx) {
         SpecialBinding[] newSpecials
-                = new SpecialBinding[specials.length + specialsDelta];
+                = new SpecialBinding[Math.max(idx + 1,
+                                              specials.length + specialsDelta)];
         System.arraycopy(specials, 0, newSpecials, 0, specials.length);
         specials = newSpecials;
     }
 
     private SpecialBinding ensureSpecialBinding(int idx) {
-        SpecialBinding binding;
-        boolean assigned;
-        do {
-            try {
-                binding = specials[idx];
-                assigned = true;
-            }
-            catch (ArrayIndexOutOfBoundsException e) {
-                assigned = false;
-                binding = null;  // suppresses 'unassigned' error
-                growSpecials();
-            }
-        } while (! assigned);
+        SpecialBinding[] specials = this.specials;
+        SpecialBinding binding = idx < specials.length ? specials[idx] : null;
+        if (binding == null && inheritedSpecials != null)
+            return inheritSpecial(idx);
+        return binding;
+    }
+
+    private SpecialBinding ensureSpecialCapacity(int idx) {
+        if (idx >= specials.length)
+            growSpecials(idx);
+        SpecialBinding binding = specials[idx];
+        if (binding == null && inheritedSpecials != null)
+            return inheritSpecial(idx);
         return binding;
     }
 
+    /** The snapshot whose bindings this thread started with, or null.
+     * Its values are copied into 'specials' when first accessed, so
+     * that installing it takes constant time and leaves it unchanged.
+     */
+    private SpecialBindingsSnapshot inheritedSpecials;
+
+    private SpecialBinding inheritSpecial(int idx) {
+        LispObject value = inheritedSpecials.valueAt(idx);
+        if (value == null)
+            return null;
+        if (idx >= specials.length)
+            growSpecials(idx);
+        return specials[idx] = new SpecialBinding(idx, value);
+    }
+
+    /** Returns the values of the special bindings visible in this
+     * thread, to be installed by new threads or tasks.
+     */
+    public final SpecialBindingsSnapshot captureSpecialBindings()
+    {
+        return new SpecialBindingsSnapshot(specials, inheritedSpecials);
+    }
+
+    /** Calls 'function' with the special bindings of 'snapshot'
+     * in place of those of this thread.
+     */
+    public final LispObject callWithSpecialBindings(SpecialBindingsSnapshot snapshot,
+                                                    LispObject function)
+    {
+        final SpecialBinding[] specials = this.specials;
+        final SpecialBindingsMark savedSpecials = this.savedSpecials;
+        final SpecialBindingsSnapshot inheritedSpecials = this.inheritedSpecials;
+        this.specials = NO_SPECIALS;
+        this.savedSpecials = null;
+        this.inheritedSpecials = snapshot;
+        try {
+            return function.execute();
+        }
+        finally {
+            this.specials = specials;
+            this.savedSpecials = savedSpecials;
+            this.inheritedSpecials = inheritedSpecials;
+        }
+    }
+
     public final SpecialBinding bindSpecial(Symbol name, LispObject value)
     {
         int idx;
 
         assignSpecialIndex(name);
-        SpecialBinding binding = ensureSpecialBinding(idx = name.specialIndex);
+        SpecialBinding binding = ensureSpecialCapacity(idx = name.specialIndex);
         savedSpecials = new SpecialBindingsMark(idx, binding, savedSpecials);
         return specials[idx] = new SpecialBinding(idx, value);
     }
@@ -497,7 +720,7 @@ public final class LispThread extends LispObject
         int idx;
 
         assignSpecialIndex(name);
-        SpecialBinding binding = ensureSpecialBinding(idx = name.specialIndex);
+        SpecialBinding binding = ensureSpecialCapacity(idx = name.specialIndex);
         savedSpecials = new SpecialBindingsMark(idx, binding, savedSpecials);
         return specials[idx]
             = new SpecialBinding(idx,
@@ -570,17 +793,20 @@ public final class LispThread extends LispObject
         binding.value = value;
     }
 
-    private LispObject catchTags = NIL;
+    // The active CATCHes, innermost first.  Each one is represented by
+    // the Throw which a THROW to it fills in with its values and throws,
+    // so that throwing doesn't allocate.
+    private Throw catchTags;
 
     public void pushCatchTag(LispObject tag)
     {
-        catchTags = new Cons(tag, catchTags);
+        catchTags = new Throw(tag, catchTags);
     }
 
     public void popCatchTag()
     {
-        if (catchTags != NIL)
-            catchTags = catchTags.cdr();
+        if (catchTags != null)
+            catchTags = catchTags.next;
         else
             Debug.assertTrue(false);
     }
@@ -588,11 +814,9 @@ public final class LispThread extends LispObject
     public void throwToTag(LispObject tag, LispObject result)
 
     {
-        LispObject rest = catchTags;
-        while (rest != NIL) {
-            if (rest.car() == tag)
-                throw new Throw(tag, result, this);
-            rest = rest.cdr();
+        for (Throw c = catchTags; c != null; c = c.next) {
+            if (c.tag == tag)
+                throw c.setResult(result, this);
         }
         error(new ControlError("Attempt to throw to the nonexistent tag " +
                                 tag.princToString() + "."));
@@ -637,7 +861,10 @@ public final class LispThread extends LispObject
     //
     // Stack consists of a list of StackSegments.
     // Top StackSegment is cached in variables stack and stackPtr.
-    private StackSegment topStackSegment = new StackSegment(INITIAL_SEGMENT_SIZE, null);
+    // The initial segment is empty: it gets replaced by one of
+    // INITIAL_SEGMENT_SIZE on the first push, so that threads which
+    // never call Lisp functions don't pay for a stack.
+    private StackSegment topStackSegment = new StackSegment(0, null);
     private Object[] stack = topStackSegment.stack;
     private int stackPtr = 0;
     private StackSegment spareStackSegment;
@@ -687,7 +914,8 @@ public final class LispThread extends LispObject
         int newSize = stackPtr + numEntries;
         if (topStackSegment.stack.length < SEGMENT_SIZE || stackPtr == 0) {
             // grow initial segment from initial size to standard size
-            int newLength = Math.max(newSize, Math.min(SEGMENT_SIZE, stack.length * 2));
+            int newLength = Math.max(newSize, Math.min(SEGMENT_SIZE,
+                                     Math.max(INITIAL_SEGMENT_SIZE, stack.length * 2)));
             StackSegment newSegment = new StackSegment(newLength, topStackSegment.next);
             System.arraycopy(stack, 0, newSegment.stack, 0, stackPtr);
             topStackSegment = newSegment;
@@ -733,6 +961,8 @@ public final class LispThread extends LispObject
     }
     
     public final void pushStackFrame(JavaStackFrame frame) {
+        if (frameRecording != RECORD_FULL)
+            return;
         frame.setNext(getStackTop());
         ensureStackCapacity(1);
         stack[stackPtr] = frame;
@@ -787,9 +1017,106 @@ public final class LispThread extends LispObject
         stackPtr = 0;
     }
 
+    // Stack frame recording modes.  RECORD_FULL pushes every call made
+    // through execute() onto the segmented stack above; RECORD_RING
+    // only remembers the operators of the innermost FRAME_RING_SIZE
+    // calls and RECORD_NONE records nothing, leaving backtrace() to
+    // reconstruct the frames of compiled functions from the Java stack.
+    static final int RECORD_FULL = 0;
+    static final int RECORD_RING = 1;
+    static final int RECORD_NONE = 2;
+
+    private static volatile int defaultFrameRecording
+        = recordingMode(System.getProperty("abcl.stack.recording", "full"));
+
+    private volatile int frameRecording = defaultFrameRecording;
+
+    private static final int FRAME_RING_SIZE = 64;
+    private static final int FRAME_RING_MASK = FRAME_RING_SIZE - 1;
+
+    // frameRing[depth & FRAME_RING_MASK] is the operator entered at
+    // depth, provided frameRingDepths holds that same depth; deeper
+    // calls which wrapped around the ring invalidate the entry.
+    private LispObject[] frameRing;
+    private int[] frameRingDepths;
+    private int frameRingDepth;
+
+    static final LispThread checkLispThread(LispObject obj)
+    {
+        if (obj instanceof LispThread)
+            return (LispThread) obj;
+        return (LispThread) type_error(obj, Symbol.THREAD);
+    }
+
+    private static int recordingMode(String name)
+    {
+        if (name.equalsIgnoreCase("ring"))
+            return RECORD_RING;
+        if (name.equalsIgnoreCase("none"))
+            return RECORD_NONE;
+        return RECORD_FULL;
+    }
+
+    private static int recordingMode(LispObject mode)
+    {
+        if (mode == Keyword.FULL)
+            return RECORD_FULL;
+        if (mode == Keyword.RING)
+            return RECORD_RING;
+        if (mode == Keyword.NONE)
+            return RECORD_NONE;
+        type_error(mode, list(Symbol.MEMBER, Keyword.FULL, Keyword.RING,
+                              Keyword.NONE));
+        // Not reached.
+        return RECORD_FULL;
+    }
+
+    private static LispObject recordingKeyword(int mode)
+    {
+        switch (mode) {
+        case RECORD_RING:
+            return Keyword.RING;
+        case RECORD_NONE:
+            return Keyword.NONE;
+        default:
+            return Keyword.FULL;
+        }
+    }
+
+    private int enterFrame(LispObject function)
+    {
+        if (frameRecording == RECORD_NONE)
+            return -1;
+        if (frameRing == null) {
+            frameRing = new LispObject[FRAME_RING_SIZE];
+            frameRingDepths = new int[FRAME_RING_SIZE];
+        }
+        int depth = frameRingDepth;
+        int slot = depth & FRAME_RING_MASK;
+        frameRing[slot] = function;
+        frameRingDepths[slot] = depth;
+        frameRingDepth = depth + 1;
+        return depth;
+    }
+
+    private void leaveFrame(int depth)
+    {
+        if (depth >= 0)
+            frameRingDepth = depth;
+    }
+
     @Override
     public LispObject execute(LispObject function)
     {
+        if (frameRecording != RECORD_FULL) {
+            int depth = enterFrame(function);
+            try {
+                return function.execute();
+            }
+            finally {
+                leaveFrame(depth);
+            }
+        }
         ensureStackCapacity(STACK_FRAME_EXTRA);
         stack[stackPtr] = function;
         stack[stackPtr + 1] = STACK_MARKER_0;
@@ -805,6 +1132,15 @@ public final class LispThread extends LispObject
     @Override
     public LispObject execute(LispObject function, LispObject arg)
     {
+        if (frameRecording != RECORD_FULL) {
+            int depth = enterFrame(function);
+            try {
+                return function.execute(arg);
+            }
+            finally {
+                leaveFrame(depth);
+            }
+        }
         ensureStackCapacity(1 + STACK_FRAME_EXTRA);
         stack[stackPtr] = function;
         stack[stackPtr + 1] = arg;
@@ -822,6 +1158,15 @@ public final class LispThread extends LispObject
     public LispObject execute(LispObject function, LispObject first,
                               LispObject second)
     {
+        if (frameRecording != RECORD_FULL) {
+            int depth = enterFrame(function);
+            try {
+                return function.execute(first, second);
+            }
+            finally {
+                leaveFrame(depth);
+            }
+        }
         ensureStackCapacity(2 + STACK_FRAME_EXTRA);
         stack[stackPtr] = function;
         stack[stackPtr + 1] = first;
@@ -840,6 +1185,15 @@ public final class LispThread extends LispObject
     public LispObject execute(LispObject function, LispObject first,
                               LispObject second, LispObject third)
     {
+        if (frameRecording != RECORD_FULL) {
+            int depth = enterFrame(function);
+            try {
+                return function.execute(first, second, third);
+            }
+            finally {
+                leaveFrame(depth);
+            }
+        }
         ensureStackCapacity(3 + STACK_FRAME_EXTRA);
         stack[stackPtr] = function;
         stack[stackPtr + 1] = first;
@@ -860,6 +1214,15 @@ public final class LispThread extends LispObject
                               LispObject second, LispObject third,
                               LispObject fourth)
     {
+        if (frameRecording != RECORD_FULL) {
+            int depth = enterFrame(function);
+            try {
+                return function.execute(first, second, third, fourth);
+            }
+            finally {
+                leaveFrame(depth);
+            }
+        }
         ensureStackCapacity(4 + STACK_FRAME_EXTRA);
         stack[stackPtr] = function;
         stack[stackPtr + 1] = first;
@@ -881,6 +1244,15 @@ public final class LispThread extends LispObject
                               LispObject second, LispObject third,
                               LispObject fourth, LispObject fifth)
     {
+        if (frameRecording != RECORD_FULL) {
+            int depth = enterFrame(function);
+            try {
+                return function.execute(first, second, third, fourth, fifth);
+            }
+            finally {
+                leaveFrame(depth);
+            }
+        }
         ensureStackCapacity(5 + STACK_FRAME_EXTRA);
         stack[stackPtr] = function;
         stack[stackPtr + 1] = first;
@@ -904,6 +1276,15 @@ public final class LispThread extends LispObject
                               LispObject fourth, LispObject fifth,
                               LispObject sixth)
     {
+        if (frameRecording != RECORD_FULL) {
+            int depth = enterFrame(function);
+            try {
+                return function.execute(first, second, third, fourth, fifth, sixth);
+            }
+            finally {
+                leaveFrame(depth);
+            }
+        }
         ensureStackCapacity(6 + STACK_FRAME_EXTRA);
         stack[stackPtr] = function;
         stack[stackPtr + 1] = first;
@@ -928,6 +1309,16 @@ public final class LispThread extends LispObject
                               LispObject fourth, LispObject fifth,
                               LispObject sixth, LispObject seventh)
     {
+        if (frameRecording != RECORD_FULL) {
+            int depth = enterFrame(function);
+            try {
+                return function.execute(first, second, third, fourth, fifth, sixth,
+                                        seventh);
+            }
+            finally {
+                leaveFrame(depth);
+            }
+        }
         ensureStackCapacity(7 + STACK_FRAME_EXTRA);
         stack[stackPtr] = function;
         stack[stackPtr + 1] = first;
@@ -954,6 +1345,16 @@ public final class LispThread extends LispObject
                               LispObject sixth, LispObject seventh,
                               LispObject eighth)
     {
+        if (frameRecording != RECORD_FULL) {
+            int depth = enterFrame(function);
+            try {
+                return function.execute(first, second, third, fourth, fifth, sixth,
+                                        seventh, eighth);
+            }
+            finally {
+                leaveFrame(depth);
+            }
+        }
         ensureStackCapacity(8 + STACK_FRAME_EXTRA);
         stack[stackPtr] = function;
         stack[stackPtr + 1] = first;
@@ -977,6 +1378,15 @@ public final class LispThread extends LispObject
 
     public LispObject execute(LispObject function, LispObject[] args)
     {
+        if (frameRecording != RECORD_FULL) {
+            int depth = enterFrame(function);
+            try {
+                return function.execute(args);
+            }
+            finally {
+                leaveFrame(depth);
+            }
+        }
         ensureStackCapacity(args.length + STACK_FRAME_EXTRA);
         stack[stackPtr] = function;
         System.arraycopy(args, 0, stack, stackPtr + 1, args.length);
@@ -1023,6 +1433,10 @@ public final class LispThread extends LispObject
 
     public LispObject backtrace(int limit)
     {
+        if (frameRecording == RECORD_RING)
+            return ringBacktrace(limit);
+        if (frameRecording == RECORD_NONE)
+            return javaBacktrace(limit);
         StackFrame stackTop = getStackTop();
         LispObject result = NIL;
         if (stackTop != null) {
@@ -1038,6 +1452,93 @@ public final class LispThread extends LispObject
         return result.nreverse();
     }
 
+    private LispObject ringBacktrace(int limit)
+    {
+        LispObject result = NIL;
+        if (frameRing == null)
+            return result;
+        int count = 0;
+        int bottom = Math.max(0, frameRingDepth - FRAME_RING_SIZE);
+        for (int depth = frameRingDepth - 1; depth >= bottom; depth--) {
+            int slot = depth & FRAME_RING_MASK;
+            if (frameRingDepths[slot] != depth || frameRing[slot] == null)
+                continue;
+            result = result.push(new LispStackFrame(frameRing[slot]));
+            if (limit > 0 && ++count == limit)
+                break;
+        }
+        return result.nreverse();
+    }
+
+    private static HashMap<String,LispObject> functionsByClass;
+    private static int functionsByClassGeneration;
+
+    /** Returns the global functions by the name of their class, NIL
+     * standing for classes shared by several functions (interpreted
+     * closures, autoloads...), which can't tell them apart.  The table
+     * is computed again once a symbol's function has been set since.
+     */
+    private static synchronized HashMap<String,LispObject> functionsByClass()
+    {
+        int generation = Symbol.functionGeneration;
+        if (functionsByClass != null && functionsByClassGeneration == generation)
+            return functionsByClass;
+        HashMap<String,LispObject> functions = new HashMap<String,LispObject>();
+        for (Package pkg : Packages.getAllPackages()) {
+            for (Symbol symbol : pkg.symbols()) {
+                LispObject function = symbol.getSymbolFunction();
+                if (!(function instanceof Function))
+                    continue;
+                String className = function.getClass().getName();
+                LispObject known = functions.get(className);
+                if (known == null)
+                    functions.put(className, function);
+                else if (known != function)
+                    functions.put(className, NIL);
+            }
+        }
+        functionsByClass = functions;
+        functionsByClassGeneration = generation;
+        return functions;
+    }
+
+    /** Reconstructs the Lisp frames of the thread from its Java stack
+     * trace, by matching the class of each execute() method against
+     * the classes of the global functions.  Only compiled functions
+     * which are the definition of some symbol can be recovered this way;
+     * calls through classes shared by several functions are returned as
+     * Java frames.
+     */
+    private LispObject javaBacktrace(int limit)
+    {
+        StackTraceElement[] elements = getJavaStackTrace();
+        HashMap<String,LispObject> functions = functionsByClass();
+        LispObject result = NIL;
+        String previous = null;
+        int count = 0;
+        for (StackTraceElement element : elements) {
+            if (!element.getMethodName().equals("execute")) {
+                previous = null;
+                continue;
+            }
+            String className = element.getClassName();
+            // Arity dispatch calls execute() within the same class.
+            if (className.equals(previous))
+                continue;
+            previous = className;
+            LispObject function = functions.get(className);
+            if (function == null)
+                continue;
+            if (function == NIL)
+                result = result.push(new JavaStackFrame(element));
+            else
+                result = result.push(new LispStackFrame(function));
+            if (limit > 0 && ++count == limit)
+                break;
+        }
+        return result.nreverse();
+    }
+
     public void incrementCallCounts()
     {
         topStackSegment.stackPtr = stackPtr;
@@ -1137,9 +1638,17 @@ public final class LispThread extends LispObject
         return unreadableString(sb.toString());
     }
 
-    @DocString(name="make-thread", args="function &key name")
+    @DocString(name="make-thread", args="function &key name virtual bindings",
+    doc="Creates and starts a thread running FUNCTION.\n"
+        + "If VIRTUAL is true, the thread is a JVM virtual thread when\n"
+        + "the JVM supports them (Java 21 and later), and an ordinary\n"
+        + "thread otherwise.\n"
+        + "BINDINGS is a snapshot from CAPTURE-SPECIAL-BINDINGS whose\n"
+        + "bindings the thread starts with, or T for those of the\n"
+        + "calling thread.")
     private static final Primitive MAKE_THREAD =
-        new Primitive("make-thread", PACKAGE_THREADS, true, "function &key name")
+        new Primitive("make-thread", PACKAGE_THREADS, true,
+                      "function &key name virtual bindings")
     {
         @Override
         public LispObject execute(LispObject[] args)
@@ -1148,18 +1657,44 @@ public final class LispThread extends LispObject
             if (length == 0)
                 error(new WrongNumberOfArgumentsException(this, 1, -1));
             LispObject name = NIL;
+            boolean virtual = false;
+            SpecialBindingsSnapshot bindings = null;
             if (length > 1) {
                 if ((length - 1) % 2 != 0)
                     program_error("Odd number of keyword arguments.");
-                if (length > 3)
-                    error(new WrongNumberOfArgumentsException(this, -1, 2)); // don't count the keyword itself as an argument
-                if (args[1] == Keyword.NAME)
-                    name = args[2].STRING();
-                else
-                    program_error("Unrecognized keyword argument "
-                                  + args[1].princToString() + ".");
+                if (length > 7)
+                    error(new WrongNumberOfArgumentsException(this, -1, 4)); // don't count the keywords themselves as arguments
+                for (int i = 1; i < length; i += 2) {
+                    if (args[i] == Keyword.NAME)
+                        name = args[i + 1].STRING();
+                    else if (args[i] == Keyword.VIRTUAL)
+                        virtual = args[i + 1] != NIL;
+                    else if (args[i] == Keyword.BINDINGS)
+                        bindings = args[i + 1] == T
+                            ? currentThread().captureSpecialBindings()
+                            : args[i + 1] == NIL ? null
+                            : SpecialBindingsSnapshot.checkSnapshot(args[i + 1]);
+                    else
+                        program_error("Unrecognized keyword argument "
+                                      + args[i].princToString() + ".");
+                }
             }
-            return new LispThread(checkFunction(args[0]), name);
+            return new LispThread(checkFunction(args[0]), name, virtual,
+                                  bindings);
+        }
+    };
+
+    @DocString(name="thread-virtual-p", args="thread",
+    doc="Returns T if THREAD runs on a JVM virtual thread.")
+    private static final Primitive THREAD_VIRTUAL_P =
+        new Primitive("thread-virtual-p", PACKAGE_THREADS, true, "thread")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            if (!(arg instanceof LispThread))
+                return type_error(arg, Symbol.THREAD);
+            return ((LispThread) arg).isVirtual() ? T : NIL;
         }
     };
 
@@ -1396,6 +1931,65 @@ public final class LispThread extends LispObject
       }
     };
 
+    public static final Primitive STACK_FRAME_RECORDING
+      = new pf_stack_frame_recording();
+    @DocString(name="stack-frame-recording",
+               args="&optional thread",
+               doc="Returns how calls in THREAD, by default the current thread, are\n"
+               + "recorded for backtraces: :FULL keeps every frame with its arguments,\n"
+               + ":RING only the operators of the innermost frames, and :NONE nothing,\n"
+               + "backtraces then being reconstructed from the Java stack.\n"
+               + "If THREAD is T, returns the mode new threads start with.")
+    private static final class pf_stack_frame_recording extends Primitive {
+      pf_stack_frame_recording() {
+        super("stack-frame-recording", PACKAGE_SYS, true, "&optional thread");
+      }
+      @Override
+      public LispObject execute() {
+        return recordingKeyword(currentThread().frameRecording);
+      }
+      @Override
+      public LispObject execute(LispObject thread) {
+        if (thread == T)
+          return recordingKeyword(defaultFrameRecording);
+        return recordingKeyword(checkLispThread(thread).frameRecording);
+      }
+    };
+
+    public static final Primitive SET_STACK_FRAME_RECORDING
+      = new pf_set_stack_frame_recording();
+    @DocString(name="set-stack-frame-recording",
+               args="mode &optional thread",
+               doc="Sets the stack frame recording of THREAD, by default the current\n"
+               + "thread, to MODE, one of :FULL, :RING or :NONE.  If THREAD is T,\n"
+               + "sets the mode new threads start with.  Returns MODE.")
+    private static final class pf_set_stack_frame_recording extends Primitive {
+      pf_set_stack_frame_recording() {
+        super("set-stack-frame-recording", PACKAGE_SYS, true,
+              "mode &optional thread");
+      }
+      @Override
+      public LispObject execute(LispObject mode) {
+        return execute(mode, currentThread());
+      }
+      @Override
+      public LispObject execute(LispObject mode, LispObject thread) {
+        int recording = recordingMode(mode);
+        if (thread == T) {
+          defaultFrameRecording = recording;
+          return mode;
+        }
+        LispThread lispThread = checkLispThread(thread);
+        if (lispThread == currentThread() && recording != lispThread.frameRecording) {
+          // Frames left in the ring under a previous mode are stale.
+          lispThread.frameRing = null;
+          lispThread.frameRingDepths = null;
+        }
+        lispThread.frameRecording = recording;
+        return mode;
+      }
+    };
+
     public static final Primitive FRAME_TO_STRING
       = new pf_frame_to_string();
     @DocString(name="frame-to-string", 
@@ -0,0 +1,323 @@
+/*
+ * Mailbox.java
+ *
+ * $Id$
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ */
+package org.armedbear.lisp;
+
+import static org.armedbear.lisp.Lisp.*;
+
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/** A FIFO queue of messages between threads.
+ *
+ * Sending and receiving only use compare-and-swap operations unless
+ * a thread has to wait for a message or, in a mailbox created with a
+ * capacity, for room to send one.
+ */
+public final class Mailbox extends LispObject
+{
+    private final LinkedTransferQueue<LispObject> queue
+        = new LinkedTransferQueue<LispObject>();
+
+    /** One permit per free slot, or null if the mailbox is unbounded. */
+    private final Semaphore room;
+
+    Mailbox(int capacity)
+    {
+        room = (capacity < 0) ? null : new Semaphore(capacity);
+    }
+
+    @Override
+    public LispObject typeOf()
+    {
+        return Symbol.MAILBOX;
+    }
+
+    @Override
+    public LispObject classOf()
+    {
+        return BuiltInClass.MAILBOX;
+    }
+
+    @Override
+    public LispObject typep(LispObject typeSpecifier)
+    {
+        if (typeSpecifier == Symbol.MAILBOX)
+            return T;
+        if (typeSpecifier == BuiltInClass.MAILBOX)
+            return T;
+        return super.typep(typeSpecifier);
+    }
+
+    @Override
+    public String printObject()
+    {
+        return unreadableString("MAILBOX " + queue.size() + " messages");
+    }
+
+    /** Returns false if 'nanos' isn't negative and elapses before
+     * there is room for the message.
+     */
+    final boolean send(LispObject item, long nanos)
+    {
+        if (room != null) {
+            final long deadline = System.nanoTime() + nanos;
+            while (true) {
+                try {
+                    if (nanos < 0)
+                        room.acquire();
+                    else if (!room.tryAcquire(Math.max(deadline - System.nanoTime(), 0),
+                                              TimeUnit.NANOSECONDS))
+                        return false;
+                    break;
+                }
+                catch (InterruptedException e) {
+                    LispThread.currentThread().processThreadInterrupts();
+                }
+            }
+        }
+        queue.put(item);
+        return true;
+    }
+
+    /** Returns null if 'nanos' isn't negative and elapses before a
+     * message arrives.
+     */
+    final LispObject receive(long nanos)
+    {
+        final long deadline = System.nanoTime() + nanos;
+        LispObject item;
+        while (true) {
+            try {
+                if (nanos < 0)
+                    item = queue.take();
+                else
+                    item = queue.poll(Math.max(deadline - System.nanoTime(), 0),
+                                      TimeUnit.NANOSECONDS);
+                break;
+            }
+            catch (InterruptedException e) {
+                LispThread.currentThread().processThreadInterrupts();
+            }
+        }
+        if (item != null && room != null)
+            room.release();
+        return item;
+    }
+
+    final LispObject tryReceive()
+    {
+        LispObject item = queue.poll();
+        if (item != null && room != null)
+            room.release();
+        return item;
+    }
+
+    static final Mailbox checkMailbox(LispObject obj)
+    {
+        if (obj instanceof Mailbox)
+            return (Mailbox) obj;
+        return (Mailbox) type_error(obj, Symbol.MAILBOX);
+    }
+
+    @DocString(name="make-mailbox", args="&key capacity",
+    doc="Returns a mailbox to pass messages between threads in the order\n"
+        + "they were sent. If CAPACITY is given, MAILBOX-SEND waits when the\n"
+        + "mailbox holds that many messages.")
+    private static final Primitive MAKE_MAILBOX =
+        new Primitive("make-mailbox", PACKAGE_THREADS, true, "&key capacity")
+    {
+        @Override
+        public LispObject execute(LispObject[] args)
+        {
+            if (args.length % 2 != 0)
+                program_error("Odd number of keyword arguments.");
+            int capacity = -1;
+            for (int i = 0; i < args.length; i += 2) {
+                if (args[i] == Keyword.CAPACITY) {
+                    if (args[i + 1] != NIL) {
+                        capacity = Fixnum.getValue(args[i + 1]);
+                        if (capacity < 1)
+                            type_error(args[i + 1], list(Symbol.INTEGER, Fixnum.ONE));
+                    }
+                }
+                else
+                    program_error("Unrecognized keyword argument "
+                                  + args[i].princToString() + ".");
+            }
+            return new Mailbox(capacity);
+        }
+    };
+
+    @DocString(name="mailbox-p", args="object",
+    doc="Returns T if OBJECT is a mailbox.")
+    private static final Primitive MAILBOX_P =
+        new Primitive("mailbox-p", PACKAGE_THREADS, false, "object")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            return arg instanceof Mailbox ? T : NIL;
+        }
+    };
+
+    @DocString(name="mailbox-send", args="mailbox item &optional timeout",
+    doc="Sends ITEM into MAILBOX, waking up a thread waiting to read from it.\n"
+        + "If MAILBOX is full, waits for room, at most TIMEOUT seconds when\n"
+        + "given. Returns T if ITEM was sent, NIL if the timeout elapsed.")
+    private static final Primitive MAILBOX_SEND =
+        new Primitive("mailbox-send", PACKAGE_THREADS, true,
+                      "mailbox item &optional timeout")
+    {
+        @Override
+        public LispObject execute(LispObject mailbox, LispObject item)
+        {
+            return checkMailbox(mailbox).send(item, -1) ? T : NIL;
+        }
+
+        @Override
+        public LispObject execute(LispObject mailbox, LispObject item,
+                                  LispObject timeout)
+        {
+            return checkMailbox(mailbox)
+                .send(item, timeout == NIL ? -1 : Future.timeoutNanos(timeout))
+                ? T : NIL;
+        }
+    };
+
+    @DocString(name="mailbox-read", args="mailbox &optional timeout",
+    doc="Waits until an item is available in MAILBOX, at most TIMEOUT seconds\n"
+        + "when given, and removes it. Returns the item and T, or NIL and NIL\n"
+        + "if the timeout elapsed.")
+    private static final Primitive MAILBOX_READ =
+        new Primitive("mailbox-read", PACKAGE_THREADS, true,
+                      "mailbox &optional timeout")
+    {
+        @Override
+        public LispObject execute(LispObject mailbox)
+        {
+            return LispThread.currentThread()
+                .setValues(checkMailbox(mailbox).receive(-1), T);
+        }
+
+        @Override
+        public LispObject execute(LispObject mailbox, LispObject timeout)
+        {
+            LispObject item = checkMailbox(mailbox)
+                .receive(timeout == NIL ? -1 : Future.timeoutNanos(timeout));
+            return (item == null)
+                ? LispThread.currentThread().setValues(NIL, NIL)
+                : LispThread.currentThread().setValues(item, T);
+        }
+    };
+
+    @DocString(name="mailbox-try-read", args="mailbox",
+    doc="Removes the next item from MAILBOX without waiting. Returns the\n"
+        + "item and T, or NIL and NIL if MAILBOX is empty.")
+    private static final Primitive MAILBOX_TRY_READ =
+        new Primitive("mailbox-try-read", PACKAGE_THREADS, true, "mailbox")
+    {
+        @Override
+        public LispObject execute(LispObject mailbox)
+        {
+            LispObject item = checkMailbox(mailbox).tryReceive();
+            return (item == null)
+                ? LispThread.currentThread().setValues(NIL, NIL)
+                : LispThread.currentThread().setValues(item, T);
+        }
+    };
+
+    @DocString(name="mailbox-drain", args="mailbox &optional limit",
+    doc="Removes the items in MAILBOX, at most LIMIT when given, without\n"
+        + "waiting and returns them as a list in the order they were sent.")
+    private static final Primitive MAILBOX_DRAIN =
+        new Primitive("mailbox-drain", PACKAGE_THREADS, true,
+                      "mailbox &optional limit")
+    {
+        @Override
+        public LispObject execute(LispObject mailbox)
+        {
+            return drain(checkMailbox(mailbox), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public LispObject execute(LispObject mailbox, LispObject limit)
+        {
+            return drain(checkMailbox(mailbox),
+                         limit == NIL ? Integer.MAX_VALUE
+                                      : Fixnum.getValue(limit));
+        }
+
+        private LispObject drain(Mailbox mailbox, int limit)
+        {
+            LispObject result = NIL;
+            for (int i = 0; i < limit; i++) {
+                LispObject item = mailbox.tryReceive();
+                if (item == null)
+                    break;
+                result = new Cons(item, result);
+            }
+            return result.nreverse();
+        }
+    };
+
+    @DocString(name="mailbox-empty-p", args="mailbox",
+    doc="Returns non-NIL if MAILBOX holds no items, NIL otherwise.")
+    private static final Primitive MAILBOX_EMPTY_P =
+        new Primitive("mailbox-empty-p", PACKAGE_THREADS, true, "mailbox")
+    {
+        @Override
+        public LispObject execute(LispObject mailbox)
+        {
+            return checkMailbox(mailbox).queue.isEmpty() ? T : NIL;
+        }
+    };
+
+    @DocString(name="mailbox-peek", args="mailbox",
+    doc="Returns two values. The second returns non-NIL when the mailbox\n"
+        + "is empty. The first is the next item to be read from the mailbox.\n\n"
+        + "Note that due to multi-threading, the first value returned upon\n"
+        + "peek, may be different from the one returned upon next read in the\n"
+        + "calling thread.")
+    private static final Primitive MAILBOX_PEEK =
+        new Primitive("mailbox-peek", PACKAGE_THREADS, true, "mailbox")
+    {
+        @Override
+        public LispObject execute(LispObject mailbox)
+        {
+            LispObject item = checkMailbox(mailbox).queue.peek();
+            return (item == null)
+                ? LispThread.currentThread().setValues(NIL, T)
+                : LispThread.currentThread().setValues(item, NIL);
+        }
+    };
+}
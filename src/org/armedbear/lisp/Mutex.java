@@ -0,0 +1,304 @@
+/*
+ * Mutex.java
+ *
+ * $Id$
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ */
+package org.armedbear.lisp;
+
+import static org.armedbear.lisp.Lisp.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/** A recursive mutex; waiting for it can be interrupted by
+ * INTERRUPT-THREAD.
+ */
+public final class Mutex extends LispObject
+{
+    final ReentrantLock lock;
+    final LispObject name;
+    final Statistics statistics;
+
+    Mutex(LispObject name, boolean fair, boolean statistics)
+    {
+        lock = new ReentrantLock(fair);
+        this.name = name;
+        this.statistics = statistics ? new Statistics() : null;
+    }
+
+    /** Counts the acquisitions of a lock, the number of them which had
+     * to wait for another thread and the total time spent waiting.
+     */
+    static final class Statistics
+    {
+        final AtomicLong acquisitions = new AtomicLong();
+        final AtomicLong contended = new AtomicLong();
+        final AtomicLong waitNanos = new AtomicLong();
+
+        final void record(boolean acquired, long waited)
+        {
+            if (acquired)
+                acquisitions.incrementAndGet();
+            if (waited >= 0) {
+                contended.incrementAndGet();
+                waitNanos.addAndGet(waited);
+            }
+        }
+
+        final LispObject toList()
+        {
+            return list(Keyword.ACQUISITIONS,
+                        LispInteger.getInstance(acquisitions.get()),
+                        Keyword.CONTENDED,
+                        LispInteger.getInstance(contended.get()),
+                        Keyword.WAIT_TIME,
+                        new DoubleFloat(waitNanos.get() / 1.0e9));
+        }
+    }
+
+    /** Acquires 'lock', waiting at most 'nanos' unless it is negative.
+     * Thread interrupts are processed while waiting.
+     */
+    static boolean acquire(Lock lock, long nanos, Statistics statistics)
+    {
+        if (lock.tryLock()) {
+            if (statistics != null)
+                statistics.record(true, -1);
+            return true;
+        }
+        final long start = System.nanoTime();
+        boolean acquired = false;
+        try {
+            while (true) {
+                try {
+                    if (nanos < 0) {
+                        lock.lockInterruptibly();
+                        acquired = true;
+                    } else {
+                        long remaining = start + nanos - System.nanoTime();
+                        acquired = lock.tryLock(Math.max(remaining, 0),
+                                                TimeUnit.NANOSECONDS);
+                    }
+                    return acquired;
+                }
+                catch (InterruptedException e) {
+                    LispThread.currentThread().processThreadInterrupts();
+                }
+            }
+        }
+        finally {
+            if (statistics != null)
+                statistics.record(acquired, System.nanoTime() - start);
+        }
+    }
+
+    static LispObject release(Lock lock)
+    {
+        try {
+            lock.unlock();
+        }
+        catch (IllegalMonitorStateException e) {
+            return error(new IllegalMonitorState("The lock isn't held by the current thread."));
+        }
+        return NIL;
+    }
+
+    static long timeoutNanos(LispObject timeout)
+    {
+        return timeout == NIL ? -1 : Future.timeoutNanos(timeout);
+    }
+
+    @Override
+    public LispObject typeOf()
+    {
+        return Symbol.MUTEX;
+    }
+
+    @Override
+    public LispObject classOf()
+    {
+        return BuiltInClass.MUTEX;
+    }
+
+    @Override
+    public LispObject typep(LispObject typeSpecifier)
+    {
+        if (typeSpecifier == Symbol.MUTEX)
+            return T;
+        if (typeSpecifier == BuiltInClass.MUTEX)
+            return T;
+        return super.typep(typeSpecifier);
+    }
+
+    @Override
+    public String printObject()
+    {
+        StringBuilder sb = new StringBuilder("MUTEX");
+        if (name != NIL) {
+            sb.append(" \"");
+            sb.append(name.getStringValue());
+            sb.append("\"");
+        }
+        if (lock.isLocked())
+            sb.append(" locked");
+        return unreadableString(sb.toString());
+    }
+
+    static final Mutex checkMutex(LispObject obj)
+    {
+        if (obj instanceof Mutex)
+            return (Mutex) obj;
+        return (Mutex) type_error(obj, Symbol.MUTEX);
+    }
+
+    /** Parses the &key name fair statistics arguments shared by the
+     * lock constructors into 'options': the name, then T or NIL for
+     * the two flags.
+     */
+    static void parseLockOptions(LispObject[] args, LispObject[] options)
+    {
+        if (args.length % 2 != 0)
+            program_error("Odd number of keyword arguments.");
+        options[0] = NIL;
+        options[1] = NIL;
+        options[2] = NIL;
+        for (int i = 0; i < args.length; i += 2) {
+            if (args[i] == Keyword.NAME)
+                options[0] = args[i + 1] == NIL ? NIL : args[i + 1].STRING();
+            else if (args[i] == Keyword.FAIR)
+                options[1] = args[i + 1] == NIL ? NIL : T;
+            else if (args[i] == Keyword.STATISTICS)
+                options[2] = args[i + 1] == NIL ? NIL : T;
+            else
+                program_error("Unrecognized keyword argument "
+                              + args[i].princToString() + ".");
+        }
+    }
+
+    @DocString(name="make-mutex", args="&key name fair statistics",
+    doc="Returns a recursive mutex. A FAIR mutex is granted to the threads\n"
+        + "waiting for it in the order they started to wait. If STATISTICS\n"
+        + "is true, the mutex counts acquisitions and contention, as\n"
+        + "returned by LOCK-STATISTICS.")
+    private static final Primitive MAKE_MUTEX =
+        new Primitive("make-mutex", PACKAGE_THREADS, true,
+                      "&key name fair statistics")
+    {
+        @Override
+        public LispObject execute(LispObject[] args)
+        {
+            LispObject[] options = new LispObject[3];
+            parseLockOptions(args, options);
+            return new Mutex(options[0], options[1] != NIL, options[2] != NIL);
+        }
+    };
+
+    @DocString(name="mutex-p", args="object",
+    doc="Returns T if OBJECT is a mutex.")
+    private static final Primitive MUTEX_P =
+        new Primitive("mutex-p", PACKAGE_THREADS, false, "object")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            return arg instanceof Mutex ? T : NIL;
+        }
+    };
+
+    @DocString(name="get-mutex", args="mutex &optional timeout",
+    doc="Acquires a lock on MUTEX, waiting at most TIMEOUT seconds when given.\n"
+        + "Returns T if the lock was acquired, NIL if the timeout elapsed.\n"
+        + "A thread holding MUTEX may acquire it again; it has to release\n"
+        + "it as many times.")
+    private static final Primitive GET_MUTEX =
+        new Primitive("get-mutex", PACKAGE_THREADS, true,
+                      "mutex &optional timeout")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            Mutex mutex = checkMutex(arg);
+            return acquire(mutex.lock, -1, mutex.statistics) ? T : NIL;
+        }
+
+        @Override
+        public LispObject execute(LispObject arg, LispObject timeout)
+        {
+            Mutex mutex = checkMutex(arg);
+            return acquire(mutex.lock, timeoutNanos(timeout),
+                           mutex.statistics) ? T : NIL;
+        }
+    };
+
+    @DocString(name="release-mutex", args="mutex",
+    doc="Releases a lock on MUTEX held by the current thread.")
+    private static final Primitive RELEASE_MUTEX =
+        new Primitive("release-mutex", PACKAGE_THREADS, true, "mutex")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            return release(checkMutex(arg).lock);
+        }
+    };
+
+    @DocString(name="mutex-held-p", args="mutex",
+    doc="Returns T if the current thread holds a lock on MUTEX.")
+    private static final Primitive MUTEX_HELD_P =
+        new Primitive("mutex-held-p", PACKAGE_THREADS, true, "mutex")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            return checkMutex(arg).lock.isHeldByCurrentThread() ? T : NIL;
+        }
+    };
+
+    @DocString(name="lock-statistics", args="lock",
+    doc="Returns a property list with the number of :ACQUISITIONS of LOCK,\n"
+        + "a mutex or read-write lock, how many of those were :CONTENDED\n"
+        + "and the total :WAIT-TIME in seconds, or NIL if LOCK was created\n"
+        + "without statistics.")
+    private static final Primitive LOCK_STATISTICS =
+        new Primitive("lock-statistics", PACKAGE_THREADS, true, "lock")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            Statistics statistics;
+            if (arg instanceof ReadWriteLock)
+                statistics = ((ReadWriteLock) arg).statistics;
+            else
+                statistics = checkMutex(arg).statistics;
+            return statistics == null ? NIL : statistics.toList();
+        }
+    };
+}
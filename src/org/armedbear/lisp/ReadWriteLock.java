@@ -0,0 +1,195 @@
+/*
+ * ReadWriteLock.java
+ *
+ * $Id$
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ */
+package org.armedbear.lisp;
+
+import static org.armedbear.lisp.Lisp.*;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/** A lock which any number of threads can hold for reading, or a
+ * single thread for writing.
+ */
+public final class ReadWriteLock extends LispObject
+{
+    final ReentrantReadWriteLock lock;
+    final LispObject name;
+    final Mutex.Statistics statistics;
+
+    ReadWriteLock(LispObject name, boolean fair, boolean statistics)
+    {
+        lock = new ReentrantReadWriteLock(fair);
+        this.name = name;
+        this.statistics = statistics ? new Mutex.Statistics() : null;
+    }
+
+    @Override
+    public LispObject typeOf()
+    {
+        return Symbol.READ_WRITE_LOCK;
+    }
+
+    @Override
+    public LispObject classOf()
+    {
+        return BuiltInClass.READ_WRITE_LOCK;
+    }
+
+    @Override
+    public LispObject typep(LispObject typeSpecifier)
+    {
+        if (typeSpecifier == Symbol.READ_WRITE_LOCK)
+            return T;
+        if (typeSpecifier == BuiltInClass.READ_WRITE_LOCK)
+            return T;
+        return super.typep(typeSpecifier);
+    }
+
+    @Override
+    public String printObject()
+    {
+        StringBuilder sb = new StringBuilder("READ-WRITE-LOCK");
+        if (name != NIL) {
+            sb.append(" \"");
+            sb.append(name.getStringValue());
+            sb.append("\"");
+        }
+        if (lock.isWriteLocked())
+            sb.append(" write-locked");
+        else if (lock.getReadLockCount() > 0)
+            sb.append(" read-locked");
+        return unreadableString(sb.toString());
+    }
+
+    static final ReadWriteLock checkReadWriteLock(LispObject obj)
+    {
+        if (obj instanceof ReadWriteLock)
+            return (ReadWriteLock) obj;
+        return (ReadWriteLock) type_error(obj, Symbol.READ_WRITE_LOCK);
+    }
+
+    @DocString(name="make-read-write-lock", args="&key name fair statistics",
+    doc="Returns a lock which can be held for reading by any number of\n"
+        + "threads at once, or for writing by a single thread. Both kinds\n"
+        + "of locks are recursive, and a thread holding the write lock may\n"
+        + "also acquire the read lock. FAIR and STATISTICS are as for\n"
+        + "MAKE-MUTEX.")
+    private static final Primitive MAKE_READ_WRITE_LOCK =
+        new Primitive("make-read-write-lock", PACKAGE_THREADS, true,
+                      "&key name fair statistics")
+    {
+        @Override
+        public LispObject execute(LispObject[] args)
+        {
+            LispObject[] options = new LispObject[3];
+            Mutex.parseLockOptions(args, options);
+            return new ReadWriteLock(options[0], options[1] != NIL,
+                                     options[2] != NIL);
+        }
+    };
+
+    @DocString(name="get-read-lock", args="lock &optional timeout",
+    doc="Acquires LOCK for reading, waiting at most TIMEOUT seconds when\n"
+        + "given. Returns T if the lock was acquired, NIL if the timeout\n"
+        + "elapsed.")
+    private static final Primitive GET_READ_LOCK =
+        new Primitive("get-read-lock", PACKAGE_THREADS, true,
+                      "lock &optional timeout")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            ReadWriteLock lock = checkReadWriteLock(arg);
+            return Mutex.acquire(lock.lock.readLock(), -1, lock.statistics)
+                ? T : NIL;
+        }
+
+        @Override
+        public LispObject execute(LispObject arg, LispObject timeout)
+        {
+            ReadWriteLock lock = checkReadWriteLock(arg);
+            return Mutex.acquire(lock.lock.readLock(),
+                                 Mutex.timeoutNanos(timeout), lock.statistics)
+                ? T : NIL;
+        }
+    };
+
+    @DocString(name="release-read-lock", args="lock",
+    doc="Releases LOCK, held for reading by the current thread.")
+    private static final Primitive RELEASE_READ_LOCK =
+        new Primitive("release-read-lock", PACKAGE_THREADS, true, "lock")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            return Mutex.release(checkReadWriteLock(arg).lock.readLock());
+        }
+    };
+
+    @DocString(name="get-write-lock", args="lock &optional timeout",
+    doc="Acquires LOCK for writing, waiting at most TIMEOUT seconds when\n"
+        + "given. Returns T if the lock was acquired, NIL if the timeout\n"
+        + "elapsed. A thread holding LOCK for reading only can't acquire\n"
+        + "it for writing.")
+    private static final Primitive GET_WRITE_LOCK =
+        new Primitive("get-write-lock", PACKAGE_THREADS, true,
+                      "lock &optional timeout")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            ReadWriteLock lock = checkReadWriteLock(arg);
+            return Mutex.acquire(lock.lock.writeLock(), -1, lock.statistics)
+                ? T : NIL;
+        }
+
+        @Override
+        public LispObject execute(LispObject arg, LispObject timeout)
+        {
+            ReadWriteLock lock = checkReadWriteLock(arg);
+            return Mutex.acquire(lock.lock.writeLock(),
+                                 Mutex.timeoutNanos(timeout), lock.statistics)
+                ? T : NIL;
+        }
+    };
+
+    @DocString(name="release-write-lock", args="lock",
+    doc="Releases LOCK, held for writing by the current thread.")
+    private static final Primitive RELEASE_WRITE_LOCK =
+        new Primitive("release-write-lock", PACKAGE_THREADS, true, "lock")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            return Mutex.release(checkReadWriteLock(arg).lock.writeLock());
+        }
+    };
+}
@@ -37,7 +37,7 @@ public final class Return extends ControlTransfer
 {
     public final LispObject tag;
     public final LispObject block;
-    public final LispObject result;
+    public LispObject result;
 
     public Return(LispObject tag, LispObject block, LispObject result)
     {
@@ -33,21 +33,47 @@
 
 package org.armedbear.lisp;
 
-import static org.armedbear.lisp.Lisp.*;
-
 import java.io.Writer;
-import java.text.MessageFormat;
+import java.util.Arrays;
 
+/** A writer into a plain character array that can be repositioned.
+ *
+ * Unlike StringWriter, no locking is done: like the streams using it,
+ * an instance is meant to be used by one thread at a time.
+ */
 public final class SeekableStringWriter extends Writer {
-    private final StringBuffer stringBuffer;
+    private static final char[] NO_CHARS = new char[0];
+
+    /** The largest buffer kept in a thread's pool: bigger ones are
+     * left to the garbage collector rather than pinned by the thread. */
+    private static final int MAX_POOLED_LENGTH = 64 * 1024;
+
+    private char[] chars;
+    private int count = 0;
     private int offset = 0;
+    private boolean pooled = false;
 
     public SeekableStringWriter() {
-        stringBuffer = new StringBuffer();
+        this(16);
     }
 
     public SeekableStringWriter(int initialSize) {
-        stringBuffer = new StringBuffer(initialSize);
+        chars = new char[initialSize];
+    }
+
+    /** Returns a writer using the current thread's spare buffer, if it
+     * has one.  The buffer goes back to the thread's pool on close(),
+     * so the writer must not be used after that. */
+    static SeekableStringWriter pooled() {
+        SeekableStringWriter writer;
+        char[] buffer = LispThread.currentThread().takeStringOutputBuffer();
+        if (buffer != null) {
+            writer = new SeekableStringWriter(0);
+            writer.chars = buffer;
+        } else
+            writer = new SeekableStringWriter(256);
+        writer.pooled = true;
+        return writer;
     }
 
     public SeekableStringWriter append(char c) {
@@ -82,15 +108,11 @@ public final class SeekableStringWriter extends Writer {
 
     @Override
     public void write(int c) {
-      try {
-        if (offset == stringBuffer.length())
-            stringBuffer.append((char) c);
-        else
-            stringBuffer.setCharAt(offset, (char) c);
-        ++offset;
-      } catch (IndexOutOfBoundsException e) {
-        error(new JavaException(e));
-      }
+        if (offset == chars.length)
+            grow(offset + 1);
+        chars[offset++] = (char) c;
+        if (offset > count)
+            count = offset;
     }
 
     @Override
@@ -100,32 +122,45 @@ public final class SeekableStringWriter extends Writer {
 
     @Override
     public void write(String str, int off, int len) {
-        write(str.toCharArray(), off, len);
-    }
+        int strLen = str.length();
 
-    private void _write(char[] cbuf, int off, int len) {
-        int strLen = stringBuffer.length();
-        int space = strLen - offset;
+        if (off < 0 || off > strLen || len < 0 || off + len > strLen)
+            throw new IllegalArgumentException();
 
-        int written = Math.min(len, space);
+        int end = offset + len;
+        if (end > chars.length)
+            grow(end);
+        str.getChars(off, off + len, chars, offset);
+        advance(end);
+    }
 
-        if (written > 0)
-            stringBuffer.replace(offset, offset + written, new String(cbuf, off, written));
+    private void _write(char[] cbuf, int off, int len) {
+        int end = offset + len;
+        if (end > chars.length)
+            grow(end);
+        System.arraycopy(cbuf, off, chars, offset, len);
+        advance(end);
+    }
 
-        if (written < len)
-            stringBuffer.append(cbuf, off + written, len - written);
+    private void advance(int end) {
+        offset = end;
+        if (end > count)
+            count = end;
+    }
 
-        offset += len;
+    private void grow(int minLength) {
+        int length = Math.max(Math.max(chars.length * 2, 16), minLength);
+        chars = Arrays.copyOf(chars, length);
     }
 
     public void seek(int offset) {
-        if (offset < 0 || offset > stringBuffer.length())
+        if (offset < 0 || offset > count)
             throw new IllegalArgumentException();
         this.offset = offset;
     }
 
-    public StringBuffer getBuffer() {
-        return stringBuffer;
+    public int length() {
+        return count;
     }
 
     public int getOffset() {
@@ -134,20 +169,42 @@ public final class SeekableStringWriter extends Writer {
 
     @Override
     public String toString() {
-        return stringBuffer.toString();
+        return new String(chars, 0, count);
     }
 
     @Override
-    public void close() {}
+    public void close() {
+        if (pooled) {
+            pooled = false;
+            if (chars.length <= MAX_POOLED_LENGTH)
+                LispThread.currentThread().giveStringOutputBuffer(chars);
+            chars = NO_CHARS;
+            count = offset = 0;
+        }
+    }
 
     @Override
     public void flush() {}
 
   public String toStringAndClear() {
-    String result = stringBuffer.toString();
-    stringBuffer.delete(0, stringBuffer.length());
-    offset = 0;
+    String result = toString();
+    count = offset = 0;
+    return result;
+  }
+
+  /** Returns the contents as a simple string and empties the writer.
+   *
+   * When the contents fill the buffer exactly and the buffer isn't
+   * pooled, the string takes the buffer over instead of copying it.
+   */
+  public SimpleString toSimpleStringAndClear() {
+    SimpleString result;
+    if (count == chars.length && !pooled) {
+      result = new SimpleString(chars);
+      chars = NO_CHARS;
+    } else
+      result = new SimpleString(Arrays.copyOf(chars, count));
+    count = offset = 0;
     return result;
   }
-    
 }
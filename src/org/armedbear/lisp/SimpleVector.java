@@ -214,6 +214,15 @@ public final class SimpleVector extends AbstractVector
       }
   }
 
+  @Override
+  public LispObject casSvref(int index, LispObject expected,
+                             LispObject newValue)
+  {
+    if (index < 0 || index >= capacity)
+      badIndex(index, capacity);
+    return Atomics.CAS.compareAndSwap(data, index, expected, newValue);
+  }
+
   @Override
   public LispObject subseq(int start, int end)
   {
@@ -0,0 +1,152 @@
+/*
+ * SpecialBindingsSnapshot.java
+ *
+ * $Id$
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ */
+package org.armedbear.lisp;
+
+import static org.armedbear.lisp.Lisp.*;
+
+import java.lang.ref.WeakReference;
+
+/** An immutable copy of the special bindings visible in a thread,
+ * for new threads and thread pool tasks to start with.
+ *
+ * Both arrays are indexed by special index, like LispThread.specials;
+ * holding on to the symbols keeps their indices from being reassigned.
+ */
+public final class SpecialBindingsSnapshot extends LispObject
+{
+    private final Symbol[] names;
+    private final LispObject[] values;
+
+    SpecialBindingsSnapshot(SpecialBinding[] specials,
+                            SpecialBindingsSnapshot inherited)
+    {
+        int length = specials.length;
+        if (inherited != null && inherited.values.length > length)
+            length = inherited.values.length;
+        names = new Symbol[length];
+        values = new LispObject[length];
+        for (int i = 1; i < length; i++) {
+            LispObject value;
+            if (i < specials.length && specials[i] != null)
+                value = specials[i].value;
+            else if (inherited != null)
+                value = inherited.valueAt(i);
+            else
+                continue;
+            if (value == null)
+                continue;
+            WeakReference<Symbol> ref = LispThread.specialNames.get(i);
+            Symbol name = ref == null ? null : ref.get();
+            if (name != null && name.specialIndex == i) {
+                names[i] = name;
+                values[i] = value;
+            }
+        }
+    }
+
+    /** Returns the value bound to the symbol with special index 'idx',
+     * or null if the snapshot has no binding for it.
+     */
+    final LispObject valueAt(int idx)
+    {
+        if (idx >= values.length)
+            return null;
+        Symbol name = names[idx];
+        return name != null && name.specialIndex == idx ? values[idx] : null;
+    }
+
+    static final SpecialBindingsSnapshot checkSnapshot(LispObject obj)
+    {
+        if (obj instanceof SpecialBindingsSnapshot)
+            return (SpecialBindingsSnapshot) obj;
+        return (SpecialBindingsSnapshot)
+            type_error(obj, Symbol.SPECIAL_BINDINGS_SNAPSHOT);
+    }
+
+    @Override
+    public LispObject typeOf()
+    {
+        return Symbol.SPECIAL_BINDINGS_SNAPSHOT;
+    }
+
+    @Override
+    public LispObject classOf()
+    {
+        return BuiltInClass.SPECIAL_BINDINGS_SNAPSHOT;
+    }
+
+    @Override
+    public LispObject typep(LispObject typeSpecifier)
+    {
+        if (typeSpecifier == Symbol.SPECIAL_BINDINGS_SNAPSHOT)
+            return T;
+        if (typeSpecifier == BuiltInClass.SPECIAL_BINDINGS_SNAPSHOT)
+            return T;
+        return super.typep(typeSpecifier);
+    }
+
+    @Override
+    public String printObject()
+    {
+        return unreadableString("SPECIAL-BINDINGS-SNAPSHOT");
+    }
+
+    @DocString(name="capture-special-bindings",
+    doc="Returns a snapshot of the values of the special variables bound\n"
+        + "in the current thread, for MAKE-THREAD or\n"
+        + "CALL-WITH-SPECIAL-BINDINGS to install.")
+    private static final Primitive CAPTURE_SPECIAL_BINDINGS =
+        new Primitive("capture-special-bindings", PACKAGE_THREADS, true, "")
+    {
+        @Override
+        public LispObject execute()
+        {
+            return LispThread.currentThread().captureSpecialBindings();
+        }
+    };
+
+    @DocString(name="call-with-special-bindings", args="snapshot function",
+    doc="Calls FUNCTION with the special bindings of SNAPSHOT in place of\n"
+        + "those of the current thread. Changes made to the variables by\n"
+        + "FUNCTION don't affect SNAPSHOT.")
+    private static final Primitive CALL_WITH_SPECIAL_BINDINGS =
+        new Primitive("call-with-special-bindings", PACKAGE_THREADS, true,
+                      "snapshot function")
+    {
+        @Override
+        public LispObject execute(LispObject snapshot, LispObject function)
+        {
+            return LispThread.currentThread()
+                .callWithSpecialBindings(checkSnapshot(snapshot), function);
+        }
+    };
+}
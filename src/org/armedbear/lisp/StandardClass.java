@@ -652,6 +652,7 @@ public class StandardClass extends SlotClass
            new SlotDefinition(Symbol._FUNCTION, NIL, constantlyNil,
                               list(internKeyword("FUNCTION"))),
            new SlotDefinition(Symbol.FAST_FUNCTION, NIL, constantlyNil),
+           new SlotDefinition(Symbol.FAST_CNM_FUNCTION, NIL, constantlyNil),
            new SlotDefinition(Symbol._DOCUMENTATION, NIL, constantlyNil,
                               list(internKeyword("DOCUMENTATION")))));
     PACKAGE_ERROR.setCPL(PACKAGE_ERROR, ERROR, SERIOUS_CONDITION, CONDITION,
@@ -48,6 +48,7 @@ import java.io.StringWriter;
 import java.io.Writer;
 import java.math.BigInteger;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.BitSet;
 
 import java.util.List;
@@ -56,6 +57,7 @@ import java.util.SortedMap;
 import java.util.Set;
 
 import org.armedbear.lisp.util.DecodingReader;
+import org.armedbear.lisp.util.LineReader;
 
 /** The stream class
  *
@@ -95,6 +97,18 @@ public class Stream extends StructureObject {
         LF
     }
 
+    /** When output is passed on from the writer or output stream of
+     * a Stream to the underlying device.  FULL buffers output until
+     * the buffer fills up or it's flushed by FINISH-OUTPUT or
+     * FORCE-OUTPUT, LINE also flushes at every newline and NONE after
+     * every write.
+     */
+    public enum Buffering {
+        FULL,
+        LINE,
+        NONE
+    }
+
     static final protected Symbol keywordDefault = internKeyword("DEFAULT");
 
     static final private Symbol keywordCodePage = internKeyword("CODE-PAGE");
@@ -109,6 +123,7 @@ public class Stream extends StructureObject {
     public final static EolStyle platformEolStyle = Utilities.isPlatformWindows ? EolStyle.CRLF : EolStyle.LF;
 
     protected EolStyle eolStyle = platformEolStyle;
+    protected Buffering buffering = Buffering.LINE;
     protected char eolChar = (eolStyle == EolStyle.CR) ? '\r' : '\n';
     protected LispObject externalFormat = keywordDefault;
     protected String encoding = null;
@@ -269,6 +284,27 @@ public class Stream extends StructureObject {
         return externalFormat;
     }
 
+    public Buffering getBuffering() {
+        return buffering;
+    }
+
+    public void setBuffering(Buffering buffering) {
+        this.buffering = buffering;
+    }
+
+    static Buffering checkBuffering(LispObject mode) {
+        if (mode == Keyword.FULL)
+            return Buffering.FULL;
+        if (mode == Keyword.LINE)
+            return Buffering.LINE;
+        if (mode == Keyword.NONE)
+            return Buffering.NONE;
+        type_error(mode, list(Symbol.MEMBER, Keyword.FULL, Keyword.LINE,
+                              Keyword.NONE));
+        // Not reached.
+        return null;
+    }
+
     public String getEncoding() {
         return encoding;
     }
@@ -373,6 +409,46 @@ public class Stream extends StructureObject {
     }
   };
 
+  public static final Primitive STREAM_BUFFERING = new pf_stream_buffering();
+  @DocString(
+    name="stream-buffering",
+    args="stream",
+    doc="Returns when output to STREAM is passed on to the underlying device:\n"
+    + ":FULL when its buffer is full, :LINE also at every newline and :NONE\n"
+    + "after every write.  FINISH-OUTPUT and FORCE-OUTPUT always do."
+  )
+  private static final class pf_stream_buffering extends Primitive {
+    pf_stream_buffering() {
+      super("stream-buffering", PACKAGE_EXT, true, "stream");
+    }
+    public LispObject execute(LispObject arg) {
+      switch (checkStream(arg).getBuffering()) {
+      case FULL:
+        return Keyword.FULL;
+      case NONE:
+        return Keyword.NONE;
+      default:
+        return Keyword.LINE;
+      }
+    }
+  }
+
+  // DEFSETF-ed in 'setf.lisp'
+  public static final Primitive SET_STREAM_BUFFERING = new pf__set_stream_buffering();
+  @DocString(
+    name="%set-stream-buffering",
+    args="stream buffering"
+  )
+  private static final class pf__set_stream_buffering extends Primitive {
+    pf__set_stream_buffering() {
+        super("%set-stream-buffering", PACKAGE_SYS, false, "stream buffering");
+    }
+    public LispObject execute(LispObject stream, LispObject buffering) {
+      checkStream(stream).setBuffering(checkBuffering(buffering));
+      return buffering;
+    }
+  };
+
   public static final Primitive AVAILABLE_ENCODINGS = new pf_available_encodings();
   @DocString(name="available-encodings",
              returns="encodings",
@@ -1568,6 +1644,8 @@ public class Stream extends StructureObject {
 
     {
         final LispThread thread = LispThread.currentThread();
+        if (reader instanceof LineReader && eolStyle != EolStyle.CR)
+            return readLineFromReader(thread, eofError, eofValue);
         StringBuilder sb = new StringBuilder();
         try {
             while (true) {
@@ -1583,13 +1661,58 @@ public class Stream extends StructureObject {
                 if (n == '\n')
                     return thread.setValues(new SimpleString(sb), NIL);
                 else
-                    sb.append((char)n); // ### BUG: Codepoint conversion
+                    sb.appendCodePoint(n);
             }
         } catch (IOException e) {
             return error(new StreamError(this, e));
         }
     }
 
+    /** Reads a line through LineReader.readLine(), which leaves
+     * the characters in one array instead of passing them through
+     * _readChar() one at a time
+     */
+    private LispObject readLineFromReader(LispThread thread, boolean eofError,
+                                          LispObject eofValue)
+    {
+        char[] chars = new char[256];
+        int length = 0;
+        boolean newline = false;
+        try {
+            while (true) {
+                if (length == chars.length)
+                    chars = Arrays.copyOf(chars, length * 2);
+                int n = ((LineReader)reader).readLine(chars, length,
+                                                      chars.length - length);
+                if (n < 0) {
+                    pastEnd = true;
+                    break;
+                }
+                offset += n;
+                length += n;
+                if (chars[length - 1] == '\n') {
+                    newline = true;
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            return error(new StreamError(this, e));
+        }
+        if (newline) {
+            ++lineNumber;
+            --length;
+            if (eolStyle == EolStyle.CRLF && length > 0
+                && chars[length - 1] == '\r')
+                --length;
+        } else if (length == 0) {
+            if (eofError)
+                return error(new EndOfFile(this));
+            return thread.setValues(eofValue, T);
+        }
+        return thread.setValues(new SimpleString(Arrays.copyOf(chars, length)),
+                                newline ? NIL : T);
+    }
+
     // read-char &optional stream eof-error-p eof-value recursive-p => char
     // recursive-p is ignored
     public LispObject readChar() {
@@ -1806,6 +1929,122 @@ public class Stream extends StructureObject {
         return n;
     }
 
+    /** Reads characters into chars, from start up to end, with the
+     * same end-of-line translation as _readChar()
+     *
+     * Stops early only at end of file.
+     *
+     * @return the index after the last character read
+     */
+    public int readChars(char[] chars, int start, int end) throws IOException {
+        if (reader == null) {
+            // _readChar() is overridden, or this is no character
+            // input stream, in which case it signals an error.
+            for (int i = start; i < end; i++) {
+                int n = _readChar();
+                if (n < 0)
+                    return i;
+                chars[i] = (char) n;
+            }
+            return end;
+        }
+        // CRLF sequences shrink when translated: read them apart, so
+        // that nothing past the characters returned is overwritten.
+        char[] raw = (eolStyle == EolStyle.CRLF)
+            ? new char[Math.min(end - start, BULK_BUFFER_SIZE)]
+            : chars;
+        int pos = start;
+        while (pos < end) {
+            int rawStart = (raw == chars) ? pos : 0;
+            int count = reader.read(raw, rawStart,
+                                    Math.min(end - pos, raw.length - rawStart));
+            if (count < 0) {
+                pastEnd = true;
+                break;
+            }
+            offset += count;
+            // Translate end-of-line sequences.
+            int limit = rawStart + count;
+            int to = pos;
+            for (int from = rawStart; from < limit; from++) {
+                char c = raw[from];
+                if (c == '\r' && eolStyle == EolStyle.CRLF) {
+                    int next;
+                    if (from + 1 < limit)
+                        next = raw[from + 1];
+                    else if ((next = reader.read()) >= 0) {
+                        ++offset;
+                        if (next != '\n') {
+                            reader.unread(next);
+                            --offset;
+                        }
+                    }
+                    if (next == '\n') {
+                        if (from + 1 < limit)
+                            from++;
+                        ++lineNumber;
+                        c = '\n';
+                    }
+                } else if (c == eolChar) {
+                    ++lineNumber;
+                    c = '\n';
+                }
+                chars[to++] = c;
+            }
+            pos = to;
+        }
+        return pos;
+    }
+
+    /** Reads bytes into bytes, from start up to end
+     *
+     * Stops early only at end of file.
+     *
+     * @return the index after the last byte read
+     */
+    public int readBytes(byte[] bytes, int start, int end) {
+        if (in == null) {
+            for (int i = start; i < end; i++) {
+                int n = _readByte();
+                if (n < 0)
+                    return i;
+                bytes[i] = (byte) n;
+            }
+            return end;
+        }
+        int pos = start;
+        try {
+            while (pos < end) {
+                int count = in.read(bytes, pos, end - pos);
+                if (count <= 0) {
+                    pastEnd = true;
+                    break;
+                }
+                pos += count;
+            }
+        } catch (IOException e) {
+            return ierror(new StreamError(this, e));
+        }
+        return pos;
+    }
+
+    /** Writes bytes, from start up to end, to the underlying stream
+     */
+    public void writeBytes(byte[] bytes, int start, int end) {
+        if (out == null) {
+            for (int i = start; i < end; i++)
+                _writeByte(bytes[i] & 0xff);
+            return;
+        }
+        try {
+            out.write(bytes, start, end - start);
+            if (buffering == Buffering.NONE)
+                out.flush();
+        } catch (IOException e) {
+            error(new StreamError(this, e));
+        }
+    }
+
     /** Puts a character back into the (underlying) stream
      *
      * @param n
@@ -1854,12 +2093,15 @@ public class Stream extends StructureObject {
 
                 writer.write(eolChar);
                 lastChar = eolChar;
-                writer.flush();
+                if (buffering != Buffering.FULL)
+                    writer.flush();
                 charPos = 0;
             } else {
                 writer.write(c);
                 lastChar = c;
                 ++charPos;
+                if (buffering == Buffering.NONE)
+                    writer.flush();
             }
         } catch (NullPointerException e) {
             // writer is null
@@ -1880,31 +2122,51 @@ public class Stream extends StructureObject {
 
     {
         try {
-            if (eolStyle != EolStyle.RAW) {
-                for (int i = start; i < end; i++)
-                    //###FIXME: the number of writes can be greatly reduced by
-                    // writing the space between newlines as chunks.
-                    _writeChar(chars[i]);
-                return;
-            }
-
-            writer.write(chars, start, end - start);
-            if (start < end)
-                lastChar = chars[end-1];
-
             int index = -1;
-            for (int i = end; i-- > start;) {
-                if (chars[i] == '\n') {
+            if (eolStyle == EolStyle.RAW || eolStyle == EolStyle.LF) {
+                // Newlines need no translation.
+                writer.write(chars, start, end - start);
+                if (start < end)
+                    lastChar = chars[end-1];
+
+                for (int i = end; i-- > start;) {
+                    if (chars[i] == '\n') {
+                        index = i;
+                        break;
+                    }
+                }
+            } else {
+                // Write the runs between newlines in one go each,
+                // with the end-of-line sequence in between.
+                int runStart = start;
+                for (int i = start; i < end; i++) {
+                    if (chars[i] != '\n')
+                        continue;
+                    if (i > runStart) {
+                        writer.write(chars, runStart, i - runStart);
+                        lastChar = chars[i-1];
+                    }
+                    if (eolStyle == EolStyle.CRLF && lastChar != '\r')
+                        writer.write('\r');
+                    writer.write(eolChar);
+                    lastChar = eolChar;
+                    runStart = i + 1;
                     index = i;
-                    break;
+                }
+                if (runStart < end) {
+                    writer.write(chars, runStart, end - runStart);
+                    lastChar = chars[end-1];
                 }
             }
             if (index < 0) {
                 // No newline.
                 charPos += (end - start);
+                if (buffering == Buffering.NONE)
+                    writer.flush();
             } else {
                 charPos = end - (index + 1);
-                writer.flush();
+                if (buffering != Buffering.FULL)
+                    writer.flush();
             }
         } catch (NullPointerException e) {
             if (writer == null)
@@ -1972,6 +2234,8 @@ public class Stream extends StructureObject {
     public void _writeByte(int n) {
         try {
             out.write(n); // Writes an 8-bit byte.
+            if (buffering == Buffering.NONE)
+                out.flush();
         } catch (NullPointerException e) {
             // out is null
             streamNotBinaryOutputStream();
@@ -2561,6 +2825,11 @@ public class Stream extends StructureObject {
         }
     };
 
+    /** Chunk size of the bulk sequence transfers for vectors whose
+     * storage can't be handed to the stream directly
+     */
+    private static final int BULK_BUFFER_SIZE = 8192;
+
     // ### write-vector-unsigned-byte-8
     private static final Primitive WRITE_VECTOR_UNSIGNED_BYTE_8 =
         new Primitive("write-vector-unsigned-byte-8", PACKAGE_SYS, true,
@@ -2574,8 +2843,25 @@ public class Stream extends StructureObject {
             final Stream stream = checkStream(second);
             int start = Fixnum.getValue(third);
             int end = Fixnum.getValue(fourth);
-            for (int i = start; i < end; i++)
-                stream._writeByte(v.aref(i));
+            checkBounds(start, end, v.length());
+            if (v instanceof BasicVector_UnsignedByte8) {
+                stream.writeBytes(((BasicVector_UnsignedByte8)v).elements(),
+                                  start, end);
+                return v;
+            }
+            final boolean ub8 = v.getElementType().equal(UNSIGNED_BYTE_8);
+            byte[] buffer = new byte[Math.min(end - start, BULK_BUFFER_SIZE)];
+            while (start < end) {
+                int count = Math.min(end - start, buffer.length);
+                for (int i = 0; i < count; i++) {
+                    int n = v.aref(start + i);
+                    if (!ub8 && (n & ~0xff) != 0)
+                        return type_error(v.AREF(start + i), UNSIGNED_BYTE_8);
+                    buffer[i] = (byte) n;
+                }
+                stream.writeBytes(buffer, 0, count);
+                start += count;
+            }
             return v;
         }
     };
@@ -2593,18 +2879,146 @@ public class Stream extends StructureObject {
             Stream stream = checkBinaryInputStream(second);
             int start = Fixnum.getValue(third);
             int end = Fixnum.getValue(fourth);
-            if (!v.getElementType().equal(UNSIGNED_BYTE_8))
-                return type_error(first, list(Symbol.VECTOR,
-                                              UNSIGNED_BYTE_8));
-            for (int i = start; i < end; i++) {
-                int n = stream._readByte();
-                if (n < 0) {
+            checkBounds(start, end, v.length());
+            if (v instanceof BasicVector_UnsignedByte8)
+                return Fixnum.getInstance(stream.readBytes(((BasicVector_UnsignedByte8)v).elements(),
+                                                           start, end));
+            byte[] buffer = new byte[Math.min(end - start, BULK_BUFFER_SIZE)];
+            while (start < end) {
+                int count = Math.min(end - start, buffer.length);
+                int n = stream.readBytes(buffer, 0, count);
+                for (int i = 0; i < n; i++)
+                    v.aset(start + i, buffer[i] & 0xff);
+                start += n;
+                if (n < count)
                     // End of file.
-                    return Fixnum.getInstance(i);
+                    break;
+            }
+            return Fixnum.getInstance(start);
+        }
+    };
+
+    // ### read-vector-character string stream start end => position
+    private static final Primitive READ_VECTOR_CHARACTER =
+        new Primitive("read-vector-character", PACKAGE_SYS, true,
+    "string stream start end") {
+        @Override
+        public LispObject execute(LispObject first, LispObject second,
+                                  LispObject third, LispObject fourth)
+
+        {
+            AbstractString s = checkString(first);
+            Stream stream = checkCharacterInputStream(second);
+            int start = Fixnum.getValue(third);
+            int end = Fixnum.getValue(fourth);
+            checkBounds(start, end, s.length());
+            try {
+                if (s instanceof SimpleString)
+                    return Fixnum.getInstance(stream.readChars(s.chars(),
+                                                               start, end));
+                char[] buffer = new char[Math.min(end - start, BULK_BUFFER_SIZE)];
+                while (start < end) {
+                    int count = Math.min(end - start, buffer.length);
+                    int n = stream.readChars(buffer, 0, count);
+                    for (int i = 0; i < n; i++)
+                        s.setCharAt(start + i, buffer[i]);
+                    start += n;
+                    if (n < count)
+                        // End of file.
+                        break;
                 }
-                v.aset(i, n);
+            } catch (IOException e) {
+                return error(new StreamError(stream, e));
+            }
+            return Fixnum.getInstance(start);
+        }
+    };
+
+    /** Copies up to limit characters from in to out, or all of them
+     * when limit is negative, in chunks of BULK_BUFFER_SIZE
+     */
+    static long copyChars(Stream in, Stream out, long limit)
+    {
+        char[] buffer = new char[BULK_BUFFER_SIZE];
+        long total = 0;
+        try {
+            while (limit < 0 || total < limit) {
+                int want = (limit < 0) ? buffer.length
+                    : (int) Math.min(buffer.length, limit - total);
+                int n = in.readChars(buffer, 0, want);
+                if (n > 0)
+                    out._writeChars(buffer, 0, n);
+                total += n;
+                if (n < want)
+                    break;
+            }
+        } catch (IOException e) {
+            error(new StreamError(in, e));
+        }
+        return total;
+    }
+
+    /** Copies up to limit bytes from in to out, or all of them when
+     * limit is negative
+     */
+    static long copyBytes(Stream in, Stream out, long limit)
+    {
+        if (in instanceof FileStream && out instanceof FileStream)
+            return ((FileStream)in).transferTo((FileStream)out,
+                                               limit < 0 ? Long.MAX_VALUE : limit);
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long total = 0;
+        while (limit < 0 || total < limit) {
+            int want = (limit < 0) ? buffer.length
+                : (int) Math.min(buffer.length, limit - total);
+            int n = in.readBytes(buffer, 0, want);
+            if (n > 0)
+                out.writeBytes(buffer, 0, n);
+            total += n;
+            if (n < want)
+                break;
+        }
+        return total;
+    }
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    // ### copy-stream input output &optional limit => count
+    @DocString(name="copy-stream", args="input output &optional limit",
+    doc="Copies the contents of INPUT to OUTPUT, at most LIMIT elements\n"
+        + "when LIMIT is given, and returns the number of elements copied.\n"
+        + "Both streams must be character streams, or both binary streams, in\n"
+        + "which case octets are copied; between two file streams, the\n"
+        + "operating system copies them directly.")
+    private static final Primitive COPY_STREAM =
+        new Primitive("copy-stream", PACKAGE_EXT, true,
+                      "input output &optional limit") {
+        @Override
+        public LispObject execute(LispObject first, LispObject second)
+        {
+            return execute(first, second, NIL);
+        }
+
+        @Override
+        public LispObject execute(LispObject first, LispObject second,
+                                  LispObject third)
+        {
+            Stream in = checkStream(first);
+            long limit = -1;
+            if (third != NIL) {
+                limit = third.longValue();
+                if (limit < 0)
+                    return type_error(third, Symbol.UNSIGNED_BYTE);
             }
-            return fourth;
+            if (in.isCharacterInputStream())
+                return number(copyChars(in, checkCharacterOutputStream(second),
+                                        limit));
+            checkBinaryInputStream(first);
+            Stream out = checkStream(second);
+            if (!out.isBinaryOutputStream())
+                return error(new TypeError("The value " + second.princToString()
+                                           + " is not a binary output stream."));
+            return number(copyBytes(in, out, limit));
         }
     };
 
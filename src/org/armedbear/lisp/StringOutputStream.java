@@ -48,11 +48,21 @@ public final class StringOutputStream extends Stream
     }
 
     StringOutputStream(LispObject elementType)
+    {
+        this(elementType, false);
+    }
+
+    /** When pooled is true, the stream writes into the current thread's
+     * spare buffer and gives it back when closed; nothing can be written
+     * or retrieved after that. */
+    StringOutputStream(LispObject elementType, boolean pooled)
     {
         super(Symbol.STRING_OUTPUT_STREAM);
         this.elementType = elementType;
         this.eolStyle = EolStyle.RAW;
-        initAsCharacterOutputStream(stringWriter = new SeekableStringWriter());
+        initAsCharacterOutputStream(stringWriter = pooled
+                                    ? SeekableStringWriter.pooled()
+                                    : new SeekableStringWriter());
     }
 
     @Override
@@ -100,7 +110,7 @@ public final class StringOutputStream extends Stream
             if (arg == Keyword.START)
                 offset = 0;
             else if (arg == Keyword.END)
-                offset = stringWriter.getBuffer().length();
+                offset = stringWriter.length();
             else {
                 long n = Fixnum.getValue(arg);
                 offset = (int) n; // FIXME arg might be a bignum
@@ -123,32 +133,33 @@ public final class StringOutputStream extends Stream
         return new NilVector(0);
       }
 
-      StringBuffer sb = stringWriter.getBuffer();
-      SimpleString s = new SimpleString(sb);
-      sb.setLength(0);
-      return s;
+      return stringWriter.toSimpleStringAndClear();
     }
 
     public LispObject getSimpleStringAndClear()
     {
         if (elementType == NIL)
             return new NilVector(0);
-        String contents = stringWriter.toStringAndClear();
-        
-        return new SimpleString(contents);
+        return stringWriter.toSimpleStringAndClear();
     }
 
     // ### %make-string-output-stream
-    // %make-string-output-stream element-type => string-stream
+    // %make-string-output-stream element-type &optional pooled => string-stream
     private static final Primitive MAKE_STRING_OUTPUT_STREAM =
         new Primitive("%make-string-output-stream", PACKAGE_SYS, false,
-                       "element-type")
+                       "element-type &optional pooled")
     {
         @Override
         public LispObject execute(LispObject arg)
         {
             return new StringOutputStream(arg);
         }
+
+        @Override
+        public LispObject execute(LispObject first, LispObject second)
+        {
+            return new StringOutputStream(first, second != NIL);
+        }
     };
 
     // ### get-output-stream-string
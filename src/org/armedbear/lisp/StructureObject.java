@@ -418,6 +418,15 @@ public class StructureObject extends LispObject
       }
   }
 
+  @Override
+  public LispObject casSlotValue(int index, LispObject expected,
+                                 LispObject newValue)
+  {
+    if (index < 0 || index >= slots.length)
+      return badIndex(index);
+    return Atomics.CAS.compareAndSwap(slots, index, expected, newValue);
+  }
+
   private LispObject badIndex(int n)
   {
     StringBuilder sb = new StringBuilder("Invalid slot index ");
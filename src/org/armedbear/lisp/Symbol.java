@@ -300,6 +300,34 @@ public class Symbol extends LispObject implements java.io.Serializable
     this.value = value;
   }
 
+  private static final Atomics.SwappableField VALUE =
+    new Atomics.SwappableField(Symbol.class, "value");
+
+  /** Compare-and-swap on the value SYMBOL-VALUE would return: the
+   * current thread's dynamic binding, if any, else the global value.
+   */
+  @Override
+  public LispObject casSymbolValue(LispObject expected, LispObject newValue)
+  {
+    if (isConstant())
+      return program_error("Can't change value of constant symbol "
+                           + princToString() + ".");
+    SpecialBinding binding =
+      LispThread.currentThread().getSpecialBinding(this);
+    LispObject found;
+    if (binding != null) {
+      // Dynamic bindings are only visible to their own thread.
+      found = binding.getValue();
+      if (found == expected)
+        binding.value = newValue;
+      return found;
+    }
+    found = VALUE.compareAndSwap(this, expected, newValue);
+    if (found == null)
+      return error(new UnboundVariable(this));
+    return found;
+  }
+
     public SymbolMacro getSymbolMacro() {
         LispObject symbolMacro = get(this, SYMBOL_MACRO, null);
         if(symbolMacro instanceof SymbolMacro) {
@@ -429,9 +457,15 @@ public class Symbol extends LispObject implements java.io.Serializable
     return obj;
   }
 
+  /** Incremented whenever the function of a symbol is set, so that
+   * tables derived from the global functions know when to recompute.
+   */
+  static volatile int functionGeneration;
+
   public final void setSymbolFunction(LispObject obj)
   {
     this.function = obj;
+    functionGeneration++;
   }
 
   /** See LispObject.getStringValue() */
@@ -2969,6 +3003,8 @@ public class Symbol extends LispObject implements java.io.Serializable
     PACKAGE_EXT.addExternalSymbol("URL-PATHNAME");
   public static final Symbol WEAK_REFERENCE =
     PACKAGE_EXT.addExternalSymbol("WEAK-REFERENCE");
+  public static final Symbol EVENT_LOOP =
+    PACKAGE_EXT.addExternalSymbol("EVENT-LOOP");
   public static final Symbol ADD_PACKAGE_LOCAL_NICKNAME =
     PACKAGE_EXT.addExternalSymbol("ADD-PACKAGE-LOCAL-NICKNAME");
 
@@ -3178,6 +3214,8 @@ public class Symbol extends LispObject implements java.io.Serializable
     PACKAGE_SYS.addInternalSymbol("EXPECTED-TYPE");
   public static final Symbol FAST_FUNCTION =
     PACKAGE_SYS.addInternalSymbol("FAST-FUNCTION");
+  public static final Symbol FAST_CNM_FUNCTION =
+    PACKAGE_SYS.addInternalSymbol("FAST-CNM-FUNCTION");
   public static final Symbol FORMAT_ARGUMENTS =
     PACKAGE_SYS.addInternalSymbol("FORMAT-ARGUMENTS");
   public static final Symbol FORMAT_CONTROL =
@@ -3265,6 +3303,18 @@ public class Symbol extends LispObject implements java.io.Serializable
   // THREADS
   public static final Symbol THREAD =
     PACKAGE_THREADS.addExternalSymbol("THREAD");
+  public static final Symbol THREAD_POOL =
+    PACKAGE_THREADS.addExternalSymbol("THREAD-POOL");
+  public static final Symbol FUTURE =
+    PACKAGE_THREADS.addExternalSymbol("FUTURE");
+  public static final Symbol READ_WRITE_LOCK =
+    PACKAGE_THREADS.addExternalSymbol("READ-WRITE-LOCK");
+  public static final Symbol CONDITION_VARIABLE =
+    PACKAGE_THREADS.addExternalSymbol("CONDITION-VARIABLE");
+  public static final Symbol SEMAPHORE =
+    PACKAGE_THREADS.addExternalSymbol("SEMAPHORE");
+  public static final Symbol SPECIAL_BINDINGS_SNAPSHOT =
+    PACKAGE_THREADS.addExternalSymbol("SPECIAL-BINDINGS-SNAPSHOT");
 
   // JVM
   public static final Symbol _RESIGNAL_COMPILER_WARINGS_ =
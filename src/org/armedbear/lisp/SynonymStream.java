@@ -133,6 +133,13 @@ public final class SynonymStream extends Stream
         return checkStream(symbol.symbolValue())._readChar();
     }
 
+    @Override
+    public int readChars(char[] chars, int start, int end)
+        throws java.io.IOException
+    {
+        return checkStream(symbol.symbolValue()).readChars(chars, start, end);
+    }
+
     @Override
     protected void _unreadChar(int n) throws java.io.IOException
     {
@@ -177,6 +184,12 @@ public final class SynonymStream extends Stream
         return checkStream(symbol.symbolValue())._readByte();
     }
 
+    @Override
+    public int readBytes(byte[] bytes, int start, int end)
+    {
+        return checkStream(symbol.symbolValue()).readBytes(bytes, start, end);
+    }
+
     // Writes an 8-bit byte.
     @Override
     public void _writeByte(int n)
@@ -184,12 +197,30 @@ public final class SynonymStream extends Stream
         checkStream(symbol.symbolValue())._writeByte(n);
     }
 
+    @Override
+    public void writeBytes(byte[] bytes, int start, int end)
+    {
+        checkStream(symbol.symbolValue()).writeBytes(bytes, start, end);
+    }
+
     @Override
     public void _finishOutput()
     {
         checkStream(symbol.symbolValue())._finishOutput();
     }
 
+    @Override
+    public Buffering getBuffering()
+    {
+        return checkStream(symbol.symbolValue()).getBuffering();
+    }
+
+    @Override
+    public void setBuffering(Buffering buffering)
+    {
+        checkStream(symbol.symbolValue()).setBuffering(buffering);
+    }
+
     @Override
     public void _clearInput()
     {
@@ -0,0 +1,264 @@
+/*
+ * ThreadPool.java
+ *
+ * $Id$
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ */
+package org.armedbear.lisp;
+
+import static org.armedbear.lisp.Lisp.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+
+/** A work-stealing pool of threads running Lisp functions submitted
+ * by SUBMIT, each of which yields a Future.
+ *
+ * Workers are ordinary Lisp threads which are kept around between
+ * tasks; the special bindings a task leaves behind are undone before
+ * the worker runs its next task.
+ */
+public final class ThreadPool extends LispObject
+{
+    final ForkJoinPool executor;
+    final LispObject name;
+
+    private static final Symbol wrapper =
+        PACKAGE_THREADS.intern("FUTURE-TASK-WRAPPER");
+
+    ThreadPool(int size, final LispObject name)
+    {
+        this.name = name;
+        final String prefix = (name == NIL) ? "thread-pool"
+                                            : name.getStringValue();
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory
+            = new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+                    public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+                        ForkJoinWorkerThread thread
+                            = ForkJoinPool.defaultForkJoinWorkerThreadFactory
+                            .newThread(pool);
+                        thread.setName(prefix + "-worker-"
+                                       + thread.getPoolIndex());
+                        return thread;
+                    }
+                };
+        executor = new ForkJoinPool(size, factory, null, false);
+    }
+
+    // Created on first use only.
+    private static final class DefaultPool
+    {
+        static final ThreadPool INSTANCE
+            = new ThreadPool(Runtime.getRuntime().availableProcessors(),
+                             new SimpleString("default-thread-pool"));
+    }
+
+    @Override
+    public LispObject typeOf()
+    {
+        return Symbol.THREAD_POOL;
+    }
+
+    @Override
+    public LispObject classOf()
+    {
+        return BuiltInClass.THREAD_POOL;
+    }
+
+    @Override
+    public LispObject typep(LispObject typeSpecifier)
+    {
+        if (typeSpecifier == Symbol.THREAD_POOL)
+            return T;
+        if (typeSpecifier == BuiltInClass.THREAD_POOL)
+            return T;
+        return super.typep(typeSpecifier);
+    }
+
+    @Override
+    public String printObject()
+    {
+        StringBuilder sb = new StringBuilder("THREAD-POOL");
+        if (name != NIL) {
+            sb.append(" \"");
+            sb.append(name.getStringValue());
+            sb.append("\"");
+        }
+        sb.append(" size ");
+        sb.append(executor.getParallelism());
+        return unreadableString(sb.toString());
+    }
+
+    public final Future submit(final LispObject function)
+    {
+        final Future future = new Future();
+        try {
+            executor.execute(new Runnable() {
+                    public void run() {
+                        runTask(future, function);
+                    }
+                });
+        }
+        catch (RejectedExecutionException e) {
+            error(new LispError(princToString() + " has been shut down."));
+        }
+        return future;
+    }
+
+    static void runTask(Future future, LispObject function)
+    {
+        final LispThread thread = LispThread.currentThread();
+        final SpecialBindingsMark mark = thread.markSpecialBindings();
+        try {
+            funcall(wrapper, new LispObject[] { future, function }, thread);
+        }
+        catch (ProcessingTerminated e) {
+            System.exit(e.getStatus());
+        }
+        catch (Throwable t) {
+            // Non-local exits out of the task and Java exceptions: the
+            // wrapper already handles Lisp errors.
+            future.fail(new LispError("Task exited abnormally: " + t));
+        }
+        finally {
+            thread.resetSpecialBindings(mark);
+            thread.clearValues();
+        }
+    }
+
+    static final ThreadPool checkThreadPool(LispObject obj)
+    {
+        if (obj instanceof ThreadPool)
+            return (ThreadPool) obj;
+        return (ThreadPool) type_error(obj, Symbol.THREAD_POOL);
+    }
+
+    @DocString(name="make-thread-pool", args="&key size name",
+    doc="Returns a work-stealing pool of SIZE threads, by default as many\n"
+        + "as there are processors, for running functions passed to SUBMIT.")
+    private static final Primitive MAKE_THREAD_POOL =
+        new Primitive("make-thread-pool", PACKAGE_THREADS, true,
+                      "&key size name")
+    {
+        @Override
+        public LispObject execute(LispObject[] args)
+        {
+            if (args.length % 2 != 0)
+                program_error("Odd number of keyword arguments.");
+            int size = Runtime.getRuntime().availableProcessors();
+            LispObject name = NIL;
+            for (int i = 0; i < args.length; i += 2) {
+                if (args[i] == Keyword.SIZE) {
+                    if (args[i + 1] != NIL) {
+                        size = Fixnum.getValue(args[i + 1]);
+                        if (size < 1)
+                            type_error(args[i + 1], list(Symbol.INTEGER, Fixnum.ONE));
+                    }
+                }
+                else if (args[i] == Keyword.NAME)
+                    name = args[i + 1].STRING();
+                else
+                    program_error("Unrecognized keyword argument "
+                                  + args[i].princToString() + ".");
+            }
+            return new ThreadPool(size, name);
+        }
+    };
+
+    @DocString(name="default-thread-pool",
+    doc="Returns the thread pool used by SUBMIT when no pool is given.")
+    private static final Primitive DEFAULT_THREAD_POOL =
+        new Primitive("default-thread-pool", PACKAGE_THREADS, true, "")
+    {
+        @Override
+        public LispObject execute()
+        {
+            return DefaultPool.INSTANCE;
+        }
+    };
+
+    @DocString(name="thread-pool-size", args="&optional pool",
+    doc="Returns the number of threads of POOL, by default the\n"
+        + "DEFAULT-THREAD-POOL.")
+    private static final Primitive THREAD_POOL_SIZE =
+        new Primitive("thread-pool-size", PACKAGE_THREADS, true,
+                      "&optional pool")
+    {
+        @Override
+        public LispObject execute()
+        {
+            return Fixnum.getInstance(DefaultPool.INSTANCE.executor.getParallelism());
+        }
+
+        @Override
+        public LispObject execute(LispObject pool)
+        {
+            return Fixnum.getInstance((pool == NIL ? DefaultPool.INSTANCE
+                                       : checkThreadPool(pool))
+                                      .executor.getParallelism());
+        }
+    };
+
+    @DocString(name="submit", args="function &optional pool",
+    doc="Runs FUNCTION in POOL, by default the DEFAULT-THREAD-POOL, and\n"
+        + "returns a future for the values it returns.")
+    private static final Primitive SUBMIT =
+        new Primitive("submit", PACKAGE_THREADS, true,
+                      "function &optional pool")
+    {
+        @Override
+        public LispObject execute(LispObject function)
+        {
+            return DefaultPool.INSTANCE.submit(function);
+        }
+
+        @Override
+        public LispObject execute(LispObject function, LispObject pool)
+        {
+            return (pool == NIL ? DefaultPool.INSTANCE : checkThreadPool(pool))
+                .submit(function);
+        }
+    };
+
+    @DocString(name="shutdown-thread-pool", args="pool",
+    doc="Lets POOL finish the tasks submitted to it, rejecting new ones.")
+    private static final Primitive SHUTDOWN_THREAD_POOL =
+        new Primitive("shutdown-thread-pool", PACKAGE_THREADS, true, "pool")
+    {
+        @Override
+        public LispObject execute(LispObject arg)
+        {
+            ThreadPool pool = checkThreadPool(arg);
+            if (pool == DefaultPool.INSTANCE)
+                return error(new LispError("The default thread pool can't be shut down."));
+            pool.executor.shutdown();
+            return NIL;
+        }
+    };
+}
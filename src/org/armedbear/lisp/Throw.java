@@ -36,8 +36,14 @@ package org.armedbear.lisp;
 public final class Throw extends ControlTransfer
 {
     public final LispObject tag;
-    private final LispObject result;
-    private final LispObject[] values;
+    private LispObject result;
+    private LispObject[] values;
+
+    /** The next outer CATCH of the thread, for the Throw objects
+     * which LispThread.pushCatchTag preallocates to stand for an
+     * active CATCH; null otherwise.
+     */
+    final Throw next;
 
     public Throw(LispObject tag, LispObject result, LispThread thread)
 
@@ -45,6 +51,20 @@ public final class Throw extends ControlTransfer
         this.tag = tag;
         this.result = result;
         values = thread._values;
+        next = null;
+    }
+
+    Throw(LispObject tag, Throw next)
+    {
+        this.tag = tag;
+        this.next = next;
+    }
+
+    final Throw setResult(LispObject result, LispThread thread)
+    {
+        this.result = result;
+        values = thread._values;
+        return this;
     }
 
     public LispObject getResult(LispThread thread)
@@ -128,6 +128,13 @@ public class TwoWayStream extends Stream
         return in._readChar();
     }
 
+    @Override
+    public int readChars(char[] chars, int start, int end)
+        throws java.io.IOException
+    {
+        return in.readChars(chars, start, end);
+    }
+
     @Override
     protected void _unreadChar(int n) throws java.io.IOException
     {
@@ -172,6 +179,12 @@ public class TwoWayStream extends Stream
         return in._readByte();
     }
 
+    @Override
+    public int readBytes(byte[] bytes, int start, int end)
+    {
+        return in.readBytes(bytes, start, end);
+    }
+
     // Writes an 8-bit byte.
     @Override
     public void _writeByte(int n)
@@ -179,12 +192,30 @@ public class TwoWayStream extends Stream
         out._writeByte(n);
     }
 
+    @Override
+    public void writeBytes(byte[] bytes, int start, int end)
+    {
+        out.writeBytes(bytes, start, end);
+    }
+
     @Override
     public void _finishOutput()
     {
         out._finishOutput();
     }
 
+    @Override
+    public Buffering getBuffering()
+    {
+        return out.getBuffering();
+    }
+
+    @Override
+    public void setBuffering(Buffering buffering)
+    {
+        out.setBuffering(buffering);
+    }
+
     @Override
     public void _clearInput()
     {
@@ -263,7 +263,8 @@
 
 (defun (setf find-class) (new-value symbol &optional errorp environment)
   (declare (ignore errorp environment))
-  (%set-find-class symbol new-value))
+  (prog1 (%set-find-class symbol new-value)
+    (sys::note-type-definitions-changed)))
 
 (defun canonicalize-direct-slots (direct-slots)
   `(list ,@(mapcar #'canonicalize-direct-slot direct-slots)))
@@ -573,7 +574,8 @@
           (make-layout class (nreverse instance-slots) (nreverse shared-slots))))
   (setf (class-default-initargs class)
         (compute-default-initargs class))
-  (setf (class-finalized-p class) t))
+  (setf (class-finalized-p class) t)
+  (sys::note-type-definitions-changed))
 
 (declaim (notinline finalize-inheritance))
 (defun finalize-inheritance (class)
@@ -1605,6 +1607,9 @@ compare the method combination name to the symbol 'standard.")
 (defun std-method-fast-function (method)
   (std-slot-value method 'sys::fast-function))
 
+(defun std-method-fast-cnm-function (method)
+  (std-slot-value method 'sys::fast-cnm-function))
+
 (defun std-function-keywords (method)
   (values (std-slot-value method 'sys::keywords)
           (std-slot-value method 'sys::other-keywords-p)))
@@ -2219,7 +2224,8 @@ Initialized with the true value near the end of the file.")
                                       specializers
                                       documentation
                                       function
-                                      fast-function)
+                                      fast-function
+                                      fast-cnm-function)
   (declare (ignore gf))
   (let ((method (std-allocate-instance +the-standard-method-class+))
         (analyzed-args (analyze-lambda-list lambda-list)))
@@ -2231,6 +2237,7 @@ Initialized with the true value near the end of the file.")
     (setf (std-slot-value method 'sys::%generic-function) nil) ; set by add-method
     (setf (std-slot-value method 'sys::%function) function)
     (setf (std-slot-value method 'sys::fast-function) fast-function)
+    (setf (std-slot-value method 'sys::fast-cnm-function) fast-cnm-function)
     (setf (std-slot-value method 'sys::keywords) (getf analyzed-args :keywords))
     (setf (std-slot-value method 'sys::other-keywords-p)
           (getf analyzed-args :allow-other-keys))
@@ -2311,36 +2318,32 @@ Initialized with the true value near the end of the file.")
   ;; generic function accessors.
   (let ((methods (std-slot-value gf 'sys::methods)))
     (cond
-      ((and (= (length methods) 1)
-            (eq (type-of (car methods)) 'standard-reader-method)
-            (eq (type-of (car (std-method-specializers (car methods))))
-                'standard-class))
-       (let* ((method (first methods))
-              (slot-definition (std-slot-value method 'sys::%slot-definition))
-              (slot-name (std-slot-value slot-definition 'sys:name))
-              (class (car (std-method-specializers method))))
-         #'(lambda (instance)
-             ;; TODO: elide this test for low values of SAFETY
-             (unless (typep instance class)
-               (no-applicable-method gf (list instance)))
-             ;; hash table lookup for slot position in Layout object via
-             ;; StandardObject.SLOT_VALUE, so should be reasonably fast
-             (std-slot-value instance slot-name))))
-      ((and (= (length methods) 1)
-            (eq (type-of (car methods)) 'standard-writer-method)
-            (eq (type-of (second (std-method-specializers (car methods))))
-                'standard-class))
-       (let* ((method (first methods))
-              (slot-definition (std-slot-value method 'sys::%slot-definition))
-              (slot-name (std-slot-value slot-definition 'sys:name))
-              (class (car (std-method-specializers method))))
-         #'(lambda (new-value instance)
-             ;; TODO: elide this test for low values of SAFETY
-             (unless (typep instance class)
-               (no-applicable-method gf (list new-value instance)))
-             ;; hash table lookup for slot position in Layout object via
-             ;; StandardObject.SET_SLOT_VALUE, so should be reasonably fast
-             (setf (std-slot-value instance slot-name) new-value))))
+      ((and methods
+            (every #'(lambda (method)
+                       (eq (class-of method) +the-standard-reader-method-class+))
+                   methods)
+            (eq (method-combination-name
+                 (std-slot-value gf 'sys::%method-combination))
+                'standard))
+       #'(lambda (instance)
+           (declare (optimize speed))
+           ;; one probe of a table keyed by the layout of INSTANCE
+           (let ((value (cached-slot-value gf instance)))
+             (if (eq value +slot-unbound+)
+                 (standard-accessor-miss gf (list instance) instance)
+                 value))))
+      ((and methods
+            (every #'(lambda (method)
+                       (eq (class-of method) +the-standard-writer-method-class+))
+                   methods)
+            (eq (method-combination-name
+                 (std-slot-value gf 'sys::%method-combination))
+                'standard))
+       #'(lambda (new-value instance)
+           (declare (optimize speed))
+           (if (eq (set-cached-slot-value gf instance new-value) +slot-unbound+)
+               (standard-accessor-miss gf (list new-value instance) instance)
+               new-value)))
       (t
        (let* ((number-required (length (generic-function-required-arguments gf)))
               (lambda-list (generic-function-lambda-list gf))
@@ -2427,6 +2430,35 @@ Initialized with the true value near the end of the file.")
                        (funcall emfun args)
                        (slow-method-lookup gf args))))))))))
 
+(defun standard-accessor-slot-index (gf args instance)
+  "Returns the index of the instance slot accessed by calling GF on
+ARGS when the only applicable method is a standard accessor method
+on a class with standard metaclass, or NIL otherwise."
+  (when (and (typep instance 'standard-object)
+             (std-class-p (class-of instance)))
+    (let ((methods (std-compute-applicable-methods gf args)))
+      (when (and methods (null (cdr methods)))
+        (layout-slot-index (std-instance-layout instance)
+                           (slot-definition-name
+                            (std-accessor-method-slot-definition
+                             (car methods))))))))
+
+(defun standard-accessor-miss (gf args instance)
+  "Calls GF on ARGS after a miss in the slot location cache used by the
+discriminating function of generic functions consisting of standard
+reader or writer methods only."
+  ;; Unbound slots and classes whose slots can't be accessed by index
+  ;; end up here too, so only try to cache a slot location the first
+  ;; time around for each class; the full protocol takes care of the
+  ;; rest.
+  (let ((emfun (get-cached-emf gf args)))
+    (if emfun
+        (funcall emfun args)
+        (let ((index (standard-accessor-slot-index gf args instance)))
+          (when index
+            (cache-slot-location gf (std-instance-layout instance) index))
+          (slow-method-lookup gf args)))))
+
 (defun sort-methods (methods gf required-classes)
   (if (or (null methods) (null (%cdr methods)))
       methods
@@ -2631,6 +2663,7 @@ to ~S with argument list ~S."
          (primaries '())
          (arounds '())
          around
+         fast-emfun
          emf-form
          (long-method-combination-p
           (typep method-combination 'long-method-combination)))
@@ -2657,6 +2690,17 @@ to ~S with argument list ~S."
     (when (and (null primaries) (not long-method-combination-p))
       (error "No primary methods for the generic function ~S." gf))
     (cond
+      ((and (eq mc-name 'standard)
+            (fast-callable-p gf)
+            (setf fast-emfun
+                  (compute-fast-emfun
+                   (length (generic-function-required-arguments gf))
+                   primaries arounds
+                   (remove-if-not #'before-method-p methods)
+                   (reverse (remove-if-not #'after-method-p methods)))))
+       (setf emf-form
+             (wrap-fast-emfun (length (generic-function-required-arguments gf))
+                              fast-emfun)))
       (around
        (let ((next-emfun
               (funcall
@@ -2674,19 +2718,8 @@ to ~S with argument list ~S."
          (setf emf-form
                (cond
                  ((and (null befores) (null reverse-afters))
-                  (let ((fast-function (std-method-fast-function (car primaries))))
-                    (if fast-function
-                        (ecase (length (generic-function-required-arguments gf))
-                          (1
-                           #'(lambda (args)
-                               (declare (optimize speed))
-                               (funcall fast-function (car args))))
-                          (2
-                           #'(lambda (args)
-                               (declare (optimize speed))
-                               (funcall fast-function (car args) (cadr args)))))
-                        (generate-emf-lambda (std-method-function (car primaries))
-                                             next-emfun))))
+                  (generate-emf-lambda (std-method-function (car primaries))
+                                       next-emfun))
                  (t
                   (let ((method-function (method-function (car primaries))))
                     #'(lambda (args)
@@ -2727,6 +2760,90 @@ to ~S with argument list ~S."
       (declare (optimize speed))
       (funcall method-function args next-emfun)))
 
+;;; Fast effective method functions
+;;;
+;;; For generic functions taking up to three required arguments only,
+;;; the standard method combination can be computed in terms of
+;;; functions which receive the arguments positionally instead of in a
+;;; list: methods without CALL-NEXT-METHOD provide a FAST-FUNCTION
+;;; which takes the required arguments, methods which only call
+;;; CALL-NEXT-METHOD or NEXT-METHOD-P provide a FAST-CNM-FUNCTION
+;;; which additionally takes the next (positional) effective method
+;;; function as its first argument.  When any of the applicable
+;;; methods has neither, we fall back to the list based protocol.
+
+(defmacro fast-emfun-lambda (arity &body body)
+  "Returns a function of ARITY (1, 2 or 3) required arguments.
+Within BODY, (CALL-FAST F &rest LEADING-ARGS) calls F with
+LEADING-ARGS followed by the arguments of the function."
+  `(ecase ,arity
+     ,@(loop for n from 1 to 3
+             for vars = (subseq '(arg1 arg2 arg3) 0 n)
+             collect `(,n
+                       #'(lambda ,vars
+                           (declare (optimize speed))
+                           (macrolet ((call-fast (f &rest leading-args)
+                                        `(funcall ,f ,@leading-args ,@',vars)))
+                             ,@body))))))
+
+(defun wrap-fast-emfun (arity fast-emfun)
+  "Adapts FAST-EMFUN to the list based effective method function protocol."
+  (ecase arity
+    (1
+     #'(lambda (args)
+         (declare (optimize speed))
+         (funcall fast-emfun (car args))))
+    (2
+     #'(lambda (args)
+         (declare (optimize speed))
+         (funcall fast-emfun (car args) (cadr args))))
+    (3
+     #'(lambda (args)
+         (declare (optimize speed))
+         (funcall fast-emfun (car args) (cadr args) (caddr args))))))
+
+(defun fast-method-emfun (arity method next-fast-emfun)
+  "Returns a positional effective method function calling METHOD with
+NEXT-FAST-EMFUN as its next method, or NIL if METHOD can't be called
+positionally."
+  (when (typep method 'standard-method)
+    (let ((fast-function (std-method-fast-function method)))
+      (if fast-function
+          fast-function
+          (let ((cnm-function (std-method-fast-cnm-function method)))
+            (when cnm-function
+              (fast-emfun-lambda arity
+                (call-fast cnm-function next-fast-emfun))))))))
+
+(defun compute-fast-emfun (arity primaries arounds befores reverse-afters)
+  (unless (<= 1 arity 3)
+    (return-from compute-fast-emfun nil))
+  (let ((emfun nil))
+    (dolist (primary (reverse primaries))
+      (setf emfun (or (fast-method-emfun arity primary emfun)
+                      (return-from compute-fast-emfun nil))))
+    (when (or befores reverse-afters)
+      (let ((primary emfun)
+            (befores (mapcar #'(lambda (method)
+                                 (or (fast-method-emfun arity method nil)
+                                     (return-from compute-fast-emfun nil)))
+                             befores))
+            (afters (mapcar #'(lambda (method)
+                                (or (fast-method-emfun arity method nil)
+                                    (return-from compute-fast-emfun nil)))
+                            reverse-afters)))
+        (setf emfun
+              (fast-emfun-lambda arity
+                (dolist (before befores)
+                  (call-fast before))
+                (multiple-value-prog1
+                    (call-fast primary)
+                  (dolist (after afters)
+                    (call-fast after)))))))
+    (dolist (around (reverse arounds) emfun)
+      (setf emfun (or (fast-method-emfun arity around emfun)
+                      (return-from compute-fast-emfun nil))))))
+
 ;;; compute an effective method function from a list of primary methods:
 
 (defun compute-primary-emfun (methods)
@@ -2809,6 +2926,55 @@ to ~S with argument list ~S."
                 (declare (ignore next-emfun))
                 (apply #'(lambda ,lambda-list ,@declarations ,@body) args)))))))
 
+(defun next-method-operators-only-p (form)
+  "Returns true if CALL-NEXT-METHOD and NEXT-METHOD-P only occur in FORM
+as the operator of a form, i.e. are never used as functional values."
+  (cond ((memq form '(call-next-method next-method-p))
+         nil)
+        ((atom form)
+         t)
+        ((not (or (memq (%car form) '(call-next-method next-method-p))
+                  (next-method-operators-only-p (%car form))))
+         nil)
+        (t
+         (do ((tail (%cdr form) (%cdr tail)))
+             ((atom tail) (next-method-operators-only-p tail))
+           (unless (next-method-operators-only-p (%car tail))
+             (return nil))))))
+
+(defun compute-method-fast-cnm-function (lambda-expression)
+  "Returns the lambda expression of a function taking the next fast
+effective method function and the required arguments of the method,
+or NIL if the method isn't eligible for positional calling."
+  (let ((lambda-list (allow-other-keys (cadr lambda-expression))))
+    (unless (and (<= 1 (length lambda-list) 3)
+                 (null (intersection lambda-list lambda-list-keywords)))
+      (return-from compute-method-fast-cnm-function nil))
+    (let ((body (cddr lambda-expression))
+          (*call-next-method-p* nil)
+          (*next-method-p-p* nil))
+      (multiple-value-bind (body declarations) (parse-body body)
+        (walk-form body)
+        (unless (and (or *call-next-method-p* *next-method-p-p*)
+                     (next-method-operators-only-p body))
+          (return-from compute-method-fast-cnm-function nil))
+        ;; CALL-NEXT-METHOD without arguments passes the original
+        ;; arguments, even when the parameters have been assigned to.
+        (let ((next-emfun (gensym "NEXT-EMFUN"))
+              (args (mapcar #'(lambda (var) (gensym (symbol-name var)))
+                            lambda-list)))
+          `(lambda (,next-emfun ,@args)
+             (macrolet ((call-next-method (&rest cnm-args)
+                          (list 'if ',next-emfun
+                                (list* 'funcall ',next-emfun
+                                       (or cnm-args ',args))
+                                '(error "No next method for generic function.")))
+                        (next-method-p ()
+                          '(not (null ,next-emfun))))
+               (let ,(mapcar #'list lambda-list args)
+                 (declare (ignorable ,@lambda-list))
+                 ,@declarations ,@body))))))))
+
 (defun compute-method-fast-function (lambda-expression)
   (let ((lambda-list (allow-other-keys (cadr lambda-expression))))
     (when (intersection lambda-list '(&rest &optional &key &allow-other-keys &aux))
@@ -2842,15 +3008,8 @@ to ~S with argument list ~S."
 ;;                                     ,(%cadr lambda-list)))
 ;;                 ,@declarations ,@body)))
            lambda-expression)
-;;           (3
-;;            `(lambda (args next-emfun)
-;;               (let ((,(%car lambda-list) (%car args))
-;;                     (,(%cadr lambda-list) (%cadr args))
-;;                     (,(%caddr lambda-list) (%caddr args)))
-;;                 (declare (ignorable ,(%car lambda-list)
-;;                                     ,(%cadr lambda-list)
-;;                                     ,(%caddr lambda-list)))
-;;                 ,@declarations ,@body)))
+          (3
+           lambda-expression)
           (t
            nil))))))
 
@@ -2888,7 +3047,9 @@ to ~S with argument list ~S."
              (make-method-lambda gf (class-prototype (generic-function-method-class gf))
                                  lambda-expression env))
            (fast-function (compute-method-fast-function lambda-expression))
-           )
+           (fast-cnm-function
+             (unless fast-function
+               (compute-method-fast-cnm-function lambda-expression))))
       (dolist (specializer specializers)
         (cond ((and (consp specializer) (eq (car specializer) 'eql))
                (push `(list 'eql ,(cadr specializer)) specializers-form))
@@ -2904,7 +3065,8 @@ to ~S with argument list ~S."
                         ,@(if documentation `(:documentation ,documentation))
                         :function (function ,method-function)
                         ,@(if fast-function `(:fast-function (function ,fast-function)))
-                        )))))
+                        ,@(if fast-cnm-function
+                              `(:fast-cnm-function (function ,fast-cnm-function))))))))
 
 ;;; Reader and writer methods
 
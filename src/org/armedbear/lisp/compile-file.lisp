@@ -358,7 +358,8 @@ interpreted toplevel form, non-NIL if it is 'simple enough'."
                                                             *compile-file-environment*)))
         (eval precompiled-form)))
     (convert-ensure-method form :function)
-    (convert-ensure-method form :fast-function))
+    (convert-ensure-method form :fast-function)
+    (convert-ensure-method form :fast-cnm-function))
   (precompiler:precompile-form form nil *compile-file-environment*))
 
 (declaim (ftype (function (t t t) t) process-toplevel-defvar/defparameter))
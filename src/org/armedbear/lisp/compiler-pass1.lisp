@@ -620,6 +620,7 @@ where each of the vars returned is a list with these elements:
          ;; they're enclosed in a CATCH block
          (*blocks* (cons block *blocks*))
          (result '()))
+    (setf (catch-tag block) tag)
     (dolist (subform body)
       (let ((op (and (consp subform) (%car subform))))
         (push (p1 subform) result)
@@ -1207,9 +1208,43 @@ where each of the vars returned is a list with these elements:
                     (1- (length form))))
   (list 'TRULY-THE (%cadr form) (p1 (%caddr form))))
 
+(defun constant-catch-tag (form)
+  "Returns the symbol catch tag FORM evaluates to if it's a constant,
+NIL otherwise."
+  (cond ((keywordp form)
+         form)
+        ((and (consp form)
+              (eq (car form) 'QUOTE)
+              (symbolp (cadr form)))
+         (cadr form))))
+
+(defun find-local-catch-block (tag-form)
+  "Returns the enclosing CATCH block of the current compiland which a
+THROW to TAG-FORM is certain to reach, if any: no CATCH with another
+or an unknown tag, nor any block needing an exception to run its
+cleanup, may come in between."
+  (let ((tag (constant-catch-tag tag-form)))
+    (when tag
+      (dolist (enclosing-block *blocks*)
+        (unless (eq (node-compiland enclosing-block) *current-compiland*)
+          (return nil))
+        (when (block-requires-non-local-exit-p enclosing-block)
+          (return nil))
+        (when (catch-node-p enclosing-block)
+          (let ((catch-tag (constant-catch-tag (catch-tag enclosing-block))))
+            (cond ((null catch-tag)
+                   (return nil))
+                  ((eq catch-tag tag)
+                   (return enclosing-block)))))))))
+
 (defknown p1-throw (t) t)
 (defun p1-throw (form)
-  (list* 'THROW (mapcar #'p1 (cdr form))))
+  (let* ((form (list* 'THROW (mapcar #'p1 (cdr form))))
+         (catch-block (when (= (length form) 3)
+                        (find-local-catch-block (second form)))))
+    (if catch-block
+        (make-jump-node form nil catch-block)
+        form)))
 
 (defknown rewrite-function-call (t) t)
 (defun rewrite-function-call (form)
@@ -947,7 +947,7 @@ representation, based on the derived type of the LispObject."
 (defun emit-read-from-string (object)
   (emit-constructor-lambda-list object))
 
-(defun make-constructor (class lambda-name args)
+(defun make-constructor (class lambda-name args &optional rest-unused-p)
   (let* ((*compiler-debug* nil)
          (method (make-jvm-method :constructor :void nil
 				  :flags '(:public)))
@@ -1046,6 +1046,9 @@ representation, based on the derived type of the LispObject."
              (if rest-p
                  (emit-push-t)
                  (emit 'aconst_null))
+             (if rest-unused-p
+                 (emit 'iconst_1)
+                 (emit 'iconst_0))
              (emit-invokespecial-init +argument-list-processor+
                                       (list
                                        +lisp-operator+
@@ -1054,7 +1057,8 @@ representation, based on the derived type of the LispObject."
                                        (class-array +alp-keyword-parameter+)
                                        :boolean
                                        :boolean
-                                       +lisp-symbol+))
+                                       +lisp-symbol+
+                                       :boolean))
              (emit-invokespecial-init super
                                       (list +argument-list-processor+))
              (aload alp-register)
@@ -3234,6 +3238,9 @@ given a specific common representation.")
              (aload values-register)
              (emit 'goto LABEL2)
              (label LABEL1)
+             ;; getValues pads the values with NILs, in a per-thread
+             ;; buffer unless there are many variables: it has to be
+             ;; read before calling anything else.
              (emit-push-current-thread)
              (aload result-register)
              (emit-push-constant-int (length vars))
@@ -3651,9 +3658,9 @@ given a specific common representation.")
     (when (tagbody-id-variable block)
       ;; we have a block variable; that should be a closure variable
       (assert (not (null (variable-closure-index (tagbody-id-variable block)))))
-      (emit-new +lisp-object+)
+      (emit-new +lisp-exit-point+)
       (emit 'dup)
-      (emit-invokespecial-init +lisp-object+ '())
+      (emit-invokespecial-init +lisp-exit-point+ '())
       (emit-new-closure-binding (tagbody-id-variable block)))
     (when (tagbody-non-local-go-p block)
       (save-dynamic-environment specials-register))
@@ -3727,6 +3734,16 @@ given a specific common representation.")
       (emit-move-from-stack target)))
   )
 
+(defun emit-pop-catch-tags (outermost-block)
+  "Pops the catch tags of the CATCH blocks a local transfer of control
+to OUTERMOST-BLOCK leaves."
+  (dolist (enclosing-block *blocks*)
+    (when (eq enclosing-block outermost-block)
+      (return))
+    (when (catch-node-p enclosing-block)
+      (emit-push-current-thread)
+      (emit-invokevirtual +lisp-thread+ "popCatchTag" nil nil))))
+
 (defknown p2-go (t t t) t)
 (defun p2-go (form target representation)
   ;; FIXME What if we're called with a non-NIL representation?
@@ -3746,6 +3763,7 @@ given a specific common representation.")
                  (enclosed-by-environment-setting-block-p tag-block))
         ;; If there's a dynamic environment to restore, do it.
         (restore-dynamic-environment (environment-register-to-restore tag-block)))
+      (emit-pop-catch-tags tag-block)
       (maybe-generate-interrupt-check)
       (emit 'goto (tag-label tag))
       (return-from p2-go))
@@ -3848,9 +3866,9 @@ given a specific common representation.")
     (when (block-id-variable block)
       ;; we have a block variable; that should be a closure variable
       (assert (not (null (variable-closure-index (block-id-variable block)))))
-      (emit-new +lisp-object+)
+      (emit-new +lisp-exit-point+)
       (emit 'dup)
-      (emit-invokespecial-init +lisp-object+ '())
+      (emit-invokespecial-init +lisp-exit-point+ '())
       (emit-new-closure-binding (block-id-variable block)))
     (dformat t "*all-variables* = ~S~%"
              (mapcar #'variable-name *all-variables*))
@@ -3916,6 +3934,7 @@ given a specific common representation.")
           (when (and (block-needs-environment-restoration block)
                      (enclosed-by-environment-setting-block-p block))
             (restore-dynamic-environment (environment-register-to-restore block)))
+          (emit-pop-catch-tags block)
           (emit 'goto (block-exit block))
           (return-from p2-return-from))))
     ;; Non-local RETURN.
@@ -5920,6 +5939,52 @@ We need more thought here.
         (t
          (compile-function-call form target representation))))
 
+;; SYS:%CAS-CAR, SYS:%CAS-CDR and SYS:%CAS-SYMBOL-VALUE
+(defun p2-%cas (form target representation)
+  (cond ((check-arg-count form 3)
+         (let ((arg1 (%cadr form))
+               (arg2 (%caddr form))
+               (arg3 (fourth form)))
+           (with-operand-accumulation
+               ((compile-operand arg1 nil)
+                (compile-operand arg2 nil)
+                (compile-operand arg3 nil)))
+           (maybe-emit-clear-values arg1 arg2 arg3)
+           (emit-invokevirtual +lisp-object+
+                               (ecase (%car form)
+                                 (sys::%cas-car "casCar")
+                                 (sys::%cas-cdr "casCdr")
+                                 (sys::%cas-symbol-value "casSymbolValue"))
+                               (lisp-object-arg-types 2) +lisp-object+)
+           (fix-boxing representation nil)
+           (emit-move-from-stack target representation)))
+        (t
+         (compile-function-call form target representation))))
+
+;; SYS:%CAS-SVREF and SYS:%CAS-STRUCTURE-REF
+(defun p2-%cas-indexed (form target representation)
+  (cond ((check-arg-count form 4)
+         (let ((arg1 (%cadr form))
+               (arg2 (%caddr form))
+               (arg3 (fourth form))
+               (arg4 (fifth form)))
+           (with-operand-accumulation
+               ((compile-operand arg1 nil)
+                (compile-operand arg2 :int)
+                (compile-operand arg3 nil)
+                (compile-operand arg4 nil)))
+           (maybe-emit-clear-values arg1 arg2 arg3 arg4)
+           (emit-invokevirtual +lisp-object+
+                               (ecase (%car form)
+                                 (sys::%cas-svref "casSvref")
+                                 (sys::%cas-structure-ref "casSlotValue"))
+                               (list :int +lisp-object+ +lisp-object+)
+                               +lisp-object+)
+           (fix-boxing representation nil)
+           (emit-move-from-stack target representation)))
+        (t
+         (compile-function-call form target representation))))
+
 (defun p2-truncate (form target representation)
   (let ((args (cdr form))
         arg1
@@ -6799,6 +6864,9 @@ We need more thought here.
            (DEFAULT-HANDLER (gensym))
            (EXIT (gensym "E"))
            (specials-register (allocate-register nil)))
+      (setf (catch-target block) target
+            (catch-exit block) EXIT
+            (catch-environment-register block) specials-register)
       (compile-form (second form) tag-register nil) ; Tag.
       (emit-push-current-thread)
       (aload tag-register)
@@ -6848,6 +6916,15 @@ We need more thought here.
   t)
 
 (defun p2-throw (form target representation)
+  (when (jump-node-p form)
+    ;; Local THROW to an enclosing CATCH of the same compiland.
+    (let ((catch-block (jump-target-block form)))
+      (emit-clear-values)
+      (compile-form (third (node-form form)) (catch-target catch-block) nil)
+      (emit-pop-catch-tags catch-block)
+      (restore-dynamic-environment (catch-environment-register catch-block))
+      (emit 'goto (catch-exit catch-block))
+      (return-from p2-throw)))
   (with-operand-accumulation
       ((emit-thread-operand)
        (compile-operand (second form) nil) ; Tag.
@@ -6989,6 +7066,8 @@ We need more thought here.
              (p2-go form target representation))
             ((eq op 'return-from)
              (p2-return-from form target representation))
+            ((eq op 'throw)
+             (p2-throw form target representation))
             (t
              (assert (not "jump-node: can't happen"))))))
        ((block-node-p form)
@@ -7297,6 +7376,18 @@ We need more thought here.
         (setf *code* (nconc code *code*)))))
   t)
 
+(defun rest-variable-unused-p (compiland args)
+  "Returns true if the &REST variable in ARGS is neither read nor written
+in COMPILAND, so the argument list processor needn't cons up its value."
+  (let* ((name (second (memq '&REST args)))
+         (variable (when name
+                     (find name (compiland-arg-vars compiland)
+                           :key #'variable-name))))
+    (and variable
+         (not (variable-special-p variable))
+         (zerop (variable-reads variable))
+         (zerop (variable-writes variable)))))
+
 (defun compile-to-jvm-class (compiland)
   "Returns ?what? ### a jvm class-file object?"
   (let* ((class-file (compiland-class-file compiland))
@@ -7323,7 +7414,8 @@ We need more thought here.
 
     ;; Constructor
     (let ((constructor
-           (make-constructor class-file (compiland-name compiland) args)))
+           (make-constructor class-file (compiland-name compiland) args
+                             (rest-variable-unused-p compiland args))))
       (setf (abcl-class-file-constructor class-file) constructor)
       (class-add-method class-file constructor))
 
@@ -7619,6 +7711,11 @@ Could arguably better named as *SIGNAL-COMPILE-WARNINGS-P*.")
                                nth
                                progn))
   (install-p2-handler '%ldb                'p2-%ldb)
+  (install-p2-handler 'sys::%cas-car       'p2-%cas)
+  (install-p2-handler 'sys::%cas-cdr       'p2-%cas)
+  (install-p2-handler 'sys::%cas-symbol-value 'p2-%cas)
+  (install-p2-handler 'sys::%cas-svref     'p2-%cas-indexed)
+  (install-p2-handler 'sys::%cas-structure-ref 'p2-%cas-indexed)
   (install-p2-handler '*                   'p2-times)
   (install-p2-handler '+                   'p2-plus)
   (install-p2-handler '-                   'p2-minus)
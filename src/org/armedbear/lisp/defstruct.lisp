@@ -577,10 +577,20 @@
   (when (or (null type) named)
     (let ((structure-class
             (make-structure-class name direct-slots slots (car include))))
+      (note-type-definitions-changed)
       (%set-documentation name 'type documentation)
       (%set-documentation structure-class t documentation)))
   (when default-constructor
-    (proclaim `(ftype (function * t) ,default-constructor))))
+    (proclaim `(ftype (function * t) ,default-constructor)))
+  ;; Let THREADS:COMPARE-AND-SWAP find the slots of structure instances.
+  (when (null type)
+    (dolist (dsd slots)
+      (let ((reader (dsd-reader dsd)))
+        (when (and reader
+                   (not (dsd-read-only dsd))
+                   (not (assoc reader inherited-accessors)))
+          (setf (get reader 'structure-slot-index)
+                (cons name (dsd-index dsd))))))))
 
 (defmacro defstruct (name-and-options &rest slots)
   (let ((*dd-name* nil)
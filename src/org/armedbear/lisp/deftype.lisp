@@ -60,6 +60,7 @@
      (record-source-information-for-type ',name :type)
      (setf (get ',name 'deftype-definition)
            #'(lambda ,lambda-list (block ,name ,@body)))
+     (note-type-definitions-changed)
      ',name))
 
 (defun expand-deftype (type)
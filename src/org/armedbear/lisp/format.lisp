@@ -1761,9 +1761,34 @@
 			  (coerce string-or-fun 'simple-string))))
 	       (*default-format-error-control-string* string)
 	       (*logical-block-popper* nil))
-	  (interpret-directive-list stream (tokenize-control-string string)
+	  (interpret-directive-list stream (cached-tokenize-control-string string)
 				    orig-args args)))))
 
+;;; A small direct-mapped cache of tokenized control strings, keyed on
+;;; the identity of the string. Each entry holds the string, a copy of
+;;; its contents (to notice strings modified after being cached) and its
+;;; directives. Entries are replaced as a whole, so readers never see a
+;;; partially updated entry.
+(defconstant +control-string-cache-size+ 64)
+
+(defvar *tokenized-control-strings*
+  (make-array +control-string-cache-size+ :initial-element nil))
+
+(defun cached-tokenize-control-string (string)
+  (declare (simple-string string))
+  (let* ((cache *tokenized-control-strings*)
+         (index (logand (sys:identity-hash-code string)
+                        (1- +control-string-cache-size+)))
+         (entry (svref cache index)))
+    (if (and entry
+             (eq (car entry) string)
+             (string= (cadr entry) string))
+        (cddr entry)
+        (let ((directives (tokenize-control-string string)))
+          (setf (svref cache index)
+                (list* string (copy-seq string) directives))
+          directives))))
+
 (defun interpret-directive-list (stream directives orig-args args)
   (if directives
       (let ((directive (car directives)))
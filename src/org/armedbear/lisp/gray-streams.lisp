@@ -246,6 +246,134 @@
 
 (defclass fundamental-binary-stream (fundamental-stream) ())
 
+;;; Method caches
+;;;
+;;; The default methods below fall back on one STREAM-READ-CHAR,
+;;; STREAM-WRITE-CHAR, STREAM-READ-BYTE or STREAM-WRITE-BYTE call per
+;;; element, each of which would go through the full generic function
+;;; dispatch.  Instead, they resolve the effective method for the
+;;; class of the stream once and call it directly.  They also pass
+;;; whole strings and sequences on to STREAM-WRITE-STRING and
+;;; STREAM-WRITE-SEQUENCE when those are specialized for the stream,
+;;; so that implementing either one is enough for bulk output.
+;;;
+;;; A cache is emptied when the methods of its generic function
+;;; change; its entries are keyed on the class layout, which is
+;;; replaced when the class is redefined.
+
+(defstruct (method-cache
+             (:constructor make-method-cache (name arity)))
+  ;; The generic functions are defined below, so go by name
+  name
+  arity
+  ;; The method list the entries were computed from
+  (methods :unset)
+  ;; Whether the applicable methods depend on the class of the stream
+  ;; alone, and can be called positionally
+  (cacheable-p nil)
+  (fast-p nil)
+  (entries (make-hash-table :test 'eq :weakness :key)))
+
+(defvar *default-methods* nil
+  "The default bulk output methods defined in this file, which don't
+make their generic function count as specialized.")
+
+(defun default-method-p (method)
+  "Whether METHOD is one of the defaults defined in this file."
+  (member method *default-methods* :test #'eq))
+
+(defun method-cache-generic-function (cache)
+  (fdefinition (method-cache-name cache)))
+
+(defun reset-method-cache (cache methods)
+  (let ((gf (method-cache-generic-function cache)))
+    (clrhash (method-cache-entries cache))
+    (setf (method-cache-cacheable-p cache)
+          (every #'(lambda (method)
+                     (typep (first (mop:method-specializers method)) 'class))
+                 methods)
+          (method-cache-fast-p cache)
+          (and (method-cache-cacheable-p cache)
+               (mop::fast-callable-p gf)
+               (every #'(lambda (method)
+                          (every #'(lambda (specializer)
+                                     (eq specializer (find-class t)))
+                                 (rest (mop:method-specializers method))))
+                      methods))
+          (method-cache-methods cache) methods)))
+
+(defun compute-method-cache-entry (cache stream)
+  (let* ((gf (method-cache-generic-function cache))
+         (arity (method-cache-arity cache))
+         (emfun
+          (when (method-cache-fast-p cache)
+            ;; The other arguments don't matter: methods only
+            ;; specialize on the stream.
+            (let ((methods (compute-applicable-methods
+                            gf (cons stream (make-list (1- arity))))))
+              (when (some #'mop::primary-method-p methods)
+                (mop::compute-fast-emfun
+                 arity
+                 (remove-if-not #'mop::primary-method-p methods)
+                 (remove-if-not #'mop::around-method-p methods)
+                 (remove-if-not #'mop::before-method-p methods)
+                 (reverse (remove-if-not #'mop::after-method-p methods))))))))
+    (cons (or emfun gf)
+          (some #'(lambda (method)
+                    (and (not (default-method-p method))
+                         (typep stream
+                                (first (mop:method-specializers method)))))
+                (method-cache-methods cache)))))
+
+(defun method-cache-entry (cache stream)
+  (let ((methods (mop:generic-function-methods
+                  (method-cache-generic-function cache))))
+    (unless (eq methods (method-cache-methods cache))
+      (reset-method-cache cache methods)))
+  (if (method-cache-cacheable-p cache)
+      (let ((layout (sys::%class-layout (class-of stream)))
+            (entries (method-cache-entries cache)))
+        (or (gethash layout entries)
+            (setf (gethash layout entries)
+                  (compute-method-cache-entry cache stream))))
+      ;; EQL specializers on streams: dispatch every time, and treat
+      ;; the generic function as specialized.
+      (cons (method-cache-generic-function cache) t)))
+
+(defun stream-method (cache stream)
+  "Returns a function taking the same arguments as the generic function
+of CACHE, to be called with STREAM as its first argument."
+  (car (method-cache-entry cache stream)))
+
+(defvar *routed-stream* nil
+  "The stream whose default bulk method has been passed on to another
+bulk method, which mustn't pass it back.")
+
+(defmacro route-if-specialized ((cache stream) routed-form &body default-forms)
+  "Evaluates ROUTED-FORM if a method of the generic function of CACHE
+other than the default ones applies to STREAM, and DEFAULT-FORMS
+otherwise."
+  (let ((s (gensym)))
+    `(let ((,s ,stream))
+       (if (and (not (eq ,s *routed-stream*))
+                (cdr (method-cache-entry ,cache ,s)))
+           (let ((*routed-stream* ,s))
+             ,routed-form)
+           (progn ,@default-forms)))))
+
+(defvar *stream-read-char-cache*
+  (make-method-cache 'stream-read-char 1))
+(defvar *stream-write-char-cache*
+  (make-method-cache 'stream-write-char 2))
+(defvar *stream-read-byte-cache*
+  (make-method-cache 'stream-read-byte 1))
+(defvar *stream-write-byte-cache*
+  (make-method-cache 'stream-write-byte 2))
+(defvar *stream-write-string-cache*
+  (make-method-cache 'stream-write-string 2))
+(defvar *stream-write-sequence-cache*
+  (make-method-cache 'stream-write-sequence 2))
+
 (defgeneric stream-read-byte (stream))
 (defgeneric stream-write-byte (stream integer))
 
@@ -278,9 +406,10 @@
   (let ((line (make-array 64
                           :element-type 'character
                           :fill-pointer 0
-                          :adjustable t)))
+                          :adjustable t))
+        (read-char (stream-method *stream-read-char-cache* stream)))
     (loop
-      (let ((character (stream-read-char stream)))
+      (let ((character (funcall read-char stream)))
         (if (eq character :eof)
             (return (values line t))
             (if (eql character #\Newline)
@@ -329,9 +458,14 @@
                                 string
                                 &optional (start 0) end)
   (let ((end (or end (length string))))
-    (do ((i start (1+ i)))
-        ((>= i end) string)
-      (stream-write-char stream (char string i)))))
+    (route-if-specialized (*stream-write-sequence-cache* stream)
+        (progn
+          (stream-write-sequence stream string start end)
+          string)
+      (let ((write-char (stream-method *stream-write-char-cache* stream)))
+        (do ((i start (1+ i)))
+            ((>= i end) string)
+          (funcall write-char stream (char string i)))))))
 
 (defmethod stream-fresh-line ((stream fundamental-character-output-stream))
   (if (stream-start-line-p stream)
@@ -348,8 +482,9 @@
         (stream-write-char stream #\Space)))))
 
 (defun basic-read-sequence (stream sequence start end
-                            expected-element-type read-fun)
-  (let ((element-type (stream-element-type stream)))
+                            expected-element-type read-cache)
+  (let ((element-type (stream-element-type stream))
+        (read-fun (stream-method read-cache stream)))
     (if (subtypep element-type expected-element-type)
         (dotimes (count (- end start)
                   ;; If (< end start), skip the dotimes body but
@@ -363,8 +498,9 @@
                element-type))))
 
 (defun basic-write-sequence (stream sequence start end
-                             expected-element-type write-fun)
-  (let ((element-type (stream-element-type stream)))
+                             expected-element-type write-cache)
+  (let ((element-type (stream-element-type stream))
+        (write-fun (stream-method write-cache stream)))
     (if (subtypep element-type expected-element-type)
         ;; Avoid LOOP because it isn't loaded yet
         (do ((n start (+ n 1)))
@@ -378,12 +514,20 @@
 (defmethod stream-read-sequence ((stream  fundamental-character-input-stream)
                                  sequence &optional (start 0) end)
   (basic-read-sequence stream sequence start (or end (length sequence))
-                       'character #'stream-read-char))
+                       'character *stream-read-char-cache*))
 
 (defmethod stream-write-sequence ((stream fundamental-character-output-stream)
                                   sequence &optional (start 0) end)
-  (basic-write-sequence stream sequence start (or end (length sequence))
-                        'character #'stream-write-char))
+  (let ((end (or end (length sequence))))
+    (if (stringp sequence)
+        (route-if-specialized (*stream-write-string-cache* stream)
+            (progn
+              (stream-write-string stream sequence start end)
+              sequence)
+          (basic-write-sequence stream sequence start end
+                                'character *stream-write-char-cache*))
+        (basic-write-sequence stream sequence start end
+                              'character *stream-write-char-cache*))))
 
 (defclass fundamental-binary-input-stream
   (fundamental-input-stream fundamental-binary-stream) ())
@@ -394,12 +538,21 @@
 (defmethod stream-read-sequence ((stream fundamental-binary-input-stream)
                                  sequence &optional (start 0) end)
   (basic-read-sequence stream sequence start (or end (length sequence))
-                       'signed-byte #'stream-read-byte))
+                       'signed-byte *stream-read-byte-cache*))
 
 (defmethod stream-write-sequence ((stream fundamental-binary-output-stream)
                                   sequence &optional (start 0) end)
   (basic-write-sequence stream sequence start (or end (length sequence))
-                        'signed-byte #'stream-write-byte))
+                        'signed-byte *stream-write-byte-cache*))
+
+(setf *default-methods*
+      (mapcar #'(lambda (method)
+                  (find-method (fdefinition (first method)) '()
+                               (list (find-class (second method))
+                                     (find-class t))))
+              '((stream-write-string fundamental-character-output-stream)
+                (stream-write-sequence fundamental-character-output-stream)
+                (stream-write-sequence fundamental-binary-output-stream))))
 
 (defun decode-read-arg (arg)
   (cond ((null arg) *standard-input*)
@@ -200,6 +200,7 @@ initialized from the `java-dotted-name'."
 (define-class-name +lisp-throw+ "org.armedbear.lisp.Throw")
 (define-class-name +lisp-return+ "org.armedbear.lisp.Return")
 (define-class-name +lisp-go+ "org.armedbear.lisp.Go")
+(define-class-name +lisp-exit-point+ "org.armedbear.lisp.ExitPoint")
 (define-class-name +lisp-primitive+ "org.armedbear.lisp.Primitive")
 (define-class-name +lisp-compiled-primitive+
     "org.armedbear.lisp.CompiledPrimitive")
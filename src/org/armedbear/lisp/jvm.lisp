@@ -423,9 +423,14 @@ if that parent belongs to the same compiland."
 (defstruct (catch-node (:conc-name catch-)
                        (:include control-transferring-node)
                        (:constructor %make-catch-node ()))
-  ;; The catch tag-form is evaluated, meaning we
-  ;; have no predefined value to store here
-  )
+  ;; The catch tag-form, used to find the target of THROWs with a
+  ;; constant tag which can jump to the CATCH
+  tag
+  ;; The target and exit label of the CATCH and the register holding
+  ;; the dynamic environment it saved, for such THROWs
+  target
+  exit
+  environment-register)
 (defknown make-catch-node () t)
 (defun make-catch-node ()
   (let ((block (%make-catch-node)))
@@ -665,9 +670,9 @@ requires a transfer control exception to be thrown: e.g. Go and Return.
 
 Non-local exits are required by blocks which do more in their cleanup
 than just restore the lastSpecialBinding (= dynamic environment).
+CATCH blocks don't: local exits pop their catch tags instead.
 "
   (or (unwind-protect-node-p object)
-      (catch-node-p object)
       (synchronized-node-p object)))
 
 (defun node-opstack-unsafe-p (node)
@@ -105,7 +105,10 @@
 	     (element-type 'character)
 	     (if-exists nil if-exists-given)
 	     (if-does-not-exist nil if-does-not-exist-given)
-	     (external-format :default))
+	     (external-format :default)
+	     buffering
+	     mapped
+	     buffer-size)
 ;  (declare (ignore external-format)) ; FIXME
   (setf element-type (case element-type
                        ((character base-char)
@@ -114,6 +117,10 @@
                         '(unsigned-byte 8))
                        (t
                         (upgraded-element-type element-type))))
+  (unless (memq buffering '(nil :full :line :none))
+    (error 'type-error
+           :datum buffering
+           :expected-type '(member :full :line :none)))
   (let* ((pathname (merge-pathnames filename))
          (namestring (namestring (if (typep pathname 'logical-pathname)
                                      (translate-logical-pathname pathname)
@@ -152,7 +159,8 @@
           ;; this abstract pathname if and only if a file with this name does
           ;; not yet exist." See java.io.File.createNewFile().
           (create-new-file namestring)))
-       (make-file-stream pathname namestring element-type :input nil external-format))
+       (make-file-stream pathname namestring element-type :input nil
+                         external-format mapped buffer-size))
       (:probe
        (case if-does-not-exist
          (:error
@@ -215,12 +223,15 @@
                  :format-control "Option not supported: ~S."
                  :format-arguments (list if-exists))))
        (let ((stream (make-file-stream pathname namestring element-type
-                                       direction if-exists external-format)))
+                                       direction if-exists external-format
+                                       mapped buffer-size)))
          (unless stream
            (error 'file-error
                   :pathname pathname
                   :format-control "Unable to open ~S."
                   :format-arguments (list namestring)))
+         (when buffering
+           (setf (ext:stream-buffering stream) buffering))
          stream))
       (t
        (error 'simple-error
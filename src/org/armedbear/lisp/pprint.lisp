@@ -752,9 +752,8 @@
                                ((:miser-width *print-miser-width*) *print-miser-width*)
                                ((:lines *print-lines*) *print-lines*)
                                ((:pprint-dispatch *print-pprint-dispatch*) *print-pprint-dispatch*))
-  (let ((stream (make-string-output-stream)))
-    (sys:output-object object stream)
-    (get-output-stream-string stream)))
+  (with-output-to-string (stream)
+    (sys:output-object object stream)))
 
 (defun prin1-to-string (object)
   (with-output-to-string (stream)
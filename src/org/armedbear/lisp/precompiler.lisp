@@ -230,7 +230,7 @@
 
 (define-compiler-macro subtypep (&whole form &rest args)
   (if (= (length args) 2)
-      `(%subtypep ,@args)
+      `(cached-subtypep ,@args)
       form))
 
 (define-compiler-macro funcall (&whole form
@@ -295,9 +295,27 @@
       form))
 
 (define-source-transform format (&whole form &rest args)
-  (if (stringp (second args))
-      `(format ,(pop args) (formatter ,(pop args)) ,@args)
-      form))
+  (let ((destination (first args))
+        (control-string (second args)))
+    (cond ((not (stringp control-string))
+           form)
+          ((member destination '(nil t))
+           ;; Call the formatter's lambda directly, saving the &REST list
+           ;; and the APPLY done by FORMAT. The arguments are evaluated
+           ;; into temporaries first, so they can't see the lambda's
+           ;; STREAM and ARGS bindings once it's expanded inline.
+           (let ((fun (second (macroexpand-1 `(formatter ,control-string))))
+                 (temps (loop repeat (length (cddr args)) collect (gensym))))
+             `(let ,(mapcar #'list temps (cddr args))
+                ,(if destination
+                     `(progn
+                        (,fun *standard-output* ,@temps)
+                        nil)
+                     (let ((stream (gensym "STREAM")))
+                       `(with-output-to-string (,stream)
+                          (,fun ,stream ,@temps)))))))
+          (t
+           `(format ,destination (formatter ,control-string) ,@(cddr args))))))
 
 (define-compiler-macro catch (&whole form tag &rest args)
   (declare (ignore tag))
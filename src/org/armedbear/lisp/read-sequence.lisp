@@ -39,15 +39,16 @@
       (setf end (length sequence)))
   (let* ((element-type (expand-deftype (stream-element-type stream))))
     (cond ((eq element-type 'character)
-           (do ((pos start (1+ pos)))
-               ((>= pos end) pos)
-             (let ((element (read-char stream nil :eof)))
-               (when (eq element :eof)
-                 (return pos))
-               (setf (elt sequence pos) element))))
+           (if (stringp sequence)
+               (read-vector-character sequence stream start end)
+               (do ((pos start (1+ pos)))
+                   ((>= pos end) pos)
+                 (let ((element (read-char stream nil :eof)))
+                   (when (eq element :eof)
+                     (return pos))
+                   (setf (elt sequence pos) element)))))
           ((equal element-type '(unsigned-byte 8))
-           (if (and (vectorp sequence)
-                    (equal (array-element-type sequence) '(unsigned-byte 8)))
+           (if (vectorp sequence)
                (read-vector-unsigned-byte-8 sequence stream start end)
                (do ((pos start (1+ pos)))
                    ((>= pos end) pos)
@@ -236,5 +236,6 @@
 (defsetf function-info %set-function-info)
 
 (defsetf stream-external-format %set-stream-external-format)
+(defsetf ext:stream-buffering %set-stream-buffering)
 
 (defsetf structure-ref structure-set)
@@ -34,12 +34,20 @@
 (export '(make-socket make-server-socket server-socket-close socket-accept
           socket-close get-socket-stream socket-peer-port socket-local-port
           socket-local-address socket-peer-address
-          read-timeout write-timeout))
+          read-timeout write-timeout
+          make-server-channel make-client-channel channel-accept
+          channel-finish-connect channel-read channel-write channel-close
+          channel-local-port
+          make-event-loop event-loop-register event-loop-unregister
+          event-loop-run-once event-loop-run event-loop-stop
+          event-loop-close))
 
 
-(defun get-socket-stream (socket &key (element-type 'character) (external-format :default))
+(defun get-socket-stream (socket &key (element-type 'character) (external-format :default)
+                                      (buffering :full))
   ":ELEMENT-TYPE must be CHARACTER or (UNSIGNED-BYTE 8); the default is CHARACTER.
-EXTERNAL-FORMAT must be of the same format as specified for OPEN."
+EXTERNAL-FORMAT must be of the same format as specified for OPEN.
+BUFFERING is :FULL, :LINE or :NONE, as for EXT:STREAM-BUFFERING."
   (cond ((eq element-type 'character))
         ((reduce #'equal
                 (mapcar #'sys::normalize-type 
@@ -48,7 +56,9 @@ EXTERNAL-FORMAT must be of the same format as specified for OPEN."
          (error 'simple-type-error
                 :format-control
                 ":ELEMENT-TYPE must be CHARACTER or (UNSIGNED-BYTE 8).")))
-  (sys::%socket-stream socket element-type external-format))
+  (let ((stream (sys::%socket-stream socket element-type external-format)))
+    (setf (stream-buffering stream) buffering)
+    stream))
 
 (defun make-socket (host port)
   "Create a TCP socket for client communication to HOST on PORT."
@@ -109,4 +119,81 @@ EXTERNAL-FORMAT must be of the same format as specified for OPEN."
 Timeouts for writes should be implemented by spawning a guardian
 to the thread perfoming the socket write"))
 
+;;; Non-blocking channels and event loops
+
+(defun make-server-channel (port &key host backlog)
+  "Create a non-blocking TCP server channel listening for clients on PORT.
+HOST restricts it to the address of that host; a PORT of 0 picks a free port."
+  (sys::%make-server-channel host port backlog))
+
+(defun make-client-channel (host port)
+  "Create a non-blocking TCP channel connecting to HOST on PORT.
+Returns the channel and whether the connection was established at once;
+if not, register it for :CONNECT and call CHANNEL-FINISH-CONNECT when
+it is ready."
+  (sys::%make-client-channel host port))
+
+(defun channel-accept (server-channel)
+  "Return a non-blocking channel for a pending client of SERVER-CHANNEL,
+or NIL if there is none."
+  (sys::%channel-accept server-channel))
+
+(defun channel-finish-connect (channel)
+  "Complete the connection of CHANNEL, returning whether it is established."
+  (sys::%channel-finish-connect channel))
+
+(defun channel-read (channel vector &key (start 0) end)
+  "Read the octets available on CHANNEL into VECTOR between START and END.
+Returns the number of octets read, possibly 0, or NIL at end of file."
+  (sys::%channel-read channel vector start end))
+
+(defun channel-write (channel vector &key (start 0) end)
+  "Write the octets of VECTOR between START and END to CHANNEL, as many
+as fit into its buffer. Returns the number of octets written."
+  (sys::%channel-write channel vector start end))
+
+(defun channel-close (channel)
+  "Close CHANNEL, removing it from the event loops it is registered with."
+  (sys::%channel-close channel))
+
+(defun channel-local-port (channel)
+  "Returns the local port number of CHANNEL."
+  (sys::%channel-local-port channel))
+
+(defun make-event-loop ()
+  "Create an event loop, calling the handlers of the channels registered
+with it when they are ready."
+  (sys::%make-event-loop))
+
+(defun event-loop-register (event-loop channel operations &optional handler)
+  "Call HANDLER with CHANNEL and a list of the ready operations whenever
+CHANNEL is ready for any of OPERATIONS, a list of :ACCEPT, :CONNECT, :READ
+and :WRITE. For a registered CHANNEL, change its operations and, if given,
+its handler. May be called from any thread; when another thread runs
+EVENT-LOOP, the change takes effect as soon as that thread wakes up."
+  (sys::%event-loop-register event-loop channel operations handler))
+
+(defun event-loop-unregister (event-loop channel)
+  "Stop watching CHANNEL in EVENT-LOOP."
+  (sys::%event-loop-unregister event-loop channel))
+
+(defun event-loop-run-once (event-loop &optional timeout)
+  "Wait at most TIMEOUT seconds, or as long as it takes if TIMEOUT is NIL,
+for registered channels to become ready and call their handlers.
+Returns the number of handlers called."
+  (sys::%event-loop-run-once event-loop timeout))
+
+(defun event-loop-run (event-loop)
+  "Call the handlers of the channels of EVENT-LOOP as they become ready,
+until EVENT-LOOP-STOP is called or no channel is registered anymore."
+  (sys::%event-loop-run event-loop))
+
+(defun event-loop-stop (event-loop)
+  "Make EVENT-LOOP-RUN return. May be called from any thread."
+  (sys::%event-loop-stop event-loop))
+
+(defun event-loop-close (event-loop)
+  "Close EVENT-LOOP, unregistering all its channels."
+  (sys::%event-loop-close event-loop))
+
 (provide '#:socket)
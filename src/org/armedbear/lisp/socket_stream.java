@@ -56,6 +56,7 @@ public final class socket_stream extends Primitive
                  new Stream(Symbol.SYSTEM_STREAM, socket.getInputStream(), elementType, third);
              Stream out =
                  new Stream(Symbol.SYSTEM_STREAM, socket.getOutputStream(), elementType, third);
+             out.setBuffering(Stream.Buffering.FULL);
              return new SocketStream(socket, in, out);
         }
         catch (Exception e) {
@@ -167,18 +167,37 @@
 	   (declare (type vector ,maux))
 	   (,merge-sort-call ,msequence ,mstart ,mend ,mpredicate ,mkey ,maux nil))))))
 
-(defun merge-sort-vectors (sequence predicate key)
-  (let ((end (length sequence)))
-    (typecase sequence
-      (simple-vector 
-       (if key
-	   (merge-sort-body simple-vector svref predicate key sequence 0 end)
-	   (merge-sort-body simple-vector svref predicate nil sequence 0 end)))
-      (vector 
-       (if key
-	   (merge-sort-body vector aref predicate key sequence 0 end)
-	   (merge-sort-body vector aref predicate nil sequence 0 end))))
-    sequence))
+(defun merge-sort-vectors (sequence predicate key
+                           &optional (start 0) (end (length sequence)))
+  (typecase sequence
+    (simple-vector 
+     (if key
+	 (merge-sort-body simple-vector svref predicate key sequence start end)
+	 (merge-sort-body simple-vector svref predicate nil sequence start end)))
+    (vector 
+     (if key
+	 (merge-sort-body vector aref predicate key sequence start end)
+	 (merge-sort-body vector aref predicate nil sequence start end))))
+  sequence)
+
+;;; Stably merges the sorted runs [start, mid) and [mid, end) of
+;;; sequence into the same positions of the simple-vector aux; used
+;;; by THREADS:PSORT to combine the runs sorted by its workers.
+(defun merge-vector-runs (sequence start mid end aux predicate key)
+  (typecase sequence
+    (simple-vector
+     (if key
+	 (merge-vectors-body simple-vector svref sequence start mid
+			     sequence mid end aux start predicate key)
+	 (merge-vectors-body simple-vector svref sequence start mid
+			     sequence mid end aux start predicate)))
+    (vector
+     (if key
+	 (merge-vectors-body vector aref sequence start mid
+			     sequence mid end aux start predicate key)
+	 (merge-vectors-body vector aref sequence start mid
+			     sequence mid end aux start predicate))))
+  aux)
 
 
 ;;;
@@ -31,6 +31,30 @@
 
 (in-package #:system)
 
+;;; Incremented whenever a type or class definition changes, so results
+;;; cached by TYPEP and SUBTYPEP can be recognized as stale.
+(defvar *type-definitions-generation* 0)
+
+(defun note-type-definitions-changed ()
+  (setf *type-definitions-generation*
+        (logand (1+ *type-definitions-generation*) most-positive-fixnum)))
+
+;;; Returns true if TYPE can be used as a key in the EQUAL hash tables
+;;; caching type results: the objects in its MEMBER and EQL types have to
+;;; be symbols, numbers or characters, for which EQUAL and EQL agree.
+(defun cacheable-type-specifier-p (type)
+  (cond ((consp type)
+         (let ((objects-p (memq (%car type) '(member eql))))
+           (do ((tail (if objects-p (%cdr type) type) (%cdr tail)))
+               ((atom tail) (null tail))
+             (unless (if objects-p
+                         (let ((object (%car tail)))
+                           (or (symbolp object) (numberp object)
+                               (characterp object)))
+                         (cacheable-type-specifier-p (%car tail)))
+               (return nil)))))
+        ((or (symbolp type) (numberp type) (classp type)))))
+
 (defparameter *known-types* (make-hash-table :test 'eq))
 
 (defun initialize-known-types ()
@@ -779,5 +803,57 @@
           (t
            (values nil nil)))))
 
+;;; Results of SUBTYPEP for pairs of type specifiers, valid as long as
+;;; no type or class definition changes. As for TYPEP's predicates, a
+;;; direct-mapped cache keyed on the identity of the specifiers sits in
+;;; front of the EQUAL hash table; its entries are vectors holding both
+;;; specifiers, copies of them, the generation and the two results.
+(defvar *subtypep-results* (make-hash-table :test 'equal))
+
+(defconstant +subtypep-results-limit+ 1024)
+
+(defconstant +recent-subtypep-results-size+ 256)
+
+(defvar *recent-subtypep-results*
+  (make-array +recent-subtypep-results-size+ :initial-element nil))
+
+(defun cached-subtypep (type1 type2)
+  (let* ((generation *type-definitions-generation*)
+         (index (logand (logxor (identity-hash-code type1)
+                                (ash (identity-hash-code type2) -3))
+                        (1- +recent-subtypep-results-size+)))
+         (recent (svref *recent-subtypep-results* index)))
+    (when (and recent
+               (eq (svref recent 0) type1)
+               (eq (svref recent 1) type2)
+               (eql (svref recent 4) generation)
+               (equal (svref recent 2) type1)
+               (equal (svref recent 3) type2))
+      (return-from cached-subtypep (values (svref recent 5) (svref recent 6))))
+    (unless (and (cacheable-type-specifier-p type1)
+                 (cacheable-type-specifier-p type2))
+      (return-from cached-subtypep (%subtypep type1 type2)))
+    (let* ((key (cons type1 type2))
+           (entry (gethash key *subtypep-results*)))
+      (multiple-value-bind (subtype-p valid-p)
+          (if (and entry (eql (car entry) generation))
+              (values (cadr entry) (cddr entry))
+              (multiple-value-bind (subtype-p valid-p)
+                  (progn
+                    (setf key (copy-tree key))
+                    (%subtypep type1 type2))
+                (when (>= (hash-table-count *subtypep-results*)
+                          +subtypep-results-limit+)
+                  (clrhash *subtypep-results*))
+                (setf (gethash key *subtypep-results*)
+                      (list* generation subtype-p valid-p))
+                (values subtype-p valid-p)))
+        (setf (svref *recent-subtypep-results* index)
+              (vector type1 type2 (copy-tree type1) (copy-tree type2)
+                      generation subtype-p valid-p))
+        (values subtype-p valid-p)))))
+
 (defun subtypep (type1 type2 &optional environment)
-  (%subtypep type1 type2 environment))
+  (if environment
+      (%subtypep type1 type2 environment)
+      (cached-subtypep type1 type2)))
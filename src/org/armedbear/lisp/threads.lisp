@@ -33,7 +33,7 @@
 (in-package #:threads)
 
 (export '(make-mailbox mailbox-send mailbox-empty-p
-          mailbox-read mailbox-peek
+          mailbox-read mailbox-peek mailbox-try-read mailbox-drain
           make-thread-lock with-thread-lock
           current-thread yield
           make-mutex get-mutex release-mutex with-mutex))
@@ -47,76 +47,31 @@
     (abort () :report "Abort thread.")))
 
 ;;
-;; Mailbox implementation
+;; SUBMIT helper: fulfills FUTURE with the values of FUN, or has
+;; FUTURE-VALUE signal the error FUN signalled
 ;;
 
-;; this export statement is also in autoloads.lisp
-(export '(make-mailbox mailbox-send mailbox-empty-p mailbox-read mailbox-peek))
-
-(defstruct mailbox
-  queue)
-
-(defun mailbox-send (mailbox item)
-  "Sends an item into the mailbox, notifying 1 waiter
-to wake up for retrieval of that object."
-  (threads:synchronized-on mailbox
-     (push item (mailbox-queue mailbox))
-     (threads:object-notify mailbox)))
-
-(defun mailbox-empty-p (mailbox)
-  "Returns non-NIL if the mailbox can be read from, NIL otherwise."
-  ;; Because we're just checking the value of an object reference,
-  ;; (which are atomically gotten and set) we don't need to lock
-  ;; the mailbox before operating on it.
-  (null (mailbox-queue mailbox)))
-
-(defun mailbox-read (mailbox)
-  "Blocks on the mailbox until an item is available for reading.
-When an item is available, it is returned."
-  (threads:synchronized-on mailbox
-     (loop
-        (unless (mailbox-empty-p mailbox)
-          (return))
-        (object-wait mailbox))
-     (pop (mailbox-queue mailbox))))
-
-(defun mailbox-peek (mailbox)
-  "Returns two values. The second returns non-NIL when the mailbox
-is empty. The first is the next item to be read from the mailbox.
-
-Note that due to multi-threading, the first value returned upon
-peek, may be different from the one returned upon next read in the
-calling thread."
-  (threads:synchronized-on mailbox
-     (values (car (mailbox-queue mailbox))
-             (null (mailbox-queue mailbox)))))
-
+(defun future-task-wrapper (future fun)
+  (handler-case
+      (multiple-value-call #'fulfill future (funcall fun))
+    (error (condition)
+      (%fail-future future condition))))
 
+;; Mailboxes are implemented in Mailbox.java
 
 ;;
-;; Mutex implementation
+;; Mutexes, read-write locks, condition variables and semaphores
+;; are implemented in Mutex.java, ReadWriteLock.java,
+;; ConditionVariable.java and LispSemaphore.java
 ;;
 
-
-;; this export statement is also in autoloads.lisp
-(export '(make-mutex get-mutex release-mutex))
-
-(defstruct mutex
-  in-use)
-
-(defun get-mutex (mutex)
-  "Acquires a lock on the `mutex'."
-  (synchronized-on mutex
-    (loop
-       while (mutex-in-use mutex)
-       do (object-wait mutex))
-    (setf (mutex-in-use mutex) T)))
-
-(defun release-mutex (mutex)
-  "Releases a lock on the `mutex'."
-  (synchronized-on mutex
-    (setf (mutex-in-use mutex) NIL)
-    (object-notify mutex)))
+(export '(make-mutex get-mutex release-mutex mutex-held-p with-mutex
+          make-read-write-lock get-read-lock release-read-lock
+          get-write-lock release-write-lock with-read-lock with-write-lock
+          make-condition-variable condition-wait condition-notify
+          condition-broadcast
+          make-semaphore signal-semaphore wait-on-semaphore semaphore-count
+          lock-statistics))
 
 (defmacro with-mutex ((mutex) &body body)
   "Acquires a lock on `mutex', executes the body
@@ -129,6 +84,312 @@ and releases the lock."
             ,@body)
           (release-mutex ,m))))))
 
+(defmacro with-read-lock ((lock) &body body)
+  "Acquires `lock' for reading, executes the body
+and releases the lock."
+  (let ((l (gensym)))
+    `(let ((,l ,lock))
+       (when (get-read-lock ,l)
+         (unwind-protect
+          (progn
+            ,@body)
+          (release-read-lock ,l))))))
+
+(defmacro with-write-lock ((lock) &body body)
+  "Acquires `lock' for writing, executes the body
+and releases the lock."
+  (let ((l (gensym)))
+    `(let ((,l ,lock))
+       (when (get-write-lock ,l)
+         (unwind-protect
+          (progn
+            ,@body)
+          (release-write-lock ,l))))))
+
+
+;;
+;; Special binding snapshots are implemented in SpecialBindingsSnapshot.java
+;;
+
+(export '(capture-special-bindings call-with-special-bindings
+          with-special-bindings special-bindings-snapshot))
+
+(defmacro with-special-bindings ((snapshot) &body body)
+  "Executes the body with the special bindings of `snapshot', from
+CAPTURE-SPECIAL-BINDINGS, in place of those of the current thread."
+  `(call-with-special-bindings ,snapshot (lambda () ,@body)))
+
+;;
+;; Compare-and-swap
+;;
+
+(export '(compare-and-swap atomic-incf atomic-decf))
+
+(eval-when (:compile-toplevel :load-toplevel :execute)
+  (defun expand-cas-place (place environment)
+    "Returns the temporary variables, their value forms, a form reading
+`place' from them and a function of the forms for the old and new
+values returning a form which swaps them in `place'."
+    (let ((place (macroexpand place environment)))
+      (flet ((unsupported ()
+               (error "~S is not a place supported by ~S."
+                      place 'compare-and-swap)))
+        (cond ((symbolp place)
+               (unless (ext:special-variable-p place)
+                 (unsupported))
+               (values nil nil place
+                       (lambda (old new)
+                         `(sys::%cas-symbol-value ',place ,old ,new))))
+              ((atom place)
+               (unsupported))
+              (t
+               (let* ((operator (car place))
+                      (args (cdr place))
+                      (temps (mapcar (lambda (arg)
+                                       (declare (ignore arg))
+                                       (gensym))
+                                     args))
+                      (slot (and (symbolp operator)
+                                 (get operator 'sys::structure-slot-index))))
+                 (flet ((result (cas-operator &rest extra-args)
+                          (values temps args `(,operator ,@temps)
+                                  (lambda (old new)
+                                    `(,cas-operator ,@temps ,@extra-args
+                                                    ,old ,new)))))
+                   (cond ((and (member operator '(car first cdr rest
+                                                 symbol-value))
+                               (= (length args) 1))
+                          (result (ecase operator
+                                    ((car first) 'sys::%cas-car)
+                                    ((cdr rest) 'sys::%cas-cdr)
+                                    (symbol-value 'sys::%cas-symbol-value))))
+                         ((and (eq operator 'svref) (= (length args) 2))
+                          (result 'sys::%cas-svref))
+                         ((and slot (= (length args) 1))
+                          (values temps args `(,operator ,@temps)
+                                  (lambda (old new)
+                                    `(sys::%cas-structure-ref
+                                      (sys::require-type ,(car temps)
+                                                         ',(car slot))
+                                      ,(cdr slot) ,old ,new))))
+                         (t
+                          (unsupported)))))))))))
+
+(defmacro compare-and-swap (place old new &environment environment)
+  "Atomically stores `new' in `place' if its value is EQ to `old'.
+Returns the value found in `place': the store happened if and only if
+it is EQ to `old'.
+
+`place' may be a special variable, or a CAR, CDR, FIRST, REST, SVREF,
+SYMBOL-VALUE or DEFSTRUCT slot accessor form. The value of a special
+variable is that of its binding in the current thread, if any."
+  (multiple-value-bind (temps values reader cas)
+      (expand-cas-place place environment)
+    (declare (ignore reader))
+    `(let* (,@(mapcar #'list temps values))
+       ,(funcall cas old new))))
+
+(eval-when (:compile-toplevel :load-toplevel :execute)
+  (defun expand-atomic-update (place delta operator environment)
+    (multiple-value-bind (temps values reader cas)
+        (expand-cas-place place environment)
+      (let ((old (gensym))
+            (new (gensym))
+            (d (gensym)))
+        `(let* (,@(mapcar #'list temps values)
+                (,d ,delta))
+           (loop
+             (let* ((,old ,reader)
+                    (,new (,operator ,old ,d)))
+               (when (eq ,(funcall cas old new) ,old)
+                 (return ,new)))))))))
+
+(defmacro atomic-incf (place &optional (delta 1) &environment environment)
+  "Atomically increments the number in `place' by `delta', retrying
+if another thread changed it meanwhile. Returns the new value.
+
+Accepts the places COMPARE-AND-SWAP does."
+  (expand-atomic-update place delta '+ environment))
+
+(defmacro atomic-decf (place &optional (delta 1) &environment environment)
+  "Atomically decrements the number in `place' by `delta'.
+See `atomic-incf'."
+  (expand-atomic-update place delta '- environment))
+
+;;
+;; Parallel sequence operations
+;;
+
+(export '(*parallel-chunk-size* pmap preduce psort
+          pcount pcount-if pfind pfind-if))
+
+(defvar *parallel-chunk-size* 4096
+  "The smallest number of elements the parallel sequence operations
+hand to a thread of the pool.")
+
+(defun chunk-bounds (length pool &optional (granularity 1))
+  "Returns a list of (start . end) conses dividing [0, `length') in as
+many chunks as there are threads in `pool', none of which is smaller
+than *PARALLEL-CHUNK-SIZE* unless it is the only one. Chunks start at
+multiples of `granularity'."
+  (let* ((chunks (max 1 (min (thread-pool-size pool)
+                             (floor length (max 1 *parallel-chunk-size*)))))
+         (size (* granularity (ceiling (ceiling length chunks) granularity))))
+    (loop for start from 0 below (max length 1) by (max size 1)
+          collect (cons start (min length (+ start size))))))
+
+(defun map-chunks (function chunks pool)
+  "Calls `function' on each of `chunks', in the threads of `pool' and
+this one, and returns the list of its values. The threads of `pool'
+see the special bindings of this one."
+  (let* ((bindings (and (rest chunks) (capture-special-bindings)))
+         (futures (mapcar (lambda (chunk)
+                            (submit (lambda ()
+                                      (with-special-bindings (bindings)
+                                        (funcall function chunk)))
+                                    pool))
+                          (rest chunks))))
+    (cons (funcall function (first chunks))
+          (mapcar #'future-value futures))))
+
+(defmacro do-chunks (((start end) chunks pool) &body body)
+  "Evaluates `body' with `start' and `end' bound to the bounds of each
+of `chunks' in parallel, returning the list of its values."
+  (let ((chunk (gensym)))
+    `(map-chunks (lambda (,chunk)
+                   (let ((,start (car ,chunk))
+                         (,end (cdr ,chunk)))
+                     ,@body))
+                 ,chunks ,pool)))
+
+(defun ensure-vector (sequence)
+  (if (vectorp sequence)
+      sequence
+      (coerce sequence 'simple-vector)))
+
+(defun pmap (result-type function vector &key pool)
+  "Like MAP on a single sequence, calling `function' from the threads
+of `pool', by default the DEFAULT-THREAD-POOL, on chunks of `vector'.
+`function' must be safe to call from several threads at once."
+  (let* ((vector (ensure-vector vector))
+         (length (length vector))
+         (function (coerce function 'function))
+         (result (and result-type (make-sequence result-type length)))
+         (target (and result (ensure-vector result))))
+    ;; Bit vectors store 64 elements in each word, and setting one
+    ;; rewrites its whole word: give each thread whole words.
+    (do-chunks ((start end)
+                (chunk-bounds length pool (if (bit-vector-p target) 64 1))
+                pool)
+      (if target
+          (loop for i from start below end
+                do (setf (aref target i) (funcall function (aref vector i))))
+          (loop for i from start below end
+                do (funcall function (aref vector i)))))
+    (cond ((null result) nil)
+          ((eq target result) result)
+          (t (replace result target)))))
+
+(defun preduce (function vector &key key (start 0) end
+                                     (initial-value nil initial-value-p)
+                                     pool)
+  "Like REDUCE, reducing chunks of `vector' from the threads of `pool',
+by default the DEFAULT-THREAD-POOL, then the results of the chunks in
+order. `function' must be associative; `initial-value' is used once."
+  (let* ((vector (ensure-vector vector))
+         (end (or end (length vector)))
+         (partials (if (= start end)
+                       nil
+                       (do-chunks ((chunk-start chunk-end)
+                                   (chunk-bounds (- end start) pool) pool)
+                         (reduce function vector :key key
+                                                 :start (+ start chunk-start)
+                                                 :end (+ start chunk-end))))))
+    (if initial-value-p
+        (reduce function partials :initial-value initial-value)
+        (reduce function partials))))
+
+(defun psort (vector predicate &key key pool)
+  "Like STABLE-SORT, sorting chunks of `vector' from the threads of
+`pool', by default the DEFAULT-THREAD-POOL, then merging them pairwise
+in parallel. `predicate' and `key' must be safe to call from several
+threads at once. Lists are sorted with STABLE-SORT."
+  (unless (vectorp vector)
+    (return-from psort (stable-sort vector predicate :key key)))
+  (let* ((predicate (coerce predicate 'function))
+         (key (and key (coerce key 'function)))
+         (length (length vector))
+         ;; As in PMAP, threads writing to a bit vector get whole words;
+         ;; merged runs start where chunks do, so they do as well.  A
+         ;; displaced bit vector needn't start on a word: sort it whole.
+         (runs (chunk-bounds length pool
+                             (cond ((simple-bit-vector-p vector) 64)
+                                   ((bit-vector-p vector) (max length 1))
+                                   (t 1)))))
+    (when (< 1 length)
+      (do-chunks ((start end) runs pool)
+        (sys::merge-sort-vectors vector predicate key start end))
+      ;; Merge adjacent runs through AUX until one is left.
+      (let ((aux (make-array length)))
+        (loop while (rest runs)
+              do (let ((pairs (loop for (a b) on runs by #'cddr
+                                    collect (list (car a) (cdr a)
+                                                  (cdr (or b a))))))
+                   (map-chunks (lambda (pair)
+                                 (destructuring-bind (start mid end) pair
+                                   (sys::merge-vector-runs vector start mid end
+                                                           aux predicate key)
+                                   (replace vector aux :start1 start :end1 end
+                                                       :start2 start)))
+                               pairs pool)
+                   (setf runs (mapcar (lambda (pair)
+                                        (cons (first pair) (third pair)))
+                                      pairs))))))
+    vector))
+
+(defun pcount-if (predicate vector &key key pool)
+  "Like COUNT-IF, counting in chunks of `vector' from the threads of
+`pool', by default the DEFAULT-THREAD-POOL."
+  (let ((vector (ensure-vector vector)))
+    (reduce #'+ (do-chunks ((start end) (chunk-bounds (length vector) pool)
+                            pool)
+                  (count-if predicate vector :key key :start start :end end)))))
+
+(defun pcount (item vector &key (test #'eql) key pool)
+  "Like COUNT, counting in chunks of `vector' from the threads of
+`pool', by default the DEFAULT-THREAD-POOL."
+  (let ((test (coerce test 'function)))
+    (pcount-if (lambda (x) (funcall test item x)) vector :key key :pool pool)))
+
+(defun pfind-if (predicate vector &key key pool)
+  "Like FIND-IF, searching chunks of `vector' from the threads of
+`pool', by default the DEFAULT-THREAD-POOL. Returns the first element
+satisfying `predicate' and, as a second value, its index. Chunks after
+one with a match are skipped if not already being searched."
+  (let* ((vector (ensure-vector vector))
+         (length (length vector))
+         ;; The car holds the lowest index found so far.
+         (found (list length))
+         (predicate (coerce predicate 'function))
+         (key (and key (coerce key 'function))))
+    (do-chunks ((start end) (chunk-bounds length pool) pool)
+      (when (< start (car found))
+        (let ((position (position-if predicate vector :key key
+                                     :start start :end end)))
+          (when position
+            (loop for lowest = (car found)
+                  until (or (<= lowest position)
+                            (eq (compare-and-swap (car found) lowest position)
+                                lowest)))))))
+    (if (< (car found) length)
+        (values (aref vector (car found)) (car found))
+        (values nil nil))))
+
+(defun pfind (item vector &key (test #'eql) key pool)
+  "Like FIND, searching chunks of `vector' from the threads of `pool',
+by default the DEFAULT-THREAD-POOL. See `pfind-if'."
+  (let ((test (coerce test 'function)))
+    (pfind-if (lambda (x) (funcall test item x)) vector :key key :pool pool)))
 
 ;;
 ;; Lock implementation
@@ -136,14 +397,19 @@ and releases the lock."
 
 (defun make-thread-lock ()
   "Returns an object to be used with the `with-thread-lock' macro."
-  (gensym))
+  (make-mutex))
 
 (defmacro with-thread-lock ((lock) &body body)
-  "Acquires a lock on the `lock', executes `body' and releases the lock."
-  (let ((glock (gensym)))
+  "Acquires a lock on the `lock', executes `body' and releases the lock.
+Locks which aren't mutexes are synchronized on."
+  (let ((glock (gensym))
+        (gbody (gensym)))
     `(let ((,glock ,lock))
-       (synchronized-on ,glock
-          ,@body))))
+       (flet ((,gbody () ,@body))
+         (if (mutex-p ,glock)
+             (with-mutex (,glock) (,gbody))
+             (synchronized-on ,glock
+               (,gbody)))))))
 
 (defun yield ()
   "A hint to the scheduler that the current thread is willing to yield its current use of a processor. The scheduler is free to ignore this hint. 
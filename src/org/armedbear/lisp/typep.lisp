@@ -71,9 +71,115 @@
              :format-arguments (list type)))
     (unless (and (symbolp type) (get type 'deftype-definition))
       (return-from %typep (simple-typep object type))))
+  (let ((predicate (recent-type-predicate type)))
+    (cond (predicate
+           (funcall (the function predicate) object))
+          ((cacheable-type-specifier-p type)
+           (funcall (the function (type-predicate type)) object))
+          (t
+           (normalized-typep object (normalize-type type))))))
+
+;;; Type specifiers which SIMPLE-TYPEP can't handle directly are turned
+;;; into predicate closures once, with any DEFTYPEs expanded, and the
+;;; closures are cached.
+(defvar *type-predicates* (make-hash-table :test 'equal))
+
+(defconstant +type-predicates-limit+ 1024)
+
+;;; In front of that table, a direct-mapped cache keyed on the identity
+;;; of the specifier catches the common case of the same specifier being
+;;; passed again. Its entries hold the specifier, a copy of it (to notice
+;;; changes made to it by the caller), the type definitions generation
+;;; and the predicate.
+(defconstant +recent-type-predicates-size+ 256)
+
+(defvar *recent-type-predicates*
+  (make-array +recent-type-predicates-size+ :initial-element nil))
+
+(defun recent-type-predicate (type)
+  (let ((entry (svref *recent-type-predicates*
+                      (logand (identity-hash-code type)
+                              (1- +recent-type-predicates-size+)))))
+    (when (and entry
+               (eq (car entry) type)
+               (eql (caddr entry) *type-definitions-generation*)
+               (equal (cadr entry) type))
+      (cdddr entry))))
+
+(defun type-predicate (type)
+  (let* ((generation *type-definitions-generation*)
+         (entry (gethash type *type-predicates*))
+         (predicate
+          (if (and entry (eql (car entry) generation))
+              (cdr entry)
+              ;; Work on a copy, so later changes to TYPE by the caller
+              ;; affect neither the key nor the predicate.
+              (let* ((type (copy-tree type))
+                     (predicate (make-type-predicate type)))
+                (when (>= (hash-table-count *type-predicates*)
+                          +type-predicates-limit+)
+                  (clrhash *type-predicates*))
+                (setf (gethash type *type-predicates*)
+                      (cons generation predicate))
+                predicate))))
+    (setf (svref *recent-type-predicates*
+                 (logand (identity-hash-code type)
+                         (1- +recent-type-predicates-size+)))
+          (list* type (copy-tree type) generation predicate))
+    predicate))
+
+(defun make-type-predicate (type)
   (setf type (normalize-type type))
+  (if (atom type)
+      (lambda (object) (simple-typep object type))
+      (let ((i (%cdr type)))
+        (flet ((type-predicates (types)
+                 (mapcar #'make-type-predicate types)))
+          (case (%car type)
+            (INTEGER
+             (if (endp i)
+                 #'integerp
+                 (lambda (object)
+                   (and (integerp object) (in-interval-p object i)))))
+            (CONS
+             (let ((car-predicate (car (type-predicates (list (car i)))))
+                   (cdr-predicate (car (type-predicates (list (cadr i))))))
+               (lambda (object)
+                 (and (consp object)
+                      (funcall (the function car-predicate) (%car object))
+                      (funcall (the function cdr-predicate) (%cdr object))))))
+            (AND
+             (let ((predicates (type-predicates i)))
+               (lambda (object)
+                 (dolist (predicate predicates t)
+                   (unless (funcall (the function predicate) object)
+                     (return nil))))))
+            (OR
+             (let ((predicates (type-predicates i)))
+               (lambda (object)
+                 (dolist (predicate predicates nil)
+                   (when (funcall (the function predicate) object)
+                     (return t))))))
+            (NOT
+             (let ((predicate (car (type-predicates i))))
+               (lambda (object)
+                 (not (funcall (the function predicate) object)))))
+            (MEMBER
+             (lambda (object) (member object i)))
+            (EQL
+             (let ((x (car i)))
+               (lambda (object) (eql object x))))
+            (SATISFIES
+             (let ((predicate-name (car i)))
+               (if (symbolp predicate-name)
+                   (lambda (object) (funcall predicate-name object))
+                   (lambda (object) (normalized-typep object type)))))
+            (t
+             (lambda (object) (normalized-typep object type))))))))
+
+(defun normalized-typep (object type)
   (when (atom type)
-    (return-from %typep (simple-typep object type)))
+    (return-from normalized-typep (simple-typep object type)))
   (let ((tp (%car type))
         (i (%cdr type)))
     (case tp
@@ -152,12 +258,12 @@
       (AND
        (dolist (type i)
          (unless (%typep object type)
-           (return-from %typep nil)))
+           (return-from normalized-typep nil)))
        t)
       (OR
        (dolist (type i)
          (when (%typep object type)
-           (return-from %typep t)))
+           (return-from normalized-typep t)))
        nil)
       (NOT
        (not (%typep object (car i))))
@@ -56,7 +56,7 @@ import org.armedbear.lisp.Debug;
  * all methods are overridden.
  */
 public class DecodingReader
-    extends PushbackReader {
+    extends PushbackReader implements LineReader {
 
     // dummy reader which we need to call the Pushback constructor
     // because a null value won't work
@@ -74,6 +74,9 @@ public class DecodingReader
     // Encoder, used to put characters back on the input stream when unreading
     private CharsetEncoder ce;
 
+    // whether readLine() may look for newlines in bbuf
+    private boolean newlineIsByte;
+
     public DecodingReader(InputStream stream, int size, Charset cs) {
         super(staticReader); // pass a dummy stream value into the constructor
 
@@ -83,6 +86,7 @@ public class DecodingReader
         this.cd.onUnmappableCharacter(CodingErrorAction.REPLACE);
         this.cd.onMalformedInput(CodingErrorAction.REPLACE);
         this.ce = cs.newEncoder();
+        this.newlineIsByte = isNewlineByte(cs);
         bbuf = ByteBuffer.allocate(size);
         bbuf.flip();  // mark the buffer as 'needs refill'
     }
@@ -95,6 +99,18 @@ public class DecodingReader
         this.cd.onUnmappableCharacter(CodingErrorAction.REPLACE);
         this.cd.onMalformedInput(CodingErrorAction.REPLACE);
         this.ce = cs.newEncoder();
+        this.newlineIsByte = isNewlineByte(cs);
+    }
+
+    /** Returns true when cs encodes a newline as the single byte 10
+     * and never uses that byte as part of another character, so that
+     * lines can be found in undecoded input.
+     */
+    static boolean isNewlineByte(Charset cs) {
+        if (! cs.canEncode())
+            return false;
+        byte[] newline = "\n".getBytes(cs);
+        return newline.length == 1 && newline[0] == '\n';
     }
 
     /** Get the Charset used to decode bytes from the input stream. */
@@ -291,4 +307,48 @@ public class DecodingReader
         return read(cbuf, 0, cbuf.length);
     }
 
+    public final int readLine(char[] cbuf, int off, int len) throws IOException {
+        if (! newlineIsByte) {
+            int pos = off;
+            while (pos < off + len) {
+                if (read(cbuf, pos, 1) < 0)
+                    break;
+                if (cbuf[pos++] == '\n')
+                    break;
+            }
+            return (pos == off) ? -1 : pos - off;
+        }
+
+        CharBuffer cb = CharBuffer.wrap(cbuf, off, len);
+        boolean notEof = true;
+        boolean forceRead = false;
+        boolean found = false;
+
+        while (cb.remaining() > 0 && notEof && ! found) {
+            int oldRemaining = cb.remaining();
+            notEof = ensureBbuf(forceRead);
+            // decode no further than the first newline byte
+            int limit = bbuf.limit();
+            int newline = bbuf.position();
+            while (newline < limit && bbuf.get(newline) != '\n')
+                newline++;
+            if (newline < limit)
+                bbuf.limit(newline + 1);
+            CoderResult r = cd.decode(bbuf, cb, ! notEof);
+            found = (newline < limit && bbuf.position() == newline + 1);
+            bbuf.limit(limit);
+            if (oldRemaining == cb.remaining()
+                && CoderResult.OVERFLOW == r) {
+                // see read(CharBuffer)
+                cb.put('?');
+                bbuf.get();
+            }
+            forceRead = (CoderResult.UNDERFLOW == r && ! found);
+        }
+        if (cb.remaining() == len)
+            return -1;
+        else
+            return len - cb.remaining();
+    }
+
 }
\ No newline at end of file
@@ -44,6 +44,7 @@ import java.io.StringReader;
 import java.io.Writer;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
@@ -51,6 +52,7 @@ import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CoderResult;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.UnsupportedCharsetException;
+import java.util.Arrays;
 
 import org.armedbear.lisp.Debug;
 
@@ -177,7 +179,8 @@ public class RandomAccessCharacterFile {
     // because a null value won't work
     static Reader staticReader = new StringReader("");
 
-    private class RandomAccessReader extends PushbackReader {
+    private class RandomAccessReader extends PushbackReader
+        implements LineReader {
 
         RandomAccessReader() {
                 // because we override all methods of Pushbackreader,
@@ -236,6 +239,10 @@ public class RandomAccessCharacterFile {
             return RandomAccessCharacterFile.this.read(cb, off, len);
         }
 
+        public final int readLine(char[] cb, int off, int len) throws IOException {
+            return RandomAccessCharacterFile.this.readLine(cb, off, len);
+        }
+
         @Override
         public final boolean ready() throws IOException {
             return true;
@@ -263,7 +270,9 @@ public class RandomAccessCharacterFile {
     }
 
 
-    final static int BUFSIZ = 4*1024; // setting this to a small value like 8 is helpful for testing.
+    public final static int BUFSIZ = 4*1024; // setting this to a small value like 8 is helpful for testing.
+    final static int MAP_WINDOW = 64*1024*1024; // distance between the windows of a mapped file.
+    final static int MAP_OVERLAP = 16; // enough for any character to end in the window it starts in.
 
     private RandomAccessWriter writer;
     private RandomAccessReader reader;
@@ -275,6 +284,17 @@ public class RandomAccessCharacterFile {
     private CharsetEncoder cenc;
     private CharsetDecoder cdec;
 
+    /**
+     * The charsets decoded and encoded directly between bbuf and char
+     * arrays. The fast paths stop at anything they don't handle
+     * (malformed input, unmappable characters, a character split at
+     * the end of bbuf) and leave it to cdec and cenc, so that the
+     * results are the same.
+     */
+    private enum Coding { GENERAL, US_ASCII, ISO_8859_1, UTF_8 }
+    private Coding coding;
+    private boolean newlineIsByte; /* whether readLine() may look for newlines in bbuf. */
+
     /**
      * bbuf is treated as a cache of the file content.
      * If it points to somewhere in the middle of the file, it holds the copy of the file content,
@@ -288,12 +308,43 @@ public class RandomAccessCharacterFile {
     private boolean bbufIsReadable; /* whether bbuf.remaining() contains readable content. */
     private long bbufpos; /* where the beginning of bbuf is pointing in the file now. */
 
+    /**
+     * When the file is mapped, bbuf is one of the read-only windows
+     * instead of a copy of the file content. Window i starts at
+     * i * MAP_WINDOW and reaches MAP_OVERLAP bytes into the next one.
+     * Windows are mapped when first used and kept, so that seeking
+     * back and forth doesn't map the file again; nothing is ever
+     * written through them.
+     */
+    private final boolean mapped;
+    private MappedByteBuffer[] windows;
+
     public RandomAccessCharacterFile(RandomAccessFile raf, String encoding) throws IOException {
+        this(raf, encoding, false);
+    }
+
+    /** When mapped is true, the file is read through memory-mapped
+     * windows and must be opened for reading only.
+     */
+    public RandomAccessCharacterFile(RandomAccessFile raf, String encoding,
+                                     boolean mapped) throws IOException {
+        this(raf, encoding, mapped, BUFSIZ);
+    }
+
+    /** bufferSize is the size of the buffer in bytes; it is ignored
+     * when the file is mapped, and raised to the longest encoding of a
+     * character, which has to fit in the buffer.
+     */
+    public RandomAccessCharacterFile(RandomAccessFile raf, String encoding,
+                                     boolean mapped, int bufferSize)
+        throws IOException {
 
         fcn = raf.getChannel();
+        this.mapped = mapped;
 
         setEncoding(encoding);
-        bbuf = ByteBuffer.allocate(BUFSIZ);
+        bbuf = mapped ? ByteBuffer.allocate(0)
+            : ByteBuffer.allocate(Math.max(bufferSize, minimumBufferSize()));
 
         // there is no readable data available in the buffers.
         bbuf.flip();
@@ -325,6 +376,31 @@ public class RandomAccessCharacterFile {
       cdec.onMalformedInput(CodingErrorAction.REPLACE);
       cdec.onUnmappableCharacter(CodingErrorAction.REPLACE);
       cenc = cset.newEncoder();
+      newlineIsByte = DecodingReader.isNewlineByte(cset);
+      String name = cset.name();
+      if (name.equals("US-ASCII"))
+        coding = Coding.US_ASCII;
+      else if (name.equals("ISO-8859-1"))
+        coding = Coding.ISO_8859_1;
+      else if (name.equals("UTF-8"))
+        coding = Coding.UTF_8;
+      else
+        coding = Coding.GENERAL;
+      if (bbuf != null && !mapped && bbuf.capacity() < minimumBufferSize()) {
+        ByteBuffer larger = ByteBuffer.allocate(minimumBufferSize());
+        larger.put(bbuf.array(), 0, bbuf.limit());
+        larger.limit(bbuf.limit());
+        larger.position(bbuf.position());
+        bbuf = larger;
+      }
+    }
+
+    /** Returns the size of the smallest buffer in which any character
+     * fits once encoded: four bytes for a surrogate pair in UTF-8, or
+     * more for some encodings.
+     */
+    private int minimumBufferSize() {
+      return Math.max(4, (int) Math.ceil(cenc.maxBytesPerChar()));
     }
 
     public Writer getWriter() {
@@ -353,6 +429,9 @@ public class RandomAccessCharacterFile {
     }
 
     private final boolean ensureReadBbuf(boolean force) throws IOException {
+        if (mapped)
+            return ensureMappedBbuf(force);
+
         boolean bufReady = true;
 
         if ((bbuf.remaining() == 0) || force || ! bbufIsReadable) {
@@ -381,8 +460,51 @@ public class RandomAccessCharacterFile {
         return bufReady;
     }
 
+    private final boolean ensureMappedBbuf(boolean force) throws IOException {
+        if (bbuf.remaining() > 0 && ! force)
+            return true;
+
+        long pos = bbufpos + bbuf.position();
+        int index = (int)(pos / MAP_WINDOW);
+        long start = (long)index * MAP_WINDOW;
+        long size = fcn.size();
+        if (pos >= size)
+            return false;
+
+        if (windows == null)
+            windows = new MappedByteBuffer[index + 1];
+        else if (index >= windows.length)
+            windows = Arrays.copyOf(windows, index + 1);
+        MappedByteBuffer window = windows[index];
+        long length = Math.min(size - start, MAP_WINDOW + MAP_OVERLAP);
+        if (window == null || window.capacity() < length) {
+            // not mapped yet, or the file has grown since
+            window = fcn.map(FileChannel.MapMode.READ_ONLY, start, length);
+            windows[index] = window;
+        } else if (window == bbuf)
+            // the partial character at the end is at the end of the file
+            return false;
+
+        window.clear();
+        window.position((int)(pos - start));
+        bbuf = window;
+        bbufpos = start;
+        return true;
+    }
+
 
     final int read(char[] cb, int off, int len) throws IOException {
+        if (coding == Coding.GENERAL)
+            return decodeAndRead(cb, off, len);
+        int n = fastRead(cb, off, len, false);
+        if (n == len || bbuf.remaining() == 0)
+            return (n == 0) ? -1 : n;
+        int m = decodeAndRead(cb, off + n, len - n);
+        return (m < 0) ? ((n == 0) ? -1 : n) : n + m;
+    }
+
+    private final int decodeAndRead(char[] cb, int off, int len)
+        throws IOException {
         CharBuffer cbuf = CharBuffer.wrap(cb, off, len);
         boolean decodeWasUnderflow = false;
         boolean atEof = false;
@@ -412,9 +534,293 @@ public class RandomAccessCharacterFile {
         }
     }
 
-    final void write(char[] cb, int off, int len) throws IOException {
+    /** Reads characters up to and including the next newline, or
+     * until len characters have been read.
+     *
+     * When the encoding allows it, the newline is found in bbuf
+     * and only the bytes up to it are decoded.
+     */
+    final int readLine(char[] cb, int off, int len) throws IOException {
+        if (! newlineIsByte) {
+            int pos = off;
+            while (pos < off + len) {
+                if (read(cb, pos, 1) < 0)
+                    break;
+                if (cb[pos++] == '\n')
+                    break;
+            }
+            return (pos == off) ? -1 : pos - off;
+        }
+
+        int n = 0;
+        if (coding != Coding.GENERAL) {
+            n = fastRead(cb, off, len, true);
+            if (n == len || bbuf.remaining() == 0
+                || (n > 0 && cb[off + n - 1] == '\n'))
+                return (n == 0) ? -1 : n;
+        }
+        int m = decodeAndReadLine(cb, off + n, len - n);
+        return (m < 0) ? ((n == 0) ? -1 : n) : n + m;
+    }
+
+    private final int decodeAndReadLine(char[] cb, int off, int len)
+        throws IOException {
         CharBuffer cbuf = CharBuffer.wrap(cb, off, len);
-        encodeAndWrite(cbuf, false, false);
+        boolean decodeWasUnderflow = false;
+        boolean atEof = false;
+        boolean found = false;
+        while ((cbuf.remaining() > 0) && ! atEof && ! found) {
+            int oldRemaining = cbuf.remaining();
+            atEof = ! ensureReadBbuf(decodeWasUnderflow);
+            // decode no further than the first newline byte
+            int limit = bbuf.limit();
+            int newline = bbuf.position();
+            while (newline < limit && bbuf.get(newline) != '\n')
+                newline++;
+            if (newline < limit)
+                bbuf.limit(newline + 1);
+            CoderResult r = cdec.decode(bbuf, cbuf, atEof);
+            found = (newline < limit && bbuf.position() == newline + 1);
+            bbuf.limit(limit);
+            if (oldRemaining == cbuf.remaining()
+                && CoderResult.OVERFLOW == r) {
+                // see read()
+                cbuf.put('?');
+                bbuf.get();
+            }
+            decodeWasUnderflow = (CoderResult.UNDERFLOW == r && ! found);
+        }
+        if (cbuf.remaining() == len) {
+            return -1;
+        } else {
+            return len - cbuf.remaining();
+        }
+    }
+
+    /** Decodes characters straight out of bbuf, refilling it as
+     * needed, until len characters have been read, the end of the
+     * file is reached, or the next bytes need cdec. When line is
+     * true, also stops after a newline.
+     *
+     * @return the number of characters read
+     */
+    private final int fastRead(char[] cb, int off, int len, boolean line)
+        throws IOException {
+        int pos = off;
+        int end = off + len;
+        while (pos < end && ensureReadBbuf(false)) {
+            int start = pos;
+            pos = fastDecode(cb, pos, end, line);
+            if (pos == start || (line && cb[pos - 1] == '\n'))
+                break;
+        }
+        return pos - off;
+    }
+
+    private byte[] scratch;
+
+    private final int fastDecode(char[] cb, int pos, int end, boolean line) {
+        final ByteBuffer bbuf = this.bbuf;
+        final int bpos = bbuf.position();
+        final byte[] a;
+        final int start;
+        final int limit;
+        if (bbuf.hasArray()) {
+            a = bbuf.array();
+            start = bbuf.arrayOffset() + bpos;
+            limit = bbuf.arrayOffset() + bbuf.limit();
+        } else {
+            // a mapped window: decode a copy of the next bytes
+            if (scratch == null)
+                scratch = new byte[BUFSIZ];
+            a = scratch;
+            start = 0;
+            limit = Math.min(bbuf.remaining(), scratch.length);
+            bbuf.get(scratch, 0, limit);
+        }
+        int i = start;
+        switch (coding) {
+        case US_ASCII:
+            while (pos < end && i < limit) {
+                byte b = a[i];
+                if (b < 0)
+                    break;
+                i++;
+                cb[pos++] = (char) b;
+                if (line && b == '\n')
+                    break;
+            }
+            break;
+        case ISO_8859_1:
+            if (! line) {
+                int n = Math.min(end - pos, limit - i);
+                for (int k = 0; k < n; k++)
+                    cb[pos + k] = (char) (a[i + k] & 0xff);
+                pos += n;
+                i += n;
+            } else
+                while (pos < end && i < limit) {
+                    byte b = a[i++];
+                    cb[pos++] = (char) (b & 0xff);
+                    if (b == '\n')
+                        break;
+                }
+            break;
+        case UTF_8:
+            while (pos < end && i < limit) {
+                int b = a[i];
+                if (b >= 0) {
+                    i++;
+                    cb[pos++] = (char) b;
+                    if (line && b == '\n')
+                        break;
+                } else if ((b >> 5) == -2 && (b & 0x1e) != 0) {
+                    if (i + 1 >= limit)
+                        break;
+                    int b2 = a[i + 1];
+                    if ((b2 & 0xc0) != 0x80)
+                        break;
+                    cb[pos++] = (char) (((b & 0x1f) << 6) | (b2 & 0x3f));
+                    i += 2;
+                } else if ((b >> 4) == -2) {
+                    if (i + 2 >= limit)
+                        break;
+                    int b2 = a[i + 1];
+                    int b3 = a[i + 2];
+                    if ((b2 & 0xc0) != 0x80 || (b3 & 0xc0) != 0x80)
+                        break;
+                    int c = ((b & 0x0f) << 12) | ((b2 & 0x3f) << 6) | (b3 & 0x3f);
+                    // overlong forms and surrogates are malformed
+                    if (c < 0x800 || (c >= 0xd800 && c < 0xe000))
+                        break;
+                    cb[pos++] = (char) c;
+                    i += 3;
+                } else if ((b >> 3) == -2) {
+                    if (i + 3 >= limit || pos + 1 >= end)
+                        break;
+                    int b2 = a[i + 1];
+                    int b3 = a[i + 2];
+                    int b4 = a[i + 3];
+                    if ((b2 & 0xc0) != 0x80 || (b3 & 0xc0) != 0x80
+                        || (b4 & 0xc0) != 0x80)
+                        break;
+                    int c = ((b & 0x07) << 18) | ((b2 & 0x3f) << 12)
+                        | ((b3 & 0x3f) << 6) | (b4 & 0x3f);
+                    if (c < 0x10000 || c > 0x10ffff)
+                        break;
+                    c -= 0x10000;
+                    cb[pos++] = (char) (0xd800 | (c >> 10));
+                    cb[pos++] = (char) (0xdc00 | (c & 0x3ff));
+                    i += 4;
+                } else
+                    break;
+            }
+            break;
+        default:
+            break;
+        }
+        bbuf.position(bpos + (i - start));
+        return pos;
+    }
+
+    final void write(char[] cb, int off, int len) throws IOException {
+        int n = (coding == Coding.GENERAL) ? 0 : fastWrite(cb, off, len);
+        if (n < len) {
+            CharBuffer cbuf = CharBuffer.wrap(cb, off + n, len - n);
+            encodeAndWrite(cbuf, false, false);
+        }
+    }
+
+    /** Encodes characters straight into bbuf, flushing it as needed,
+     * until one of them needs cenc.
+     *
+     * @return the number of characters written
+     */
+    private final int fastWrite(char[] cb, int off, int len)
+        throws IOException {
+        int pos = off;
+        int end = off + len;
+        while (pos < end) {
+            int start = pos;
+            pos = fastEncode(cb, pos, end);
+            if (pos < end) {
+                // cb[pos] needs cenc if it didn't fit in an empty
+                // bbuf or one with room for any character
+                if (pos == start
+                    && (bbuf.remaining() >= 4 || bbuf.position() == 0))
+                    break;
+                flushBbuf(false);
+                bbuf.clear();
+                bbufIsReadable = false;
+            }
+        }
+        return pos - off;
+    }
+
+    private final int fastEncode(char[] cb, int pos, int end) {
+        final ByteBuffer bbuf = this.bbuf;
+        // only ever a heap buffer: mapped files aren't written
+        final byte[] a = bbuf.array();
+        final int start = bbuf.arrayOffset() + bbuf.position();
+        final int limit = bbuf.arrayOffset() + bbuf.limit();
+        int i = start;
+        switch (coding) {
+        case US_ASCII:
+        case ISO_8859_1:
+            final int max = (coding == Coding.US_ASCII) ? 0x80 : 0x100;
+            while (pos < end && i < limit) {
+                char c = cb[pos];
+                if (c >= max)
+                    break;
+                a[i++] = (byte) c;
+                pos++;
+            }
+            break;
+        case UTF_8:
+            while (pos < end) {
+                char c = cb[pos];
+                if (c < 0x80) {
+                    if (i >= limit)
+                        break;
+                    a[i++] = (byte) c;
+                    pos++;
+                } else if (c < 0x800) {
+                    if (i + 1 >= limit)
+                        break;
+                    a[i++] = (byte) (0xc0 | (c >> 6));
+                    a[i++] = (byte) (0x80 | (c & 0x3f));
+                    pos++;
+                } else if (c < 0xd800 || c >= 0xe000) {
+                    if (i + 2 >= limit)
+                        break;
+                    a[i++] = (byte) (0xe0 | (c >> 12));
+                    a[i++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                    a[i++] = (byte) (0x80 | (c & 0x3f));
+                    pos++;
+                } else {
+                    // only a well-formed surrogate pair is encoded here
+                    if (c >= 0xdc00 || pos + 1 >= end || i + 3 >= limit)
+                        break;
+                    char low = cb[pos + 1];
+                    if (low < 0xdc00 || low >= 0xe000)
+                        break;
+                    int cp = 0x10000 + (((c & 0x3ff) << 10) | (low & 0x3ff));
+                    a[i++] = (byte) (0xf0 | (cp >> 18));
+                    a[i++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                    a[i++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                    a[i++] = (byte) (0x80 | (cp & 0x3f));
+                    pos += 2;
+                }
+            }
+            break;
+        default:
+            break;
+        }
+        if (i > start) {
+            bbuf.position(bbuf.position() + (i - start));
+            bbufIsDirty = true;
+        }
+        return pos;
     }
 
     private final void internalFlush(boolean endOfFile) throws IOException {
@@ -457,6 +863,16 @@ public class RandomAccessCharacterFile {
     }
 
     public final void position(long newPosition) throws IOException {
+        if (mapped) {
+            if (newPosition >= bbufpos && newPosition <= bbufpos + bbuf.limit())
+                bbuf.position((int)(newPosition - bbufpos));
+            else {
+                // map the window on the next read
+                bbuf = ByteBuffer.allocate(0);
+                bbufpos = newPosition;
+            }
+            return;
+        }
         flushBbuf(true);
         long bbufend = bbufpos // in case bbuf is readable, its contents is valid
             + (bbufIsReadable ? bbuf.limit() : bbuf.position()); // beyond position()
@@ -531,6 +947,34 @@ public class RandomAccessCharacterFile {
         return pos - off;
     }
 
+    /** Copies up to count bytes, from the position of this file on,
+     * to the position of target, using FileChannel.transferTo() so
+     * that the operating system can copy them without passing them
+     * through Java. Both positions end up after the copied bytes.
+     *
+     * @return the number of bytes copied
+     */
+    public final long transferTo(RandomAccessCharacterFile target, long count)
+        throws IOException {
+        flushBbuf(true);
+        // write out and discard target's buffer; its content could
+        // become stale
+        target.flushBbuf(false);
+        long pos = position();
+        long targetPos = target.position();
+        target.fcn.position(targetPos);
+        long total = 0;
+        while (total < count) {
+            long n = fcn.transferTo(pos + total, count - total, target.fcn);
+            if (n <= 0)
+                break;
+            total += n;
+        }
+        position(pos + total);
+        target.position(targetPos + total);
+        return total;
+    }
+
     // a method corresponding to the good ol' ungetc in C.
     // This function may fail when using (combined) character codes that use
     // escape sequences to switch between sub-codes.
@@ -552,6 +996,11 @@ public class RandomAccessCharacterFile {
         //  So we don't do the following.
         //  3. write the bytes.
         //  4. move the position back again.
+        int n = encodedLength(c);
+        if (n > 0) {
+            position(position() - n);
+            return;
+        }
         if (singleCharBuf == null) {
             singleCharBuf = CharBuffer.allocate(1);
             shortByteBuf = ByteBuffer.allocate((int)cenc.maxBytesPerChar());
@@ -561,11 +1010,32 @@ public class RandomAccessCharacterFile {
         singleCharBuf.flip();
         shortByteBuf.clear();
         cenc.encode(singleCharBuf, shortByteBuf, false);
-        int n = shortByteBuf.position();
+        n = shortByteBuf.position();
         long pos = position() - n;
         position(pos);
     }
 
+    /** Returns the number of bytes c is encoded as, or 0 if cenc
+     * needs to find out.
+     */
+    private final int encodedLength(char c) {
+        switch (coding) {
+        case US_ASCII:
+        case ISO_8859_1:
+            return 1;
+        case UTF_8:
+            if (c < 0x80)
+                return 1;
+            if (c < 0x800)
+                return 2;
+            if (c < 0xd800 || c >= 0xe000)
+                return 3;
+            return 0;
+        default:
+            return 0;
+        }
+    }
+
     public final void unreadByte(byte b) throws IOException {
         long pos = position() - 1;
         position(pos);
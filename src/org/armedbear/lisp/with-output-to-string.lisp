@@ -47,9 +47,11 @@
              (unwind-protect
                  (progn ,@forms)
                (close ,var))))
-        `(let ((,var (make-string-output-stream :element-type ,element-type)))
+        ;; The stream borrows the thread's spare buffer and hands it back
+        ;; when closed, so the string is retrieved before closing.
+        `(let ((,var (%make-string-output-stream ,element-type t)))
            ,@decls
            (unwind-protect
-               (progn ,@forms)
-             (close ,var))
-           (get-output-stream-string ,var)))))
+               (progn ,@forms
+                      (get-output-stream-string ,var))
+             (close ,var))))))
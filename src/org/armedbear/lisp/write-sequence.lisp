@@ -54,8 +54,7 @@
                  (declare (type index i))
                  (write-char (elt sequence i) stream))))
           ((equal stream-element-type '(unsigned-byte 8))
-           (if (and (vectorp sequence)
-                    (equal (array-element-type sequence) '(unsigned-byte 8)))
+           (if (vectorp sequence)
                (write-vector-unsigned-byte-8 sequence stream start end)
                (do* ((i start (1+ i)))
                     ((>= i end) sequence)
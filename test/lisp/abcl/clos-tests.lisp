@@ -521,3 +521,81 @@
     (dmc-test-args-with-optional.4c T)
   nil
   nil)
+
+;; Positional calling of methods using CALL-NEXT-METHOD
+
+(defclass cnm-test.a () ())
+(defclass cnm-test.b (cnm-test.a) ())
+(defclass cnm-test.c (cnm-test.b) ())
+
+(defgeneric cnm-test.1 (x y))
+(defmethod cnm-test.1 ((x cnm-test.a) y)
+  (list :a y))
+(defmethod cnm-test.1 ((x cnm-test.b) y)
+  (cons :b (call-next-method)))
+(defmethod cnm-test.1 ((x cnm-test.c) y)
+  ;; CALL-NEXT-METHOD without arguments passes the original arguments
+  (setf y :changed)
+  (cons :c (call-next-method)))
+(defmethod cnm-test.1 :around ((x cnm-test.c) y)
+  (cons :around (if (next-method-p)
+                    (call-next-method x (1+ y))
+                    :none)))
+
+(deftest cnm-test.1
+    (values (cnm-test.1 (make-instance 'cnm-test.c) 1)
+            (cnm-test.1 (make-instance 'cnm-test.b) 1))
+  (:around :c :b :a 2)
+  (:b :a 1))
+
+(defvar *cnm-test.2-log* nil)
+
+(defgeneric cnm-test.2 (x))
+(defmethod cnm-test.2 ((x integer))
+  (list :integer x))
+(defmethod cnm-test.2 ((x fixnum))
+  ;; Functional use of CALL-NEXT-METHOD falls back to the list protocol
+  (cons :fixnum (funcall #'call-next-method)))
+(defmethod cnm-test.2 :before ((x fixnum))
+  (push :before *cnm-test.2-log*))
+(defmethod cnm-test.2 :after ((x integer))
+  (push :after *cnm-test.2-log*))
+
+(deftest cnm-test.2
+    (let ((*cnm-test.2-log* nil))
+      (values (cnm-test.2 3)
+              *cnm-test.2-log*))
+  (:fixnum :integer 3)
+  (:after :before))
+
+(defgeneric cnm-test.3 (x y z))
+(defmethod cnm-test.3 (x y z)
+  (list x y z))
+(defmethod cnm-test.3 ((x integer) y z)
+  (cons (next-method-p) (call-next-method)))
+
+(deftest cnm-test.3
+    (cnm-test.3 1 2 3)
+  (t 1 2 3))
+
+;; Accessor generic functions dispatching on instance layouts
+
+(defclass accessor-test.a ()
+  ((x :accessor accessor-test-x :initarg :x)))
+(defclass accessor-test.b (accessor-test.a)
+  ((y :initform :y)))
+(defclass accessor-test.c ()
+  ((z :initform :z)
+   (x :accessor accessor-test-x :initarg :x)))
+
+(deftest accessor-test.1
+    (let ((instances (list (make-instance 'accessor-test.a :x 1)
+                           (make-instance 'accessor-test.b :x 2)
+                           (make-instance 'accessor-test.c :x 3))))
+      (dolist (instance instances)
+        (incf (accessor-test-x instance) 10))
+      (values (mapcar #'accessor-test-x instances)
+              (handler-case (accessor-test-x (make-instance 'accessor-test.b))
+                (unbound-slot () :unbound))))
+  (11 12 13)
+  :unbound)
@@ -513,3 +513,255 @@
          (delete-directory directory-namestring))
        )))
   t t t t)
+
+#+abcl
+(deftest stream-buffering.1
+  (let ((tmp (make-temporary-filename *this-directory*)))
+    (flet ((written ()
+             (with-open-file (stream tmp) (file-length stream))))
+      (unwind-protect
+           (with-open-file (stream tmp :direction :output)
+             (values (ext:stream-buffering stream)
+                     (progn (write-line "abc" stream) (written))
+                     (progn (setf (ext:stream-buffering stream) :line)
+                            (write-line "def" stream)
+                            (written))
+                     (progn (setf (ext:stream-buffering stream) :none)
+                            (write-string "gh" stream)
+                            (written))))
+        (delete-file tmp))))
+  :full 0 8 10)
+
+#+abcl
+(deftest stream-buffering.2
+  (let ((tmp (make-temporary-filename *this-directory*)))
+    (values
+     (handler-case (open tmp :direction :output :buffering :sometimes)
+       (type-error () :type-error))
+     (probe-file tmp)))
+  :type-error nil)
+
+#+abcl
+(deftest stream.eol-style.1
+  (let ((tmp (make-temporary-filename *this-directory*)))
+    (unwind-protect
+         (mapcar (lambda (eol-style)
+                   (with-open-file (stream tmp :direction :output
+                                               :if-exists :supersede
+                                               :external-format
+                                               (list :utf-8 :eol-style eol-style))
+                     (write-string (format nil "a~%b~C~%c" #\Return) stream)
+                     (fresh-line stream)
+                     (write-string "d" stream))
+                   (with-open-file (stream tmp :element-type '(unsigned-byte 8))
+                     (let ((octets (make-array (file-length stream))))
+                       (read-sequence octets stream)
+                       (map 'string #'code-char octets))))
+                 '(:crlf :cr))
+      (delete-file tmp)))
+  #.(list (coerce '(#\a #\Return #\Newline #\b #\Return #\Newline
+                    #\c #\Return #\Newline #\d)
+                  'string)
+          (coerce '(#\a #\Return #\b #\Return #\Return #\c #\Return #\d)
+                  'string)))
+
+#+abcl
+(deftest read-sequence.bulk.1
+  (let ((tmp (make-temporary-filename *this-directory*)))
+    (unwind-protect
+         (values
+          (progn
+            (with-open-file (stream tmp :direction :output
+                                        :if-exists :supersede
+                                        :element-type '(unsigned-byte 8))
+              (write-sequence (vector 97 98 13 10 99 100 13 10 101) stream))
+            (with-open-file (stream tmp :element-type '(unsigned-byte 8))
+              (let ((octets (make-array 12 :initial-element nil)))
+                (list (read-sequence octets stream :start 1) octets))))
+          (with-open-file (stream tmp :external-format '(:utf-8 :eol-style :crlf))
+            (let ((head (make-string 3))
+                  (tail (make-array 6 :element-type 'character
+                                      :adjustable t :initial-element #\.)))
+              (list (read-sequence head stream)
+                    head
+                    (read-sequence tail stream)
+                    tail
+                    (read-char stream nil :eof)))))
+      (delete-file tmp)))
+  (10 #(nil 97 98 13 10 99 100 13 10 101 nil nil))
+  #.(list 3 (coerce '(#\a #\b #\Newline) 'string)
+          4 (coerce '(#\c #\d #\Newline #\e #\. #\.) 'string)
+          :eof))
+
+;;; Translating CRLF mustn't touch the string past the characters read
+#+abcl
+(deftest read-sequence.bulk.2
+  (let ((tmp (make-temporary-filename *this-directory*)))
+    (unwind-protect
+         (progn
+           (with-open-file (stream tmp :direction :output
+                                       :if-exists :supersede
+                                       :element-type '(unsigned-byte 8))
+             (write-sequence (vector 97 13 10 98 13 10 99 13 10 100) stream))
+           (with-open-file (stream tmp :external-format '(:utf-8 :eol-style :crlf))
+             (let ((string (make-string 12 :initial-element #\.)))
+               (list (read-sequence string stream) string))))
+      (delete-file tmp)))
+  #.(list 7 (coerce '(#\a #\Newline #\b #\Newline #\c #\Newline #\d
+                      #\. #\. #\. #\. #\.)
+                    'string)))
+
+#+abcl
+(deftest read-line.1
+  (let ((tmp (make-temporary-filename *this-directory*)))
+    (unwind-protect
+         (progn
+           (with-open-file (stream tmp :direction :output
+                                       :if-exists :supersede
+                                       :element-type '(unsigned-byte 8))
+             ;; "ab" CR LF "c" CR "d" LF LF U+1F600 LF "x"
+             (write-sequence #(97 98 13 10 99 13 100 10 10 240 159 152 128 10 120)
+                             stream))
+           (mapcar (lambda (eol-style)
+                     (with-open-file (stream tmp :external-format
+                                                 (list :utf-8 :eol-style eol-style))
+                       (loop :for (line missing-newline-p)
+                               = (multiple-value-list (read-line stream nil))
+                             :while line
+                             :collect (list (map 'list #'char-code line)
+                                            missing-newline-p))))
+                   '(:crlf :lf)))
+      (delete-file tmp)))
+  ((((97 98) nil) ((99 13 100) nil) (nil nil) ((55357 56832) nil) ((120) t))
+   (((97 98 13) nil) ((99 13 100) nil) (nil nil) ((55357 56832) nil) ((120) t))))
+
+#+abcl
+(deftest open.mapped.1
+  (let ((tmp (make-temporary-filename *this-directory*)))
+    (unwind-protect
+         (progn
+           (with-open-file (stream tmp :direction :output
+                                       :if-exists :supersede
+                                       :element-type '(unsigned-byte 8))
+             (write-sequence #(97 98 10 99 100 10 101) stream))
+           (values
+            (with-open-file (stream tmp :element-type '(unsigned-byte 8)
+                                        :mapped t)
+              (let ((octets (make-array 3)))
+                (list (file-length stream)
+                      (file-position stream 4)
+                      (read-byte stream)
+                      (file-position stream)
+                      (read-sequence octets stream)
+                      octets
+                      (file-position stream 1)
+                      (read-byte stream)
+                      (file-position stream 6)
+                      (read-byte stream)
+                      (read-byte stream nil :eof))))
+            (with-open-file (stream tmp :mapped t)
+              (list (read-line stream)
+                    (file-position stream 4)
+                    (read-line stream)
+                    (read-line stream)
+                    (read-line stream nil :eof)))
+            (signals-error (open tmp :direction :output :if-exists :append
+                                     :mapped t)
+                           'file-error)))
+      (delete-file tmp)))
+  (7 t 100 5 2 #(10 101 nil) t 98 t 101 :eof)
+  ("ab" t "d" "e" :eof)
+  t)
+
+#+abcl
+(deftest copy-stream.1
+  (let ((from (make-temporary-filename *this-directory*))
+        (to (make-temporary-filename *this-directory*)))
+    (unwind-protect
+         (progn
+           (with-open-file (stream from :direction :output
+                                        :if-exists :supersede)
+             (write-string "abcdefgh" stream))
+           (values
+            (with-open-file (in from :element-type '(unsigned-byte 8))
+              (with-open-file (out to :direction :output
+                                      :if-exists :supersede
+                                      :element-type '(unsigned-byte 8))
+                (write-byte 48 out)
+                (read-byte in)
+                (list (ext:copy-stream in out 4)
+                      (file-position in)
+                      (file-position out)
+                      (read-byte in)
+                      (progn (write-byte 49 out)
+                             (ext:copy-stream in out)))))
+            (with-open-file (in to)
+              (read-line in))
+            (with-open-file (in from)
+              (with-output-to-string (out)
+                (ext:copy-stream in out 3)))))
+      (delete-file from)
+      (delete-file to)))
+  (4 5 5 102 2)
+  "0bcde1gh"
+  "abc")
+
+#+abcl
+(deftest open.buffer-size.1
+  (let ((tmp (make-temporary-filename *this-directory*))
+        ;; characters of one to four octets, some split between
+        ;; buffers; 55357 and 56832 are a surrogate pair
+        (string (map 'string #'code-char
+                     (loop repeat 40
+                           append '(97 233 8364 10 55357 56832)))))
+    (unwind-protect
+         (progn
+           (with-open-file (stream tmp :direction :output
+                                       :if-exists :supersede
+                                       :external-format :utf-8
+                                       :buffer-size 7)
+             (write-string string stream))
+           (values
+            (with-open-file (stream tmp :external-format :utf-8
+                                        :buffer-size 5)
+              (let ((buffer (make-string 300)))
+                (string= string
+                         (subseq buffer 0 (read-sequence buffer stream)))))
+            (with-open-file (stream tmp :external-format :utf-8
+                                        :buffer-size 5)
+              (list (char-code (read-char stream))
+                    (char-code (read-char stream))
+                    (progn (unread-char (code-char 233) stream)
+                           (map 'list #'char-code (read-line stream)))
+                    (map 'list #'char-code (read-line stream))))
+            (with-open-file (stream tmp :external-format :iso-8859-1
+                                        :buffer-size 5)
+              (map 'list #'char-code (read-line stream)))))
+      (delete-file tmp)))
+  t
+  (97 233 (233 8364) (55357 56832 97 233 8364))
+  (97 195 169 226 130 172))
+
+;;; Buffers too small for the longest encoded character are enlarged
+#+abcl
+(deftest open.buffer-size.2
+  (let ((tmp (make-temporary-filename *this-directory*))
+        (string (map 'string #'code-char
+                     '(233 8364 10 55357 56832 97 10 8364))))
+    (unwind-protect
+         (loop for size from 1 to 3
+               collect (progn
+                         (with-open-file (stream tmp :direction :output
+                                                     :if-exists :supersede
+                                                     :external-format :utf-8
+                                                     :buffer-size size)
+                           (write-string string stream))
+                         (with-open-file (stream tmp :external-format :utf-8
+                                                     :buffer-size size)
+                           (loop for line = (read-line stream nil)
+                                 while line
+                                 collect (map 'list #'char-code line)))))
+      (delete-file tmp)))
+  (((233 8364) (55357 56832 97) (8364))
+   ((233 8364) (55357 56832 97) (8364))
+   ((233 8364) (55357 56832 97) (8364))))
@@ -19,6 +19,9 @@
 
 (in-package #:abcl.test.lisp)
 
+(eval-when (:compile-toplevel :load-toplevel :execute)
+  (require '#:gray-streams))
+
 (deftest misc.dotimes.1
   (progn
     (fmakunbound 'misc.dotimes.1)
@@ -83,6 +86,231 @@
    1 2 3 4 5 6 7 8 9 10)
   (1 2 3 4 5 6 7 8 9 10))
 
+(deftest keyword-args.1
+  (funcall
+   (compile nil (lambda (a &optional (b 2) &key (c 3) (d 4 d-p))
+                  (list a b c d d-p)))
+   1 5 :d 6 :c 7 :d 8)
+  (1 5 7 6 t))
+
+(deftest keyword-args.2
+  (let ((f (compile nil (lambda (&key a b) (list a b)))))
+    (values
+     (funcall f :b 1 :allow-other-keys t :z 2)
+     (funcall f :allow-other-keys t :allow-other-keys nil :z 2)
+     (null (ignore-errors (funcall f :allow-other-keys nil :z 2)))
+     (null (ignore-errors (funcall f :a)))))
+  (nil 1) (nil nil) t t)
+
+(deftest keyword-args.3
+  (let ((f (compile nil (lambda (&key k1 k2 k3 k4 k5 k6 k7 k8 k9 (k10 10 k10-p))
+                          (list k1 k9 k10 k10-p)))))
+    (values
+     (funcall f :k9 9 :k1 1)
+     (funcall f :k10 nil :k10 11)
+     (null (ignore-errors (funcall f :k11 11)))))
+  (1 9 10 nil) (nil nil nil t) t)
+
+(deftest keyword-args.4
+  (values
+   (funcall (compile nil (lambda (&rest r &key a) (declare (ignore r)) a))
+            :a 1)
+   (funcall (compile nil (lambda (&rest r &key a) (list a r)))
+            :a 1))
+  1 (1 (:a 1)))
+
+(deftest keyword-args.5
+  (funcall (lambda (&key ((:a x)) ((allow-other-keys y) 'y)) (list x y))
+           :a 1 :b 2 :allow-other-keys t)
+  (1 y))
+
+(deftest format.constant-string.1
+  (funcall (compile nil (lambda (stream args)
+                          (format nil "~a: ~{~a~^,~}" stream args)))
+           :s '(1 2 3))
+  "S: 1,2,3")
+
+(deftest format.constant-string.2
+  (with-output-to-string (*standard-output*)
+    (funcall (compile nil (lambda (x) (format t "[~a]" x))) 42))
+  "[42]")
+
+(deftest format.cached-control-string.1
+  (let ((control (copy-seq "a~a")))
+    (values (format nil control 1)
+            (progn (setf (char control 0) #\b)
+                   (format nil control 1))))
+  "a1" "b1")
+
+(deftype misc.typep.cached.1-type () 'integer)
+(deftest typep.cached.1
+  (let ((type 'misc.typep.cached.1-type))
+    (values (typep 1 type)
+            (subtypep type 'number)
+            (progn (deftype misc.typep.cached.1-type () 'string)
+                   (typep 1 type))
+            (subtypep type 'number)))
+  t t nil nil)
+
+(deftest typep.cached.2
+  (let ((type (list 'eql (copy-seq "abc"))))
+    (values (typep "abc" type)
+            (typep (second type) type)))
+  nil t)
+
+(deftest typep.cached.3
+  (let ((type (list 'or 'symbol 'integer)))
+    (values (typep "a" type)
+            (progn (setf (third type) 'string)
+                   (typep "a" type))
+            (subtypep 'string type)))
+  nil t t)
+
+(defclass misc.subtypep.cached.4-a () ())
+(defclass misc.subtypep.cached.4-b () ())
+(deftest subtypep.cached.4
+  (let ((a 'misc.subtypep.cached.4-a)
+        (b 'misc.subtypep.cached.4-b))
+    (values (subtypep a b)
+            (progn (defclass misc.subtypep.cached.4-a
+                       (misc.subtypep.cached.4-b) ())
+                   (subtypep a b))))
+  nil t)
+
+(deftest multiple-value-bind.compiled.1
+  (let ((f (compile nil (lambda (f)
+                          (multiple-value-bind (a b c) (funcall f)
+                            (multiple-value-bind (d e) (car (list a))
+                              (list a b c d e)))))))
+    (values (funcall f (lambda () (values 1 2)))
+            (funcall f (lambda () 3))
+            (funcall f (lambda () (values)))
+            (funcall f (lambda () (values 4 5 6 7)))))
+  (1 2 nil 1 nil) (3 nil nil 3 nil) (nil nil nil nil nil) (4 5 6 4 nil))
+
+(deftest catch.compiled.1
+  (let ((f (compile nil (lambda (list)
+                          (catch 'outer
+                            (list (catch 'inner
+                                    (dolist (x list :none)
+                                      (when (evenp x)
+                                        (throw 'outer (values x :even)))
+                                      (when (> x 10)
+                                        (throw 'inner :big))))
+                                  (block b
+                                    (catch 'inner
+                                      (return-from b :returned)))))))))
+    (values (multiple-value-list (funcall f '(1 2)))
+            (funcall f '(1 11))
+            (funcall f '(1))
+            (null (ignore-errors (throw 'inner nil)))))
+  (2 :even) (:big :returned) (:none :returned) t)
+
+(deftest go.non-local.1
+  (let ((f (compile nil (lambda (n)
+                          (let ((count 0))
+                            (tagbody
+                             top
+                               (mapc (lambda (x)
+                                       (incf count x)
+                                       (when (< count n)
+                                         (go top)))
+                                     '(1)))
+                            count)))))
+    (funcall f 1000))
+  1000)
+
+(deftest event-loop.echo.1
+  (let* ((loop (ext:make-event-loop))
+         (server (ext:make-server-channel 0 :host "127.0.0.1"))
+         (client (ext:make-client-channel "127.0.0.1"
+                                          (ext:channel-local-port server)))
+         (received '()))
+    (flet ((echo (connection operations)
+             (declare (ignore operations))
+             (let* ((octets (make-array 16 :element-type '(unsigned-byte 8)))
+                    (count (ext:channel-read connection octets)))
+               (if count
+                   (ext:channel-write connection octets :end count)
+                   (ext:channel-close connection))))
+           (receive (client operations)
+             (declare (ignore operations))
+             ;; not an octet vector, so read through a copy
+             (let* ((octets (make-array 2))
+                    (count (ext:channel-read client octets)))
+               (dotimes (i count)
+                 (push (code-char (aref octets i)) received))
+               (when (= (length received) 5)
+                 (ext:channel-close client)
+                 (ext:channel-close server)))))
+      (ext:event-loop-register loop server '(:accept)
+                               (lambda (server operations)
+                                 (declare (ignore operations))
+                                 (ext:event-loop-register
+                                  loop (ext:channel-accept server)
+                                  '(:read) #'echo)))
+      (ext:event-loop-register loop client '(:connect)
+                               (lambda (client operations)
+                                 (ext:channel-finish-connect client)
+                                 (ext:channel-write client #(104 101 108 108 111))
+                                 (ext:event-loop-register loop client '(:read)
+                                                          #'receive)
+                                 operations))
+      (unwind-protect (ext:event-loop-run loop)
+        (ext:event-loop-close loop))
+      (coerce (reverse received) 'string)))
+  "hello")
+
+;;; Registering from another thread than the one running the loop
+;;; must not wait for the loop to select something else first.
+(deftest event-loop.register.1
+  (let* ((loop (ext:make-event-loop))
+         (server (ext:make-server-channel 0 :host "127.0.0.1"))
+         (client (ext:make-client-channel "127.0.0.1"
+                                          (ext:channel-local-port server)))
+         (connected nil))
+    ;; Nothing to accept until the client below connects.
+    (ext:event-loop-register loop server '(:accept)
+                             (lambda (server operations)
+                               (declare (ignore operations))
+                               (let ((connection (ext:channel-accept server)))
+                                 (when connection
+                                   (ext:channel-close connection)))))
+    (let ((runner (threads:make-thread
+                   (lambda () (ext:event-loop-run loop)))))
+      (sleep 0.2)
+      (threads:make-thread
+       (lambda ()
+         (ext:event-loop-register loop client '(:connect)
+                                  (lambda (client operations)
+                                    (declare (ignore operations))
+                                    (ext:channel-finish-connect client)
+                                    (setf connected t)
+                                    (ext:event-loop-stop loop)))))
+      (loop repeat 100
+            until connected
+            do (sleep 0.1))
+      (ext:event-loop-stop loop)
+      (threads:thread-join runner)
+      (ext:event-loop-close loop)
+      (ext:channel-close client)
+      (ext:channel-close server)
+      connected))
+  t)
+
+(deftest event-loop.channel-write.1
+  (let* ((server (ext:make-server-channel 0 :host "127.0.0.1"))
+         (client (ext:make-client-channel "127.0.0.1"
+                                          (ext:channel-local-port server))))
+    (unwind-protect
+         (values (handler-case (ext:channel-write client (vector 104 300))
+                   (type-error (e) (type-error-datum e)))
+                 (handler-case (ext:channel-write client (vector -1))
+                   (type-error (e) (type-error-datum e))))
+      (ext:channel-close client)
+      (ext:channel-close server)))
+  300 -1)
+
 (deftest copy-list.1
   (eq (copy-list nil) nil)
   t)
@@ -119,6 +347,80 @@
                (get-output-stream-string stream)))
   T)
 
+(deftest string-output-stream.pooled.1
+    (let (escaped)
+      (values
+       (with-output-to-string (outer)
+         (write-string "outer" outer)
+         (write-string (with-output-to-string (inner)
+                         (setf escaped inner)
+                         (format inner "~a" (princ-to-string 42)))
+                       outer))
+       ;; a later stream reusing the buffer doesn't see the old contents
+       (format nil "~a" 1)
+       (get-output-stream-string escaped)))
+  "outer42" "1" "")
+
+(defclass misc.gray-streams.1-stream
+    (gray-streams:fundamental-character-output-stream)
+  ((output :initform '() :accessor misc.gray-streams.1-output)))
+
+(defmethod gray-streams:stream-write-char
+    ((stream misc.gray-streams.1-stream) character)
+  (push character (misc.gray-streams.1-output stream))
+  character)
+
+(deftest gray-streams.bulk-output.1
+    (let ((stream (make-instance 'misc.gray-streams.1-stream)))
+      (unwind-protect
+           (progn
+             (write-string "ab" stream)
+             ;; new methods are picked up by the cached fallbacks
+             (defmethod gray-streams:stream-write-char :around
+                 ((stream misc.gray-streams.1-stream) character)
+               (call-next-method stream (char-upcase character)))
+             (write-string "cd" stream)
+             (write-sequence "ef" stream)
+             ;; and whole strings now go to STREAM-WRITE-SEQUENCE
+             (defmethod gray-streams:stream-write-sequence
+                 ((stream misc.gray-streams.1-stream) sequence
+                  &optional (start 0) end)
+               (push (subseq sequence start end)
+                     (misc.gray-streams.1-output stream))
+               sequence)
+             (write-string "gh" stream :start 1)
+             (write-line "ij" stream)
+             (reverse (misc.gray-streams.1-output stream)))
+        (dolist (method (list (find-method #'gray-streams:stream-write-char
+                                           '(:around)
+                                           '(misc.gray-streams.1-stream t)
+                                           nil)
+                              (find-method #'gray-streams:stream-write-sequence
+                                           '()
+                                           '(misc.gray-streams.1-stream t)
+                                           nil)))
+          (when method
+            (remove-method (mop:method-generic-function method) method)))))
+  (#\a #\b #\C #\D #\E #\F "h" "ij" #\Newline))
+
+;;; Methods specialized on the fundamental stream classes aren't
+;;; mistaken for the default ones
+(deftest gray-streams.bulk-output.2
+    (let ((stream (make-instance 'misc.gray-streams.1-stream))
+          (method (defmethod gray-streams:stream-write-sequence :around
+                      ((stream gray-streams:fundamental-character-output-stream)
+                       sequence &optional (start 0) end)
+                    (when (typep stream 'misc.gray-streams.1-stream)
+                      (push (subseq sequence start end)
+                            (misc.gray-streams.1-output stream)))
+                    (call-next-method))))
+      (unwind-protect
+           (progn
+             (write-string "ab" stream)
+             (reverse (misc.gray-streams.1-output stream)))
+        (remove-method #'gray-streams:stream-write-sequence method)))
+  ("ab" #\a #\b))
+
 (deftest destructuring-bind.1
   (signals-error (destructuring-bind (a b &rest c) '(1) (list a b)) 'program-error)
   T)
@@ -0,0 +1,422 @@
+;;; thread-tests.lisp
+;;;
+;;; This program is free software; you can redistribute it and/or
+;;; modify it under the terms of the GNU General Public License
+;;; as published by the Free Software Foundation; either version 2
+;;; of the License, or (at your option) any later version.
+;;;
+;;; This program is distributed in the hope that it will be useful,
+;;; but WITHOUT ANY WARRANTY; without even the implied warranty of
+;;; MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+;;; GNU General Public License for more details.
+;;;
+;;; You should have received a copy of the GNU General Public License
+;;; along with this program; if not, write to the Free Software
+;;; Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+
+(in-package #:abcl.test.lisp)
+
+(defvar *thread-tests-special* 1)
+
+(deftest make-thread.virtual.1
+  (let ((thread (threads:make-thread
+                 (lambda ()
+                   (list *thread-tests-special*
+                         (let ((*thread-tests-special* 2))
+                           (symbol-value '*thread-tests-special*))
+                         *thread-tests-special*))
+                 :name "virtual" :virtual t)))
+    (values (threads:thread-join thread)
+            (threads:thread-name thread)
+            (eq (threads:thread-virtual-p thread)
+                (java:jstatic "virtualThreadsSupported"
+                              "org.armedbear.lisp.LispThread"))))
+  (1 2 1) "virtual" t)
+
+(deftest make-thread.virtual.2
+  (let ((threads (loop for i below 1000
+                       collect (let ((i i))
+                                 (threads:make-thread (lambda () i)
+                                                      :virtual t)))))
+    (reduce #'+ (mapcar #'threads:thread-join threads)))
+  499500)
+
+(deftest make-thread.virtual.3
+  (threads:thread-virtual-p
+   (threads:make-thread (lambda ()) :virtual nil))
+  nil)
+
+(deftest thread-pool.submit.1
+  (multiple-value-list
+   (threads:future-value (threads:submit (lambda () (values 1 2 3)))))
+  (1 2 3))
+
+(deftest thread-pool.submit.2
+  (let ((pool (threads:make-thread-pool :size 1)))
+    (unwind-protect
+         (values
+          (handler-case
+              (threads:future-value
+               (threads:submit (lambda ()
+                                 (let ((*thread-tests-special* 2))
+                                   (error "failed ~a" *thread-tests-special*)))
+                               pool))
+            (simple-error (c) (princ-to-string c)))
+          (threads:future-value
+           (threads:submit (lambda () *thread-tests-special*) pool)))
+      (threads:shutdown-thread-pool pool)))
+  "failed 2" 1)
+
+(deftest thread-pool.submit.3
+  (let ((pool (threads:make-thread-pool :size 2)))
+    (unwind-protect
+         (labels ((fib (n)
+                    (if (< n 10)
+                        (if (< n 2) n (+ (fib (- n 1)) (fib (- n 2))))
+                        (let ((future (threads:submit (lambda () (fib (- n 1)))
+                                                      pool)))
+                          (+ (fib (- n 2)) (threads:future-value future))))))
+           (fib 20))
+      (threads:shutdown-thread-pool pool)))
+  6765)
+
+(deftest promise.1
+  (let ((promise (threads:promise)))
+    (values (threads:future-done-p promise)
+            (threads:future-value promise :timeout 0.01 :default :timeout)
+            (threads:fulfill promise 1)
+            (threads:fulfill promise 2)
+            (threads:future-value promise)
+            (threads:future-done-p promise)))
+  nil :timeout t nil 1 t)
+
+(deftest promise.2
+  (let* ((promise (threads:promise))
+         (thread (threads:make-thread
+                  (lambda () (threads:future-value promise)))))
+    (threads:fulfill promise :done)
+    (threads:thread-join thread))
+  :done t)
+
+(deftest mailbox.1
+  (let ((mailbox (threads:make-mailbox)))
+    (dotimes (i 5)
+      (threads:mailbox-send mailbox i))
+    (values (threads:mailbox-read mailbox)
+            (multiple-value-list (threads:mailbox-peek mailbox))
+            (threads:mailbox-drain mailbox 2)
+            (threads:mailbox-drain mailbox)
+            (threads:mailbox-empty-p mailbox)))
+  0 (1 nil) (1 2) (3 4) t)
+
+(deftest mailbox.2
+  (let ((mailbox (threads:make-mailbox)))
+    (values (multiple-value-list (threads:mailbox-try-read mailbox))
+            (multiple-value-list (threads:mailbox-read mailbox 0.01))
+            (progn (threads:mailbox-send mailbox nil)
+                   (multiple-value-list (threads:mailbox-try-read mailbox)))))
+  (nil nil) (nil nil) (nil t))
+
+(deftest mailbox.3
+  (let ((mailbox (threads:make-mailbox :capacity 2)))
+    (values (threads:mailbox-send mailbox 1)
+            (threads:mailbox-send mailbox 2)
+            (threads:mailbox-send mailbox 3 0.01)
+            (threads:mailbox-read mailbox)
+            (threads:mailbox-send mailbox 3 0.01)
+            (threads:mailbox-drain mailbox)))
+  t t nil 1 t (2 3))
+
+(deftest mailbox.4
+  (let* ((mailbox (threads:make-mailbox :capacity 8))
+         (thread (threads:make-thread
+                  (lambda ()
+                    (dotimes (i 1000)
+                      (threads:mailbox-send mailbox i))))))
+    (prog1 (loop repeat 1000 collect (threads:mailbox-read mailbox))
+           (threads:thread-join thread)))
+  #.(loop for i below 1000 collect i))
+
+(deftest mutex.1
+  (let ((mutex (threads:make-mutex)))
+    (values (threads:get-mutex mutex)
+            (threads:get-mutex mutex)
+            (progn (threads:release-mutex mutex)
+                   (threads:mutex-held-p mutex))
+            (progn (threads:release-mutex mutex)
+                   (threads:mutex-held-p mutex))
+            (signals-error (threads:release-mutex mutex) 'program-error)))
+  t t t nil t)
+
+(deftest mutex.2
+  (let ((mutex (threads:make-mutex :statistics t))
+        (counter 0))
+    (mapc #'threads:thread-join
+          (loop repeat 4
+                collect (threads:make-thread
+                         (lambda ()
+                           (dotimes (i 1000)
+                             (threads:with-mutex (mutex)
+                               (incf counter)))))))
+    (values counter
+            (getf (threads:lock-statistics mutex) :acquisitions)))
+  4000 4000)
+
+(deftest mutex.3
+  (let ((mutex (threads:make-mutex)))
+    (threads:with-mutex (mutex)
+      (threads:thread-join
+       (threads:make-thread (lambda () (threads:get-mutex mutex 0.01))))))
+  nil t)
+
+(deftest read-write-lock.1
+  (let ((lock (threads:make-read-write-lock)))
+    (threads:with-read-lock (lock)
+      (values
+       (threads:thread-join
+        (threads:make-thread
+         (lambda ()
+           (threads:with-read-lock (lock) :read))))
+       (threads:thread-join
+        (threads:make-thread
+         (lambda ()
+           (threads:get-write-lock lock 0.01)))))))
+  :read nil)
+
+(deftest condition-variable.1
+  (let* ((mutex (threads:make-mutex))
+         (condition-variable (threads:make-condition-variable))
+         (ready nil)
+         (thread (threads:make-thread
+                  (lambda ()
+                    (threads:with-mutex (mutex)
+                      (loop until ready
+                            do (threads:condition-wait condition-variable
+                                                       mutex))
+                      :woken)))))
+    (threads:with-mutex (mutex)
+      (setf ready t)
+      (threads:condition-notify condition-variable))
+    (values (threads:thread-join thread)
+            (threads:with-mutex (mutex)
+              (threads:condition-wait condition-variable mutex 0.01))))
+  :woken nil)
+
+(deftest semaphore.1
+  (let ((semaphore (threads:make-semaphore :count 1)))
+    (values (threads:wait-on-semaphore semaphore)
+            (threads:wait-on-semaphore semaphore 0.01)
+            (progn (threads:signal-semaphore semaphore 2)
+                   (threads:semaphore-count semaphore))))
+  t nil 2)
+
+(deftest with-thread-lock.1
+  (values (threads:with-thread-lock ((threads:make-thread-lock)) 1)
+          (threads:with-thread-lock ((gensym)) 2))
+  1 2)
+
+(defstruct thread-tests-counter (count 0))
+(defvar *thread-tests-cas* 0)
+
+(deftest compare-and-swap.1
+  (let ((cons (cons 1 2))
+        (vector (vector 1 2)))
+    (values (threads:compare-and-swap (car cons) 1 :a)
+            (threads:compare-and-swap (cdr cons) 3 :b)
+            cons
+            (threads:compare-and-swap (svref vector 1) 2 :c)
+            vector))
+  1 2 (:a . 2) 2 #(1 :c))
+
+(deftest compare-and-swap.2
+  (let ((counter (make-thread-tests-counter)))
+    (values (threads:compare-and-swap (thread-tests-counter-count counter)
+                                      0 :x)
+            (thread-tests-counter-count counter)
+            (progn (setf *thread-tests-cas* 0)
+                   (threads:compare-and-swap *thread-tests-cas* 0 :y))
+            (let ((*thread-tests-cas* 1))
+              (threads:compare-and-swap (symbol-value '*thread-tests-cas*)
+                                        1 :z)
+              *thread-tests-cas*)
+            *thread-tests-cas*))
+  0 :x 0 :z :y)
+
+(deftest atomic-incf.1
+  (let* ((counter (make-thread-tests-counter))
+         (list (list 0))
+         (threads (loop repeat 4
+                        collect (threads:make-thread
+                                 (lambda ()
+                                   (dotimes (i 10000)
+                                     (threads:atomic-incf
+                                      (thread-tests-counter-count counter))
+                                     (threads:atomic-incf (car list) 2)))))))
+    (mapc #'threads:thread-join threads)
+    (values (thread-tests-counter-count counter)
+            (car list)
+            (threads:atomic-decf (car list) 80000)))
+  40000 80000 0)
+
+(defvar *thread-tests-pool* (threads:make-thread-pool :size 4))
+
+(deftest pmap.1
+  (let ((threads:*parallel-chunk-size* 3)
+        (vector (coerce (loop for i below 100 collect i) 'vector)))
+    (values (every #'= (threads:pmap 'vector #'1+ vector
+                                     :pool *thread-tests-pool*)
+                   (map 'vector #'1+ vector))
+            (threads:pmap 'list #'1+ '(1 2 3))
+            (threads:pmap nil #'identity vector)))
+  t (2 3 4) nil)
+
+(deftest pmap.2
+  (let* ((threads:*parallel-chunk-size* 3)
+         (vector (coerce (loop for i below 1000 collect i) 'vector))
+         (bit (lambda (i) (if (oddp i) 1 0)))
+         (expected (map 'bit-vector bit vector)))
+    (values (loop repeat 100
+                  always (equal (threads:pmap 'bit-vector bit vector
+                                              :pool *thread-tests-pool*)
+                                expected))
+            (loop for (start . end) in (threads::chunk-bounds
+                                        1000 *thread-tests-pool* 64)
+                  always (zerop (mod start 64)))))
+  t t)
+
+(deftest preduce.1
+  (let ((threads:*parallel-chunk-size* 3)
+        (vector (coerce (loop for i below 100 collect i) 'vector)))
+    (values (threads:preduce #'+ vector :pool *thread-tests-pool*)
+            (threads:preduce #'+ vector :key #'1+ :start 10 :end 20)
+            (threads:preduce (lambda (a b) (concatenate 'string a b))
+                             #("a" "b" "c" "d" "e" "f" "g")
+                             :pool *thread-tests-pool*)
+            (threads:preduce #'+ #() :initial-value 42)
+            (threads:preduce #'+ #())))
+  4950 155 "abcdefg" 42 0)
+
+(deftest psort.1
+  (let* ((threads:*parallel-chunk-size* 7)
+         (pairs (loop for i below 1000
+                      collect (cons (random 10) i)))
+         (vector (coerce pairs 'vector)))
+    (values (equal (coerce (threads:psort vector #'< :key #'car
+                                          :pool *thread-tests-pool*) 'list)
+                   (stable-sort (copy-list pairs) #'< :key #'car))
+            (threads:psort (list 3 1 2) #'<)
+            (threads:psort (make-array 0) #'<)))
+  t (1 2 3) #())
+
+(deftest psort.2
+  (let* ((threads:*parallel-chunk-size* 3)
+         (bits (coerce (loop for i below 1000
+                             collect (if (zerop (mod i 3)) 1 0))
+                       'bit-vector))
+         (expected (sort (copy-seq bits) #'>)))
+    (values (loop repeat 100
+                  always (equal (threads:psort (copy-seq bits) #'>
+                                               :pool *thread-tests-pool*)
+                                expected))
+            (let ((displaced (make-array 900 :element-type 'bit
+                                             :displaced-to (copy-seq bits)
+                                             :displaced-index-offset 5)))
+              (equal (threads:psort displaced #'> :pool *thread-tests-pool*)
+                     (sort (copy-seq displaced) #'>)))))
+  t t)
+
+(deftest pcount.1
+  (let ((threads:*parallel-chunk-size* 3)
+        (vector (coerce (loop for i below 100 collect (mod i 10)) 'vector)))
+    (values (threads:pcount 0 vector)
+            (threads:pcount-if #'evenp vector :pool *thread-tests-pool*)
+            (threads:pcount 1 vector :key #'1-)))
+  10 50 10)
+
+(deftest pfind.1
+  (let ((threads:*parallel-chunk-size* 3)
+        (vector (coerce (loop for i below 100 collect (mod i 30)) 'vector)))
+    (values (multiple-value-list (threads:pfind 25 vector
+                                                 :pool *thread-tests-pool*))
+            (multiple-value-list (threads:pfind-if #'plusp vector
+                                                   :pool *thread-tests-pool*))
+            (threads:pfind 30 vector)
+            (threads:pfind 26 vector :test #'<)))
+  (25 25) (1 1) nil 27)
+
+(defvar *thread-tests-binding* :global)
+
+(deftest special-bindings.1
+  (let ((*thread-tests-binding* :parent))
+    (values (threads:thread-join
+             (threads:make-thread (lambda () *thread-tests-binding*)))
+            (threads:thread-join
+             (threads:make-thread (lambda () *thread-tests-binding*)
+                                  :bindings t))))
+  :global :parent)
+
+(deftest special-bindings.2
+  (let ((snapshot (let ((*thread-tests-binding* :snapshot)
+                        (*print-base* 16))
+                    (threads:capture-special-bindings))))
+    (values (threads:with-special-bindings (snapshot)
+              (list *thread-tests-binding*
+                    (prin1-to-string 255)
+                    (setf *thread-tests-binding* :changed)
+                    (let ((*thread-tests-binding* :inner))
+                      *thread-tests-binding*)
+                    *thread-tests-binding*))
+            (threads:with-special-bindings (snapshot)
+              *thread-tests-binding*)
+            *thread-tests-binding*
+            (typep snapshot 'threads:special-bindings-snapshot)))
+  (:snapshot "FF" :changed :inner :changed) :snapshot :global t)
+
+(deftest special-bindings.3
+  (let ((threads:*parallel-chunk-size* 1)
+        (*thread-tests-binding* 1))
+    (threads:preduce #'+ #(1 2 3 4)
+                     :key (lambda (x) (* x *thread-tests-binding*))
+                     :pool *thread-tests-pool*))
+  10)
+
+(defun thread-tests-frames (n)
+  (if (zerop n)
+      (mapcar (lambda (frame) (first (sys:frame-to-list frame)))
+              (sys:backtrace 4))
+      (car (list (thread-tests-frames (1- n))))))
+(compile 'thread-tests-frames)
+
+(deftest stack-frame-recording.1
+  (values
+   (threads:thread-join
+    (threads:make-thread
+     (lambda ()
+       (flet ((frames (mode)
+                (sys:set-stack-frame-recording mode)
+                (list (sys:stack-frame-recording)
+                      (count 'thread-tests-frames (thread-tests-frames 5)))))
+         (list (frames :full) (frames :ring) (frames :none)
+               (sys:stack-frame-recording t)))))))
+  ((:full 3) (:ring 3) (:none 3) :full))
+
+;;; Interpreted functions all share the class of their closures, so
+;;; backtraces without recorded frames can't name them.
+(eval '(defun thread-tests-interpreted-frames ()
+        (mapcar (lambda (frame)
+                  (let ((list (sys:frame-to-list frame)))
+                    (if (eq (first list) :class)
+                        (second list)
+                        (first list))))
+                (sys:backtrace 3))))
+(eval '(defun thread-tests-interpreted-caller ()
+        (car (list (thread-tests-interpreted-frames)))))
+
+(deftest stack-frame-recording.2
+  (values
+   (threads:thread-join
+    (threads:make-thread
+     (lambda ()
+       (sys:set-stack-frame-recording :none)
+       (thread-tests-interpreted-caller)))))
+  (sys:backtrace "org.armedbear.lisp.Closure" "org.armedbear.lisp.Closure"))